@@ -0,0 +1,144 @@
+package com.discogs.client.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs a group of related tasks concurrently on a shared executor and waits for all of them.
+ * If any task fails, or the group does not finish before the deadline, the remaining tasks are
+ * cancelled (and interrupted) so no sibling keeps running for a result nobody will read.
+ * A task that only starts once the deadline has passed fails with a {@link TimeoutException} without
+ * running, including when the executor's rejection policy runs it on the forking thread.
+ */
+public final class FanOutScope implements AutoCloseable {
+
+    private final ExecutorCompletionService<Object> completionService;
+    private final List<Future<?>> forked = new ArrayList<>();
+    private final long deadlineNanos;
+    private boolean joined;
+
+    private FanOutScope(Executor executor, Duration timeout) {
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Opens a new scope whose tasks must all complete within the given timeout.
+     *
+     * @param executor the executor the tasks run on.
+     * @param timeout the maximum time to wait for every forked task.
+     * @return the new scope.
+     */
+    public static FanOutScope open(Executor executor, Duration timeout) {
+        return new FanOutScope(executor, timeout);
+    }
+
+    /**
+     * Starts a task in this scope.
+     *
+     * @param task the task to run.
+     * @param <T> the result type.
+     * @return a handle whose result is available once {@link #join()} returns normally.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Subtask<T> fork(Callable<T> task) {
+        if (joined) {
+            throw new IllegalStateException("Cannot fork after join");
+        }
+        Callable<Object> guarded = () -> {
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                throw new TimeoutException("Deadline passed before the task started");
+            }
+            return task.call();
+        };
+        Future<T> future = (Future<T>) completionService.submit(guarded);
+        forked.add(future);
+        return new Subtask<>(future);
+    }
+
+    /**
+     * Waits for every forked task to complete.
+     *
+     * @throws RuntimeException the failure of the first task that failed, as thrown by the task.
+     * @throws CompletionException wrapping a checked failure, or a {@link TimeoutException} if the deadline passed.
+     * @throws CancellationException if the calling thread was interrupted while waiting.
+     */
+    public void join() {
+        joined = true;
+        try {
+            for (int pending = forked.size(); pending > 0; pending--) {
+                long remaining = deadlineNanos - System.nanoTime();
+                Future<Object> done = completionService.poll(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    cancelAll();
+                    throw new CompletionException(new TimeoutException("Tasks did not complete within the deadline"));
+                }
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            cancelAll();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for tasks");
+        }
+    }
+
+    /**
+     * Cancels any task that is still running.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    /**
+     * Handle on a task forked in a {@link FanOutScope}.
+     *
+     * @param <T> the result type.
+     */
+    public static final class Subtask<T> {
+
+        private final Future<T> future;
+
+        private Subtask(Future<T> future) {
+            this.future = future;
+        }
+
+        /**
+         * Returns the result of the task.
+         *
+         * @return the task result.
+         * @throws IllegalStateException if the task has not completed successfully.
+         */
+        public T get() {
+            if (!future.isDone() || future.isCancelled()) {
+                throw new IllegalStateException("Task has not completed");
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Task failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading task result", e);
+            }
+        }
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : forked) {
+            future.cancel(true);
+        }
+    }
+}
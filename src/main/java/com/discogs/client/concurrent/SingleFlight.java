@@ -0,0 +1,74 @@
+package com.discogs.client.concurrent;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution.
+ * The first caller for a key runs the call on its own thread; callers arriving while it runs wait for it
+ * and receive the same result or the same exception. Once the call completes the key is released, so a
+ * later call runs again.
+ *
+ * @param <K> the type of the keys.
+ */
+public final class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call for the key, or waits for the call already running for it.
+     *
+     * @param key the key identifying the work.
+     * @param call the work to run if no call for the key is in flight.
+     * @param <V> the result type.
+     * @return the result of the call.
+     * @throws RuntimeException the exception thrown by the call, as thrown.
+     * @throws CancellationException if the calling thread was interrupted while waiting.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Supplier<V> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return (V) await(running);
+        }
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns whether a call for the key is currently running.
+     *
+     * @param key the key identifying the work.
+     * @return true if a call for the key is in flight.
+     */
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a call in flight");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
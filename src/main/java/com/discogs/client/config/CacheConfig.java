@@ -0,0 +1,44 @@
+package com.discogs.client.config;
+
+import com.discogs.client.http.CachedResponse;
+import com.discogs.client.http.DiscogsResponseCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Configuration for the application caches.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Provides the cache manager holding the in-process tier of the Discogs response cache.
+     * Caffeine's W-TinyLFU policy keeps the cache within the configured number of bytes, and
+     * statistics are recorded so hits, misses and evictions show up under /actuator/metrics.
+     *
+     * @param maxSize the maximum combined size of the cached response bodies.
+     * @return the CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${discogs.cache.memory.max-size:64MB}") DataSize maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((key, value) -> value instanceof CachedResponse response
+                        ? response.body().length + key.toString().length()
+                        : 1)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(DiscogsResponseCache.CACHE_NAME));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,113 @@
+package com.discogs.client.config;
+
+import com.discogs.client.http.ResilienceInterceptor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for the executors used by the application.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Provides the bounded executor used to fan out Discogs API calls.
+     * When the queue is full the calling thread runs the task itself, which throttles producers
+     * instead of rejecting work.
+     *
+     * @param threads the number of worker threads.
+     * @param queueCapacity the number of tasks that can wait for a worker.
+     * @return the ExecutorService
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService discogsFetchExecutor(@Value("${discogs.fetch.threads:8}") int threads,
+                                                @Value("${discogs.fetch.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("discogs-fetch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Provides the executor that runs single Discogs requests so the caller can stop waiting when they time out.
+     * It has one thread per permit of the Discogs bulkhead, which requests hold until they really finish, so a
+     * request only waits in the queue for a thread that is about to become idle.
+     *
+     * @param bulkheadRegistry the registry holding the configured bulkheads.
+     * @return the ExecutorService
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService discogsCallExecutor(BulkheadRegistry bulkheadRegistry) {
+        int threads = bulkheadRegistry.bulkhead(ResilienceInterceptor.INSTANCE).getBulkheadConfig().getMaxConcurrentCalls();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads), new CustomizableThreadFactory("discogs-call-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Provides the executor that runs batch ingests, one artist per task.
+     * The pool size bounds how many artists are ingested at once; tasks beyond the queue capacity are
+     * rejected so a flood of batches cannot grow the backlog without limit.
+     *
+     * @param concurrency the number of artists ingested at once.
+     * @param queueCapacity the number of artists that can wait for a worker.
+     * @return the ExecutorService
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService discogsBatchExecutor(@Value("${discogs.batch.concurrency:2}") int concurrency,
+                                                @Value("${discogs.batch.queue-capacity:5000}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("discogs-batch-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Provides the executor that runs queued ingest jobs.
+     * Workers only claim as many jobs as there are idle threads, so the queue holds at most one job per thread.
+     *
+     * @param workers the number of jobs run at once.
+     * @return the ExecutorService
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService discogsIngestJobExecutor(@Value("${discogs.jobs.workers:2}") int workers) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(workers), new CustomizableThreadFactory("discogs-ingest-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Provides the executor that builds the comparison of each artist when many artists are compared at once.
+     * It is separate from the common fork-join pool so comparisons cannot starve other parallel work, and bounded
+     * so they cannot use more database connections than it has threads. When the queue is full the request
+     * thread builds the comparison itself, and stops once the comparison has timed out.
+     *
+     * @param threads the number of worker threads, or 0 for one per available processor.
+     * @param queueCapacity the number of artists that can wait for a worker.
+     * @return the ExecutorService
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService discogsComparisonExecutor(@Value("${discogs.comparison.threads:0}") int threads,
+                                                     @Value("${discogs.comparison.queue-capacity:256}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("discogs-comparison-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,91 @@
+package com.discogs.client.config;
+
+import com.discogs.client.http.CachingDns;
+import com.discogs.client.http.HostConnectionLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpMetricsEventListener;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for the pooled HTTP client used to call the Discogs API.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Provides the connection pool shared by all Discogs requests.
+     *
+     * @param maxIdle the maximum number of idle connections kept open.
+     * @param keepAlive how long an idle connection is kept open.
+     * @return the ConnectionPool
+     */
+    @Bean
+    public ConnectionPool discogsConnectionPool(@Value("${discogs.http.pool.max-idle:20}") int maxIdle,
+                                                @Value("${discogs.http.pool.keep-alive:5m}") Duration keepAlive) {
+        return new ConnectionPool(maxIdle, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Provides the OkHttp client used for Discogs requests.
+     * HTTP/2 is negotiated through ALPN when the server supports it, and OkHttp requests gzip
+     * responses and decompresses them transparently.
+     *
+     * @param connectionPool the shared connection pool.
+     * @param meterRegistry the registry request metrics are published to.
+     * @param connectTimeout the connect timeout.
+     * @param readTimeout the read timeout.
+     * @param writeTimeout the write timeout.
+     * @param callTimeout the timeout for a complete call, including redirects.
+     * @param maxConnectionsPerHost the maximum number of concurrent calls to a single host.
+     * @param dnsCacheTtl how long resolved host addresses are reused.
+     * @return the OkHttpClient
+     */
+    @Bean
+    public OkHttpClient discogsHttpClient(ConnectionPool connectionPool, MeterRegistry meterRegistry,
+                                          @Value("${discogs.http.connect-timeout:5s}") Duration connectTimeout,
+                                          @Value("${discogs.http.read-timeout:30s}") Duration readTimeout,
+                                          @Value("${discogs.http.write-timeout:10s}") Duration writeTimeout,
+                                          @Value("${discogs.http.call-timeout:60s}") Duration callTimeout,
+                                          @Value("${discogs.http.max-connections-per-host:10}") int maxConnectionsPerHost,
+                                          @Value("${discogs.http.dns-cache-ttl:5m}") Duration dnsCacheTtl) {
+        return new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .callTimeout(callTimeout)
+                .dns(new CachingDns(Dns.SYSTEM, dnsCacheTtl))
+                .addInterceptor(new HostConnectionLimiter(maxConnectionsPerHost))
+                .eventListener(OkHttpMetricsEventListener.builder(meterRegistry, "discogs.http.client.requests")
+                        .uriMapper(request -> request.url().encodedPath().replaceAll("/\\d+", "/{id}"))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Publishes the connection pool statistics of the Discogs HTTP client.
+     *
+     * @param connectionPool the shared connection pool.
+     * @param maxIdle the maximum number of idle connections kept open.
+     * @return the MeterBinder
+     */
+    @Bean
+    public MeterBinder discogsConnectionPoolMetrics(ConnectionPool connectionPool,
+                                                    @Value("${discogs.http.pool.max-idle:20}") int maxIdle) {
+        return new OkHttpConnectionPoolMetrics(connectionPool, "discogs.http.pool", Tags.empty(), maxIdle);
+    }
+}
@@ -1,7 +1,12 @@
 package com.discogs.client.config;
 
+import com.discogs.client.http.RateLimitInterceptor;
+import com.discogs.client.http.ResilienceInterceptor;
+import com.discogs.client.http.ResponseCacheInterceptor;
+import okhttp3.OkHttpClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -11,12 +16,25 @@ import org.springframework.web.client.RestTemplate;
 public class RestTemplateConfig {
 
     /**
-     * Provides a RestTemplate bean.
+     * Provides a RestTemplate bean that sends requests through the pooled Discogs HTTP client.
+     * Responses are served from the response cache when possible; only requests that reach the
+     * network go through the circuit breaker, bulkhead and time limiter and are paced by the Discogs
+     * rate limiter.
      *
+     * @param discogsHttpClient the pooled OkHttp client.
+     * @param responseCacheInterceptor the interceptor serving cached responses.
+     * @param resilienceInterceptor the interceptor guarding requests that reach the network.
+     * @param rateLimitInterceptor the interceptor applying the Discogs rate limit.
      * @return the RestTemplate
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @SuppressWarnings("removal")
+    public RestTemplate restTemplate(OkHttpClient discogsHttpClient, ResponseCacheInterceptor responseCacheInterceptor,
+                                     ResilienceInterceptor resilienceInterceptor, RateLimitInterceptor rateLimitInterceptor) {
+        RestTemplate restTemplate = new RestTemplate(new OkHttp3ClientHttpRequestFactory(discogsHttpClient));
+        restTemplate.getInterceptors().add(responseCacheInterceptor);
+        restTemplate.getInterceptors().add(resilienceInterceptor);
+        restTemplate.getInterceptors().add(rateLimitInterceptor);
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
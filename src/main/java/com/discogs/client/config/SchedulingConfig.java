@@ -0,0 +1,15 @@
+package com.discogs.client.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration that enables the scheduled background tasks, such as draining the ingest job queue.
+ * Set {@code discogs.scheduling.enabled=false} to run an instance that only serves requests.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "discogs.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,17 +1,33 @@
 package com.discogs.client.controller;
 
+import com.discogs.client.dto.internal.ArtistDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
 import com.discogs.client.dto.response.ArtistComparisonResponse;
-import com.discogs.client.model.Artist;
+import com.discogs.client.dto.response.ArtistSimilarityResponse;
+import com.discogs.client.dto.response.ArtistView;
+import com.discogs.client.dto.response.BatchIngestResponse;
+import com.discogs.client.dto.response.IngestJobResponse;
+import com.discogs.client.dto.response.KeysetPage;
 import com.discogs.client.service.ArtistService;
+import com.discogs.client.service.BatchIngestService;
+import com.discogs.client.service.IngestJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST controller for managing artists.
@@ -22,53 +38,175 @@ import java.util.Optional;
 public class ArtistController {
 
     private final ArtistService artistService;
+    private final BatchIngestService batchIngestService;
+    private final IngestJobService ingestJobService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Constructs a new ArtistController with the specified ArtistService.
+     * Constructs a new ArtistController with the specified services.
      *
      * @param artistService the artist service.
+     * @param batchIngestService the batch ingest service.
+     * @param ingestJobService the service queueing artist ingests.
+     * @param objectMapper the mapper used to stream exports.
      */
     @Autowired
-    public ArtistController(ArtistService artistService) {
+    public ArtistController(ArtistService artistService, BatchIngestService batchIngestService,
+                            IngestJobService ingestJobService, ObjectMapper objectMapper) {
         this.artistService = artistService;
+        this.batchIngestService = batchIngestService;
+        this.ingestJobService = ingestJobService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Searches for an artist by name.
+     * Queues a search for an artist by name; the artist is fetched and stored in the background.
      *
      * @param name the name of the artist to search for.
-     * @return a ResponseEntity with HTTP status OK.
+     * @param refresh whether an artist that is already stored is fetched again and updated.
+     * @return a ResponseEntity containing the job progress, with HTTP status ACCEPTED and the job URL as Location.
      */
     @Operation(summary = "Search for an artist by name")
     @GetMapping("/search")
-    public ResponseEntity<Void> searchArtist(@RequestParam String name) {
-        artistService.searchArtist(name);
-        return new ResponseEntity<>(HttpStatus.OK);
+    public ResponseEntity<IngestJobResponse> searchArtist(@RequestParam String name,
+                                                          @RequestParam(defaultValue = "false") boolean refresh) {
+        IngestJobResponse job = ingestJobService.enqueue(name, refresh);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/jobs/{jobId}").build(job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Retrieves the progress of a queued search.
+     *
+     * @param jobId the id of the ingest job.
+     * @return a ResponseEntity containing the job progress, or HTTP status NOT FOUND if the job is unknown.
+     */
+    @Operation(summary = "Retrieve the progress of a search")
+    @GetMapping("/search/jobs/{jobId}")
+    public ResponseEntity<IngestJobResponse> getSearch(@PathVariable String jobId) {
+        return ingestJobService.getJob(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Starts ingesting several artists in the background.
+     *
+     * @param artistNames the names of the artists to ingest.
+     * @return a ResponseEntity containing the job progress, with HTTP status ACCEPTED and the job URL as Location.
+     */
+    @Operation(summary = "Search for several artists in the background")
+    @PostMapping("/search/batch")
+    public ResponseEntity<BatchIngestResponse> searchArtists(@RequestBody List<String> artistNames) {
+        BatchIngestResponse job = batchIngestService.submit(artistNames);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").build(job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Retrieves the progress of a batch search.
+     *
+     * @param jobId the id of the batch job.
+     * @return a ResponseEntity containing the job progress, or HTTP status NOT FOUND if the job is unknown.
+     */
+    @Operation(summary = "Retrieve the progress of a background search")
+    @GetMapping("/search/batch/{jobId}")
+    public ResponseEntity<BatchIngestResponse> getBatchSearch(@PathVariable String jobId) {
+        return batchIngestService.getJob(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
      * Compares multiple artists by their names.
+     * The request is completed asynchronously, and if the client disconnects or the request times out before the
+     * comparison is complete, the comparison is cancelled.
      *
      * @param artistNames a list of artist names to compare.
-     * @return a ResponseEntity containing the comparison results and HTTP status OK.
+     * @return a DeferredResult of a ResponseEntity containing the comparison results and HTTP status OK.
      */
     @Operation(summary = "Compare multiple artists by their names")
     @PostMapping("/compare")
-    public ResponseEntity<List<ArtistComparisonResponse>> compareArtists(@RequestBody List<String> artistNames) {
-        List<ArtistComparisonResponse> comparisonResults = artistService.compareArtists(artistNames);
-        return new ResponseEntity<>(comparisonResults, HttpStatus.OK);
+    public DeferredResult<ResponseEntity<List<ArtistComparisonResponse>>> compareArtists(@RequestBody List<String> artistNames) {
+        CompletableFuture<List<ArtistComparisonResponse>> comparison = artistService.compareArtists(artistNames);
+        DeferredResult<ResponseEntity<List<ArtistComparisonResponse>>> result = new DeferredResult<>();
+        result.onError(error -> comparison.cancel(false));
+        result.onTimeout(() -> comparison.cancel(false));
+        comparison.whenComplete((comparisonResults, error) -> {
+            if (error == null) {
+                result.setResult(new ResponseEntity<>(comparisonResults, HttpStatus.OK));
+            } else {
+                result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+        return result;
     }
 
     /**
-     * Retrieves all artists from the database.
+     * Compares every pair of multiple artists by the estimated similarity of their genres, styles and labels.
      *
-     * @return a ResponseEntity containing the list of all artists and HTTP status OK.
+     * @param artistNames a list of artist names to compare.
+     * @return a ResponseEntity containing the similarity of each pair of artists and HTTP status OK.
      */
-    @Operation(summary = "Retrieve all artists")
+    @Operation(summary = "Compare the genres, styles and labels of multiple artists")
+    @PostMapping("/compare/similarity")
+    public ResponseEntity<List<ArtistSimilarityResponse>> compareArtistSimilarity(@RequestBody List<String> artistNames) {
+        return new ResponseEntity<>(artistService.compareArtistSimilarity(artistNames), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the stored artists most similar to an artist by their genres, styles and labels.
+     *
+     * @param name the name of the artist.
+     * @param limit the maximum number of artists to return.
+     * @return a ResponseEntity containing the most similar artists, most similar first, and HTTP status OK.
+     */
+    @Operation(summary = "Retrieve the artists most similar to an artist")
+    @GetMapping("/{name}/similar")
+    public ResponseEntity<List<ArtistSimilarityResponse>> getSimilarArtists(@PathVariable String name,
+                                                                            @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(artistService.getSimilarArtists(name, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves one page of artists, in id order.
+     *
+     * @param view {@code summary} for the artist fields only, or {@code full} to include aliases, masters and releases.
+     * @param after the cursor returned with the previous page, or nothing for the first page.
+     * @param limit the maximum number of artists to return.
+     * @return a ResponseEntity containing the artists, the cursor of the next page in the {@value NdjsonExport#NEXT_CURSOR_HEADER}
+     * header if there is one, and HTTP status OK.
+     */
+    @Operation(summary = "Retrieve a page of artists")
     @GetMapping
-    public ResponseEntity<List<Artist>> getAllArtists() {
-        List<Artist> artists = artistService.getAllArtists();
-        return new ResponseEntity<>(artists, HttpStatus.OK);
+    public ResponseEntity<List<ArtistDTO>> getAllArtists(@RequestParam(defaultValue = "full") String view,
+                                                         @RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit) {
+        KeysetPage<ArtistDTO> page = artistService.getArtists(ArtistView.fromString(view), after, limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NdjsonExport.NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every artist as newline-delimited JSON.
+     *
+     * @param view {@code summary} for the artist fields only, or {@code full} to include aliases, masters and releases.
+     * @param after the id to start after, or nothing to export every artist.
+     * @return a ResponseEntity streaming one artist per line and HTTP status OK.
+     */
+    @Operation(summary = "Export all artists as NDJSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArtists(@RequestParam(defaultValue = "full") String view,
+                                                               @RequestParam(required = false) Long after) {
+        ArtistView artistView = ArtistView.fromString(view);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonExport.of(objectMapper, after, (cursor, limit) -> artistService.getArtists(artistView, cursor, limit)));
     }
 
     /**
@@ -79,12 +217,52 @@ public class ArtistController {
      */
     @Operation(summary = "Retrieve an artist by name")
     @GetMapping("/{name}")
-    public ResponseEntity<Artist> getArtistByName(@PathVariable String name) {
-        Optional<Artist> artist = artistService.getArtistByName(name);
+    public ResponseEntity<ArtistDTO> getArtistByName(@PathVariable String name) {
+        Optional<ArtistDTO> artist = artistService.getArtistByName(name);
         return artist.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
                      .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Retrieves the releases of an artist with a given genre, style, or both.
+     *
+     * @param name the name of the artist.
+     * @param genre the genre the releases must have.
+     * @param style the style the releases must have.
+     * @return a ResponseEntity containing the matching releases if the artist is found, or HTTP status NOT FOUND if not found.
+     */
+    @Operation(summary = "Retrieve the releases of an artist by genre and style")
+    @GetMapping("/{name}/releases")
+    public ResponseEntity<List<ReleaseDTO>> getArtistReleasesByTag(@PathVariable String name,
+                                                                   @RequestParam(required = false) String genre,
+                                                                   @RequestParam(required = false) String style) {
+        return artistService.getArtistReleasesByTag(name, genre, style)
+                .map(releases -> new ResponseEntity<>(releases, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Retrieves one page of the artists with at least one release of a genre, in id order.
+     *
+     * @param genre the genre.
+     * @param after the cursor returned with the previous page, or nothing for the first page.
+     * @param limit the maximum number of artists to return.
+     * @return a ResponseEntity containing the artists without collections, the cursor of the next page in the
+     * {@value NdjsonExport#NEXT_CURSOR_HEADER} header if there is one, and HTTP status OK.
+     */
+    @Operation(summary = "Retrieve a page of the artists with releases of a genre")
+    @GetMapping("/genres/{genre}")
+    public ResponseEntity<List<ArtistDTO>> getArtistsByGenre(@PathVariable String genre,
+                                                             @RequestParam(required = false) Long after,
+                                                             @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit) {
+        KeysetPage<ArtistDTO> page = artistService.getArtistsByGenre(genre, after, limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NdjsonExport.NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+
     /**
      * Deletes an artist by its name.
      *
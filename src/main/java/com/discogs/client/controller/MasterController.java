@@ -1,13 +1,18 @@
 package com.discogs.client.controller;
 
 import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.response.KeysetPage;
 import com.discogs.client.service.MasterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,27 +26,52 @@ import java.util.Optional;
 public class MasterController {
 
     private final MasterService masterService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructs a new MasterController with the specified MasterService.
      *
      * @param masterService the master service.
+     * @param objectMapper the mapper used to stream exports.
      */
     @Autowired
-    public MasterController(MasterService masterService) {
+    public MasterController(MasterService masterService, ObjectMapper objectMapper) {
         this.masterService = masterService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all masters from the database.
+     * Retrieves one page of masters, in id order.
      *
-     * @return a ResponseEntity containing the list of all masters and HTTP status OK.
+     * @param after the cursor returned with the previous page, or nothing for the first page.
+     * @param limit the maximum number of masters to return.
+     * @return a ResponseEntity containing the masters, the cursor of the next page in the {@value NdjsonExport#NEXT_CURSOR_HEADER}
+     * header if there is one, and HTTP status OK.
      */
-    @Operation(summary = "Retrieve all masters")
+    @Operation(summary = "Retrieve a page of masters")
     @GetMapping
-    public ResponseEntity<List<MasterDTO>> getAllMasters() {
-        List<MasterDTO> masters = masterService.getAllMasters();
-        return new ResponseEntity<>(masters, HttpStatus.OK);
+    public ResponseEntity<List<MasterDTO>> getAllMasters(@RequestParam(required = false) Long after,
+                                                     @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit) {
+        KeysetPage<MasterDTO> page = masterService.getMasters(after, limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NdjsonExport.NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every master as newline-delimited JSON.
+     *
+     * @param after the id to start after, or nothing to export every master.
+     * @return a ResponseEntity streaming one master per line and HTTP status OK.
+     */
+    @Operation(summary = "Export all masters as NDJSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMasters(@RequestParam(required = false) Long after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonExport.of(objectMapper, after, masterService::getMasters));
     }
 
     /**
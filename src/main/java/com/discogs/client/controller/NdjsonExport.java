@@ -0,0 +1,56 @@
+package com.discogs.client.controller;
+
+import com.discogs.client.dto.response.KeysetPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.BiFunction;
+
+/**
+ * Streams a keyset-paginated listing as newline-delimited JSON.
+ * Pages are loaded one at a time, each in its own read-only transaction, and written to the response
+ * before the next one is read, so the memory used does not depend on the size of the table.
+ */
+final class NdjsonExport {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int EXPORT_BATCH_SIZE = 500;
+
+    private NdjsonExport() {
+    }
+
+    /**
+     * Creates a response body that writes every item after the given cursor, one JSON document per line.
+     * An export without items is an empty body.
+     *
+     * @param objectMapper the mapper used to serialize items.
+     * @param after the id to start after, or null to start at the beginning.
+     * @param pageLoader loads the page after a cursor with the given size.
+     * @param <T> the type of the items.
+     * @return the streaming response body.
+     */
+    static <T> StreamingResponseBody of(ObjectMapper objectMapper, Long after,
+                                        BiFunction<Long, Integer, KeysetPage<T>> pageLoader) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                Long cursor = after;
+                boolean written = false;
+                do {
+                    KeysetPage<T> page = pageLoader.apply(cursor, EXPORT_BATCH_SIZE);
+                    for (T item : page.getItems()) {
+                        generator.writeObject(item);
+                        written = true;
+                    }
+                    generator.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+                if (written) {
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
+}
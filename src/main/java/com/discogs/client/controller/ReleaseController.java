@@ -1,13 +1,18 @@
 package com.discogs.client.controller;
 
 import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.dto.response.KeysetPage;
 import com.discogs.client.service.ReleaseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,27 +26,52 @@ import java.util.Optional;
 public class ReleaseController {
 
     private final ReleaseService releaseService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructs a new ReleaseController with the specified ReleaseService.
      *
      * @param releaseService the release service.
+     * @param objectMapper the mapper used to stream exports.
      */
     @Autowired
-    public ReleaseController(ReleaseService releaseService) {
+    public ReleaseController(ReleaseService releaseService, ObjectMapper objectMapper) {
         this.releaseService = releaseService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all releases from the database.
+     * Retrieves one page of releases, in id order.
      *
-     * @return a ResponseEntity containing the list of all releases and HTTP status OK.
+     * @param after the cursor returned with the previous page, or nothing for the first page.
+     * @param limit the maximum number of releases to return.
+     * @return a ResponseEntity containing the releases, the cursor of the next page in the {@value NdjsonExport#NEXT_CURSOR_HEADER}
+     * header if there is one, and HTTP status OK.
      */
-    @Operation(summary = "Retrieve all releases")
+    @Operation(summary = "Retrieve a page of releases")
     @GetMapping
-    public ResponseEntity<List<ReleaseDTO>> getAllReleases() {
-        List<ReleaseDTO> releases = releaseService.getAllReleases();
-        return new ResponseEntity<>(releases, HttpStatus.OK);
+    public ResponseEntity<List<ReleaseDTO>> getAllReleases(@RequestParam(required = false) Long after,
+                                                     @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit) {
+        KeysetPage<ReleaseDTO> page = releaseService.getReleases(after, limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NdjsonExport.NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every release as newline-delimited JSON.
+     *
+     * @param after the id to start after, or nothing to export every release.
+     * @return a ResponseEntity streaming one release per line and HTTP status OK.
+     */
+    @Operation(summary = "Export all releases as NDJSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReleases(@RequestParam(required = false) Long after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonExport.of(objectMapper, after, releaseService::getReleases));
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.discogs.client.dto.internal;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import jakarta.validation.constraints.*;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ArtistDTO {
     @NotNull(message = "Discogs ID is mandatory")
     private Long id;
@@ -0,0 +1,32 @@
+package com.discogs.client.dto.response;
+
+import lombok.*;
+import jakarta.validation.constraints.*;
+
+/**
+ * The estimated similarity of two artists' genres, styles and labels.
+ * Similarities are Jaccard similarities estimated from MinHash signatures, between 0 and 1;
+ * {@code similarity} is that of all genres, styles and labels together.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArtistSimilarityResponse {
+
+    @NotBlank(message = "Artist name cannot be empty")
+    private String artistName;
+
+    @NotBlank(message = "Other artist name cannot be empty")
+    private String otherArtistName;
+
+    private double similarity;
+    private double genreSimilarity;
+    private double styleSimilarity;
+    private double labelSimilarity;
+
+    /**
+     * The estimated number of labels both artists released on.
+     */
+    private long sharedLabels;
+}
@@ -0,0 +1,36 @@
+package com.discogs.client.dto.response;
+
+import com.discogs.client.exception.InvalidInputException;
+
+import java.util.Locale;
+
+/**
+ * Shape of the artists returned by the artist endpoints.
+ */
+public enum ArtistView {
+
+    /**
+     * Only the artist's own fields, read in a single query.
+     */
+    SUMMARY,
+
+    /**
+     * The artist with its name variations, aliases, masters and releases.
+     */
+    FULL;
+
+    /**
+     * Parses a view name, ignoring case.
+     *
+     * @param value the view name.
+     * @return the view.
+     * @throws InvalidInputException if the value is not a known view.
+     */
+    public static ArtistView fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Unknown view '" + value + "', expected 'summary' or 'full'.");
+        }
+    }
+}
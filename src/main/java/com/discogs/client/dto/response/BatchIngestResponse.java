@@ -0,0 +1,47 @@
+package com.discogs.client.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a batch ingest job and of each artist it contains.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIngestResponse {
+
+    /**
+     * Lifecycle of a job or of a single artist in it.
+     */
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private Status status;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private int total;
+    private int pending;
+    private int running;
+    private int completed;
+    private int failed;
+    private List<Item> artists;
+
+    /**
+     * Status of one artist of the batch.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String name;
+        private Status status;
+        private String error;
+    }
+}
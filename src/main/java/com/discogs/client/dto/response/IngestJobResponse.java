@@ -0,0 +1,25 @@
+package com.discogs.client.dto.response;
+
+import com.discogs.client.model.IngestJob;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of a queued artist ingest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestJobResponse {
+    private String jobId;
+    private String artistName;
+    private boolean refresh;
+    private IngestJob.Status status;
+    private int attempts;
+    private String error;
+    private Instant createdAt;
+    private Instant nextAttemptAt;
+    private Instant completedAt;
+}
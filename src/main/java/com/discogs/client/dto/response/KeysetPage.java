@@ -0,0 +1,71 @@
+package com.discogs.client.dto.response;
+
+import com.discogs.client.exception.InvalidInputException;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ * The next cursor is the id of the last row of a full page, and is null once the listing is exhausted.
+ *
+ * @param <T> the type of the items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    /**
+     * Builds a page from rows read in id order.
+     *
+     * @param rows the rows, at most {@code limit} of them.
+     * @param limit the requested page size.
+     * @param id extracts the id of a row.
+     * @param mapper maps a row to an item.
+     * @param <E> the type of the rows.
+     * @param <T> the type of the items.
+     * @return the page.
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows, int limit, Function<E, Long> id, Function<E, T> mapper) {
+        List<T> items = new ArrayList<>(rows.size());
+        for (E row : rows) {
+            items.add(mapper.apply(row));
+        }
+        Long nextCursor = !rows.isEmpty() && rows.size() >= limit ? id.apply(rows.get(rows.size() - 1)) : null;
+        return new KeysetPage<>(items, nextCursor);
+    }
+
+    /**
+     * Validates a requested page size.
+     *
+     * @param limit the requested page size.
+     * @return the page size.
+     * @throws InvalidInputException if the size is not between 1 and {@value #MAX_LIMIT}.
+     */
+    public static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidInputException("The limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+
+    /**
+     * Returns the lower id bound of a listing.
+     *
+     * @param after the cursor sent by the client, if any.
+     * @return the id the listing starts after.
+     */
+    public static long startAfter(Long after) {
+        return after == null ? 0L : after;
+    }
+}
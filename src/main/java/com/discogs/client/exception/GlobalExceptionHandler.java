@@ -5,6 +5,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.concurrent.TimeoutException;
+
 /**
  * Global exception handler for the application.
  */
@@ -44,6 +46,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 
+    /**
+     * Handles TimeoutException, thrown when a request does not complete within its time limit.
+     *
+     * @param e the exception
+     * @return the response entity with error message and HTTP status
+     */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<String> handleTimeoutException(TimeoutException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(e.getMessage() != null ? e.getMessage() : "The request did not complete in time");
+    }
+
     /**
      * Handles all other exceptions.
      *
@@ -0,0 +1,54 @@
+package com.discogs.client.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * A 200 response replayed from a {@link CachedResponse}.
+ */
+class CachedClientHttpResponse implements ClientHttpResponse {
+
+    private final CachedResponse cached;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    CachedClientHttpResponse(CachedResponse cached) {
+        this.cached = cached;
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        if (cached.etag() != null) {
+            headers.setETag(cached.etag());
+        }
+        headers.setContentLength(cached.body().length);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatus.OK;
+    }
+
+    @Override
+    public String getStatusText() {
+        return HttpStatus.OK.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(cached.body());
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+}
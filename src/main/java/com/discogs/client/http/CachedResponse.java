@@ -0,0 +1,46 @@
+package com.discogs.client.http;
+
+/**
+ * A Discogs response body stored by the {@link DiscogsResponseCache}.
+ *
+ * @param contentType the Content-Type of the response, or null.
+ * @param etag the ETag of the response, or null if Discogs did not send one.
+ * @param body the response body.
+ * @param storedAt when the response was fetched or last revalidated, in epoch milliseconds.
+ * @param expiresAt when the response stops being served without revalidation, in epoch milliseconds.
+ */
+public record CachedResponse(String contentType, String etag, byte[] body, long storedAt, long expiresAt) {
+
+    /**
+     * Whether the response can still be served without asking Discogs.
+     *
+     * @param now the current time in epoch milliseconds.
+     * @return true if the response has not expired.
+     */
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    /**
+     * Whether the response may stand in for a failed request.
+     *
+     * @param now the current time in epoch milliseconds.
+     * @param maxStaleMillis how long after expiring the response may still be served, in milliseconds.
+     * @return true if the response expired less than the given time ago.
+     */
+    public boolean isUsableOnError(long now, long maxStaleMillis) {
+        return now - expiresAt < maxStaleMillis;
+    }
+
+    /**
+     * Returns a copy of this response that is fresh again until the given time.
+     *
+     * @param now the current time in epoch milliseconds.
+     * @param newExpiresAt the new expiry time in epoch milliseconds.
+     * @param newEtag the ETag of the revalidation response, or null to keep the current one.
+     * @return the revalidated response.
+     */
+    public CachedResponse revalidated(long now, long newExpiresAt, String newEtag) {
+        return new CachedResponse(contentType, newEtag != null ? newEtag : etag, body, now, newExpiresAt);
+    }
+}
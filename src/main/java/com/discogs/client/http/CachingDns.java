@@ -0,0 +1,47 @@
+package com.discogs.client.http;
+
+import okhttp3.Dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DNS resolver that remembers successful lookups for a fixed time, so pooled connections to the
+ * same host do not each pay for a system lookup.
+ */
+public class CachingDns implements Dns {
+
+    private final Dns delegate;
+    private final long ttlNanos;
+    private final Map<String, CachedLookup> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new CachingDns.
+     *
+     * @param delegate the resolver used on a cache miss.
+     * @param ttl how long a successful lookup is reused.
+     */
+    public CachingDns(Dns delegate, Duration ttl) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        long now = System.nanoTime();
+        CachedLookup cached = cache.get(hostname);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.addresses();
+        }
+        List<InetAddress> addresses = delegate.lookup(hostname);
+        cache.put(hostname, new CachedLookup(List.copyOf(addresses), now + ttlNanos));
+        return addresses;
+    }
+
+    private record CachedLookup(List<InetAddress> addresses, long expiresAt) {
+    }
+}
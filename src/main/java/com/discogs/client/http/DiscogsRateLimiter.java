@@ -0,0 +1,204 @@
+package com.discogs.client.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side token bucket that paces every request sent to the Discogs API.
+ * The refill rate follows the budget Discogs reports in its {@code X-Discogs-Ratelimit*} response
+ * headers, and an exhausted budget or a 429 response switches the limiter to
+ * {@link ThrottlingMode#COOL_DOWN} until the configured cool-down has elapsed.
+ */
+@Component
+public class DiscogsRateLimiter {
+
+    static final String RATELIMIT_HEADER = "X-Discogs-Ratelimit";
+    static final String RATELIMIT_USED_HEADER = "X-Discogs-Ratelimit-Used";
+    static final String RATELIMIT_REMAINING_HEADER = "X-Discogs-Ratelimit-Remaining";
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final long coolDownNanos;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+
+    private double tokens;
+    private double tokensPerNano;
+    private long lastRefill;
+    private long coolDownUntil;
+    private ThrottlingMode mode;
+
+    /**
+     * Constructs a new DiscogsRateLimiter from the throttling configuration.
+     *
+     * @param enabled whether requests are throttled at all.
+     * @param coolDownMillis how long to stop sending requests once the budget is exhausted.
+     * @param mode the mode the limiter starts in.
+     * @param requestsPerMinute the budget assumed until Discogs reports its own.
+     * @param burst the number of requests that may be sent back to back.
+     * @param meterRegistry the registry the limiter metrics are published to.
+     */
+    @Autowired
+    public DiscogsRateLimiter(@Value("${discogs.server.throttling.enabled:true}") boolean enabled,
+                              @Value("${discogs.server.throttling.cool-down:5000}") long coolDownMillis,
+                              @Value("${discogs.server.throttling.mode:NORMAL}") ThrottlingMode mode,
+                              @Value("${discogs.server.throttling.requests-per-minute:60}") int requestsPerMinute,
+                              @Value("${discogs.server.throttling.burst:5}") int burst,
+                              MeterRegistry meterRegistry) {
+        this(enabled, coolDownMillis, mode, requestsPerMinute, burst, meterRegistry, System::nanoTime);
+    }
+
+    DiscogsRateLimiter(boolean enabled, long coolDownMillis, ThrottlingMode mode, int requestsPerMinute, int burst,
+                       MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.coolDownNanos = TimeUnit.MILLISECONDS.toNanos(coolDownMillis);
+        this.burst = Math.max(burst, 1);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.tokensPerNano = (double) requestsPerMinute / NANOS_PER_MINUTE;
+        this.lastRefill = nanoClock.getAsLong();
+        this.mode = mode;
+        if (mode == ThrottlingMode.COOL_DOWN) {
+            this.coolDownUntil = lastRefill + coolDownNanos;
+        }
+
+        this.waitTimer = Timer.builder("discogs.ratelimiter.wait")
+                .description("Time requests spent waiting for a Discogs rate limit permit")
+                .register(meterRegistry);
+        Gauge.builder("discogs.ratelimiter.queue.depth", waiting, AtomicInteger::get)
+                .description("Requests currently waiting for a Discogs rate limit permit")
+                .register(meterRegistry);
+        Gauge.builder("discogs.ratelimiter.tokens", this, DiscogsRateLimiter::availableTokens)
+                .description("Permits currently available in the Discogs token bucket")
+                .register(meterRegistry);
+        Gauge.builder("discogs.ratelimiter.cool.down", this, limiter -> limiter.getMode() == ThrottlingMode.COOL_DOWN ? 1 : 0)
+                .description("1 while the Discogs rate limiter is cooling down, 0 otherwise")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until a request may be sent to Discogs.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        waiting.incrementAndGet();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Adjusts the limiter to the budget Discogs reported for a completed request.
+     *
+     * @param statusCode the HTTP status of the response.
+     * @param headers the response headers.
+     */
+    public synchronized void onResponse(int statusCode, HttpHeaders headers) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        Integer limit = intHeader(headers, RATELIMIT_HEADER);
+        Integer used = intHeader(headers, RATELIMIT_USED_HEADER);
+        Integer remaining = intHeader(headers, RATELIMIT_REMAINING_HEADER);
+        if (remaining == null && limit != null && used != null) {
+            remaining = limit - used;
+        }
+        if (limit != null && limit > 0) {
+            tokensPerNano = (double) limit / NANOS_PER_MINUTE;
+        }
+        if (remaining != null) {
+            tokens = Math.min(tokens, remaining);
+        }
+        if (statusCode == 429 || (remaining != null && remaining <= 0)) {
+            mode = ThrottlingMode.COOL_DOWN;
+            coolDownUntil = Math.max(coolDownUntil, now + coolDownNanos);
+        }
+    }
+
+    /**
+     * Returns the request budget currently assumed, as last reported by Discogs.
+     *
+     * @return the number of requests allowed per minute.
+     */
+    public synchronized double getRequestsPerMinute() {
+        return tokensPerNano * NANOS_PER_MINUTE;
+    }
+
+    /**
+     * Returns the mode the limiter is currently in.
+     *
+     * @return the current throttling mode.
+     */
+    public synchronized ThrottlingMode getMode() {
+        if (mode == ThrottlingMode.COOL_DOWN && nanoClock.getAsLong() - coolDownUntil >= 0) {
+            mode = ThrottlingMode.NORMAL;
+        }
+        return mode;
+    }
+
+    /**
+     * Takes one permit from the bucket, going into debt if none is available.
+     *
+     * @return how long the caller has to wait before its permit becomes valid, in nanoseconds.
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        tokens -= 1;
+        long bucketWait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        long coolDownWait = mode == ThrottlingMode.COOL_DOWN ? coolDownUntil - now : 0;
+        if (coolDownWait <= 0) {
+            mode = ThrottlingMode.NORMAL;
+        }
+        return Math.max(bucketWait, coolDownWait);
+    }
+
+    private synchronized double availableTokens() {
+        refill(nanoClock.getAsLong());
+        return Math.max(tokens, 0);
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+
+    private static Integer intHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.discogs.client.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier cache of Discogs API responses.
+ * The first tier is the size-bounded in-process {@value #CACHE_NAME} cache; the optional second tier
+ * stores responses as files so they survive restarts. Entries are keyed by the normalized request URL
+ * without the API token, and expire after a TTL that depends on the endpoint. Files older than the disk
+ * max age are removed at startup and then periodically, so the directory does not grow without bound.
+ */
+@Component
+public class DiscogsResponseCache {
+
+    public static final String CACHE_NAME = "discogsResponses";
+
+    private static final Logger log = LoggerFactory.getLogger(DiscogsResponseCache.class);
+
+    private final Cache memory;
+    private final ObjectMapper objectMapper;
+    private final Duration searchTtl;
+    private final Duration artistTtl;
+    private final Duration defaultTtl;
+    private final Path diskDirectory;
+    private final Duration diskMaxAge;
+    private final Counter diskHits;
+    private final Counter diskMisses;
+
+    /**
+     * Constructs a new DiscogsResponseCache.
+     *
+     * @param cacheManager the cache manager holding the in-process tier.
+     * @param objectMapper the mapper used to write entries to disk.
+     * @param meterRegistry the registry the disk tier metrics are published to.
+     * @param searchTtl how long /database/search responses are served without revalidation.
+     * @param artistTtl how long /artists responses are served without revalidation.
+     * @param defaultTtl how long other responses are served without revalidation.
+     * @param diskEnabled whether responses are also stored on disk.
+     * @param diskDirectory the directory the disk tier lives in.
+     * @param diskMaxAge entries older than this are removed from disk, at startup and then periodically.
+     */
+    @Autowired
+    public DiscogsResponseCache(CacheManager cacheManager, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${discogs.cache.ttl.search:1h}") Duration searchTtl,
+                                @Value("${discogs.cache.ttl.artist:24h}") Duration artistTtl,
+                                @Value("${discogs.cache.ttl.default:1h}") Duration defaultTtl,
+                                @Value("${discogs.cache.disk.enabled:false}") boolean diskEnabled,
+                                @Value("${discogs.cache.disk.directory:${java.io.tmpdir}/discogs-cache}") Path diskDirectory,
+                                @Value("${discogs.cache.disk.max-age:7d}") Duration diskMaxAge) {
+        this.memory = cacheManager.getCache(CACHE_NAME);
+        this.objectMapper = objectMapper;
+        this.searchTtl = searchTtl;
+        this.artistTtl = artistTtl;
+        this.defaultTtl = defaultTtl;
+        this.diskDirectory = diskEnabled ? diskDirectory : null;
+        this.diskMaxAge = diskMaxAge;
+        this.diskHits = Counter.builder("discogs.cache.disk").tag("result", "hit")
+                .description("Discogs responses found in the on-disk cache tier").register(meterRegistry);
+        this.diskMisses = Counter.builder("discogs.cache.disk").tag("result", "miss")
+                .description("Discogs responses not found in the on-disk cache tier").register(meterRegistry);
+        if (this.diskDirectory != null) {
+            prepareDiskTier();
+        }
+    }
+
+    /**
+     * Removes the files of the disk tier older than the disk max age, including temporary files left behind
+     * by interrupted writes.
+     */
+    @Scheduled(fixedDelayString = "${discogs.cache.disk.prune-interval:PT1H}",
+            initialDelayString = "${discogs.cache.disk.prune-interval:PT1H}")
+    public void pruneDisk() {
+        if (diskDirectory == null) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - diskMaxAge.toMillis();
+        try (Stream<Path> files = Files.list(diskDirectory)) {
+            files.filter(file -> isOlderThan(file, cutoff)).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not prune cache directory {}", diskDirectory, e);
+        }
+    }
+
+    /**
+     * Builds the cache key of a request URL: the token is dropped, host and scheme are lowercased
+     * and query parameters are sorted, so equivalent requests share an entry.
+     *
+     * @param uri the request URL.
+     * @return the cache key.
+     */
+    public String keyFor(URI uri) {
+        UriComponents components = UriComponentsBuilder.fromUri(uri).build();
+        Map<String, Object> query = new TreeMap<>();
+        components.getQueryParams().forEach((name, values) -> {
+            if (!"token".equals(name)) {
+                query.put(name, String.join(",", values));
+            }
+        });
+        StringBuilder key = new StringBuilder()
+                .append(Optional.ofNullable(components.getScheme()).orElse("https").toLowerCase(Locale.ROOT))
+                .append("://")
+                .append(Optional.ofNullable(components.getHost()).orElse("").toLowerCase(Locale.ROOT))
+                .append(Optional.ofNullable(components.getPath()).orElse(""));
+        char separator = '?';
+        for (Map.Entry<String, Object> parameter : query.entrySet()) {
+            key.append(separator).append(parameter.getKey()).append('=').append(parameter.getValue());
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns how long a response for the given URL is served without revalidation.
+     *
+     * @param uri the request URL.
+     * @return the TTL of the endpoint.
+     */
+    public Duration ttlFor(URI uri) {
+        String path = Optional.ofNullable(uri.getPath()).orElse("");
+        if (path.startsWith("/database/search")) {
+            return searchTtl;
+        }
+        if (path.startsWith("/artists/")) {
+            return artistTtl;
+        }
+        return defaultTtl;
+    }
+
+    /**
+     * Looks up a response, first in memory and then on disk.
+     *
+     * @param key the cache key.
+     * @return the cached response, fresh or not, if any.
+     */
+    public Optional<CachedResponse> get(String key) {
+        CachedResponse cached = memory.get(key, CachedResponse.class);
+        if (cached != null || diskDirectory == null) {
+            return Optional.ofNullable(cached);
+        }
+        Optional<CachedResponse> fromDisk = readFromDisk(key);
+        if (fromDisk.isPresent()) {
+            diskHits.increment();
+            memory.put(key, fromDisk.get());
+        } else {
+            diskMisses.increment();
+        }
+        return fromDisk;
+    }
+
+    /**
+     * Stores a response in both tiers.
+     *
+     * @param key the cache key.
+     * @param response the response to store.
+     */
+    public void put(String key, CachedResponse response) {
+        memory.put(key, response);
+        if (diskDirectory != null) {
+            writeToDisk(key, response);
+        }
+    }
+
+    private Optional<CachedResponse> readFromDisk(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), CachedResponse.class));
+        } catch (IOException e) {
+            log.warn("Discarding unreadable cache file {}", file, e);
+            deleteQuietly(file);
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(String key, CachedResponse response) {
+        Path file = fileFor(key);
+        try {
+            Path temp = Files.createTempFile(diskDirectory, "entry", ".tmp");
+            objectMapper.writeValue(temp.toFile(), response);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write cache file {}", file, e);
+        }
+    }
+
+    private void prepareDiskTier() {
+        try {
+            Files.createDirectories(diskDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create cache directory " + diskDirectory, e);
+        }
+        pruneDisk();
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return diskDirectory.resolve(HexFormat.of().formatHex(digest) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static boolean isOlderThan(Path file, long cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < cutoff;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cache file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.discogs.client.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OkHttp interceptor that caps the number of calls in flight to each host.
+ * OkHttp only applies its per-host limit to asynchronous calls; this applies it to the blocking
+ * calls the RestTemplate makes as well. The slot is held until the response body is closed.
+ */
+public class HostConnectionLimiter implements Interceptor {
+
+    private final int maxPerHost;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new HostConnectionLimiter.
+     *
+     * @param maxPerHost the maximum number of concurrent calls to a single host.
+     */
+    public HostConnectionLimiter(int maxPerHost) {
+        this.maxPerHost = maxPerHost;
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Semaphore semaphore = permits.computeIfAbsent(chain.request().url().host(), host -> new Semaphore(maxPerHost, true));
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection slot");
+        }
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            semaphore.release();
+            return response;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        BufferedSource source = Okio.buffer(new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        semaphore.release();
+                    }
+                }
+            }
+        });
+        return response.newBuilder()
+                .body(ResponseBody.create(source, body.contentType(), body.contentLength()))
+                .build();
+    }
+}
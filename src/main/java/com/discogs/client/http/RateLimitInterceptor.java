@@ -0,0 +1,45 @@
+package com.discogs.client.http;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * Interceptor that takes a permit from the {@link DiscogsRateLimiter} before every request and
+ * feeds the rate limit headers of the response back into it.
+ */
+@Component
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final DiscogsRateLimiter rateLimiter;
+
+    /**
+     * Constructs a new RateLimitInterceptor with the specified rate limiter.
+     *
+     * @param rateLimiter the rate limiter shared by all Discogs requests.
+     */
+    @Autowired
+    public RateLimitInterceptor(DiscogsRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a Discogs rate limit permit");
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        rateLimiter.onResponse(response.getStatusCode().value(), response.getHeaders());
+        return response;
+    }
+}
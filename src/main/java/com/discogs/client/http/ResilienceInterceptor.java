@@ -0,0 +1,195 @@
+package com.discogs.client.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Interceptor that guards the Discogs requests leaving the response cache with the {@value #INSTANCE}
+ * circuit breaker, bulkhead and time limiter.
+ * The circuit breaker counts server errors, I/O failures and timeouts; 429 responses are left to the
+ * {@link DiscogsRateLimiter} and count neither way. The bulkhead bounds how many requests wait for a rate
+ * limit permit or a response at once, and the time limiter abandons a request that takes longer than its
+ * timeout, including the wait for a permit, so a slow Discogs cannot hold the calling thread indefinitely.
+ * An abandoned request keeps its bulkhead permit until it really finishes, so the bulkhead also bounds the requests
+ * still running after their caller gave up, and a response that arrives after the timeout is closed.
+ */
+@Component
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Name of the Resilience4j instances configured for the Discogs API.
+     */
+    public static final String INSTANCE = "discogsApi";
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceInterceptor.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService callExecutor;
+
+    /**
+     * Constructs a new ResilienceInterceptor with the specified dependencies.
+     *
+     * @param circuitBreakerRegistry the registry holding the configured circuit breakers.
+     * @param bulkheadRegistry the registry holding the configured bulkheads.
+     * @param timeLimiterRegistry the registry holding the configured time limiters.
+     * @param callExecutor the executor the time-limited requests run on.
+     * @param meterRegistry the registry the circuit breaker state transitions are counted in.
+     */
+    @Autowired
+    public ResilienceInterceptor(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                 TimeLimiterRegistry timeLimiterRegistry,
+                                 @Qualifier("discogsCallExecutor") ExecutorService callExecutor,
+                                 MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE);
+        this.callExecutor = callExecutor;
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Discogs circuit breaker moved from {} to {}", event.getStateTransition().getFromState(),
+                    event.getStateTransition().getToState());
+            Counter.builder("discogs.circuitbreaker.transitions")
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .description("State transitions of the Discogs circuit breaker")
+                    .register(meterRegistry)
+                    .increment();
+        });
+    }
+
+    /**
+     * Sends a request through the circuit breaker, the bulkhead and the time limiter.
+     *
+     * @throws CallNotPermittedException if the circuit breaker is open.
+     * @throws BulkheadFullException if the bulkhead stays full for longer than its maximum wait.
+     * @throws IOException if the request fails or times out.
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        circuitBreaker.acquirePermission();
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        BulkheadCall call = new BulkheadCall(request, body, execution);
+        boolean answered = false;
+        try {
+            ClientHttpResponse response = timeLimiter.executeFutureSupplier(() -> callExecutor.submit(call));
+            answered = true;
+            record(response.getStatusCode(), circuitBreaker.getCurrentTimestamp() - start);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission();
+            throw new InterruptedIOException("Interrupted while waiting for Discogs");
+        } catch (TimeoutException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw new IOException("Discogs did not answer within " + timeLimiter.getTimeLimiterConfig().getTimeoutDuration(), e);
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        } catch (Exception e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw new IOException("Discogs request failed", e);
+        } finally {
+            if (!answered) {
+                call.abandon();
+            }
+        }
+    }
+
+    /**
+     * A request running on the call executor while holding a bulkhead permit.
+     * The permit is released once, when the request finishes, or when its caller abandons it before it started.
+     * A response is handed over to the caller unless the caller has already abandoned the request, in which case
+     * whichever side comes last closes it.
+     */
+    private final class BulkheadCall implements Callable<ClientHttpResponse> {
+
+        private final Object abandoned = new Object();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicReference<Object> outcome = new AtomicReference<>();
+        private final HttpRequest request;
+        private final byte[] body;
+        private final ClientHttpRequestExecution execution;
+
+        private BulkheadCall(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) {
+            this.request = request;
+            this.body = body;
+            this.execution = execution;
+        }
+
+        @Override
+        public ClientHttpResponse call() throws IOException {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                if (!outcome.compareAndSet(null, response)) {
+                    response.close();
+                }
+                return response;
+            } finally {
+                bulkhead.onComplete();
+            }
+        }
+
+        /**
+         * Gives up on the request: releases the permit if it never started, and closes a response that already
+         * arrived or makes the request close the one it is still waiting for.
+         */
+        private void abandon() {
+            if (started.compareAndSet(false, true)) {
+                bulkhead.onComplete();
+                return;
+            }
+            if (outcome.getAndSet(abandoned) instanceof ClientHttpResponse response) {
+                response.close();
+            }
+        }
+    }
+
+    private void record(HttpStatusCode status, long duration) {
+        if (status.is5xxServerError()) {
+            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), new HttpServerErrorException(status));
+        } else if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            circuitBreaker.releasePermission();
+        } else {
+            circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.discogs.client.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Interceptor that serves Discogs GET requests from the {@link DiscogsResponseCache}.
+ * Fresh entries are returned without touching the network. Expired entries that carry an ETag are
+ * revalidated with {@code If-None-Match}; a 304 answer renews the entry instead of downloading it again.
+ * When Discogs cannot be reached, refuses the request or answers with a server error or 429, an expired entry is
+ * served instead as long as it expired less than the configured stale-if-error period ago.
+ * The size of every body downloaded from Discogs is recorded.
+ */
+@Component
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheInterceptor.class);
+
+    private final DiscogsResponseCache cache;
+    private final MeterRegistry meterRegistry;
+    private final long staleIfErrorMillis;
+    private final Counter freshHits;
+    private final Counter revalidated;
+    private final Counter misses;
+    private final Counter staleOnError;
+
+    /**
+     * Constructs a new ResponseCacheInterceptor.
+     *
+     * @param cache the response cache.
+     * @param meterRegistry the registry the cache outcome counters and response sizes are published to.
+     * @param staleIfError how long after expiring an entry may still be served when Discogs fails.
+     */
+    @Autowired
+    public ResponseCacheInterceptor(DiscogsResponseCache cache, MeterRegistry meterRegistry,
+                                    @Value("${discogs.cache.stale-if-error:1d}") Duration staleIfError) {
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.staleIfErrorMillis = staleIfError.toMillis();
+        this.freshHits = outcomeCounter(meterRegistry, "hit");
+        this.revalidated = outcomeCounter(meterRegistry, "revalidated");
+        this.misses = outcomeCounter(meterRegistry, "miss");
+        this.staleOnError = outcomeCounter(meterRegistry, "stale");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String key = cache.keyFor(request.getURI());
+        long now = System.currentTimeMillis();
+        Optional<CachedResponse> cached = cache.get(key);
+        if (cached.isPresent() && cached.get().isFresh(now)) {
+            freshHits.increment();
+            return new CachedClientHttpResponse(cached.get());
+        }
+
+        HttpRequest outgoing = request;
+        if (cached.isPresent() && cached.get().etag() != null) {
+            outgoing = conditional(request, cached.get().etag());
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(outgoing, body);
+        } catch (IOException | RuntimeException e) {
+            if (!isUsableOnError(cached)) {
+                throw e;
+            }
+            log.warn("Serving stale Discogs response for {} after failure: {}", key, e.toString());
+            return stale(cached.get());
+        }
+        if (isFailure(response.getStatusCode()) && isUsableOnError(cached)) {
+            log.warn("Serving stale Discogs response for {} after HTTP {}", key, response.getStatusCode().value());
+            response.close();
+            return stale(cached.get());
+        }
+        long expiresAt = System.currentTimeMillis() + cache.ttlFor(request.getURI()).toMillis();
+
+        if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && cached.isPresent()) {
+            String etag = response.getHeaders().getETag();
+            response.close();
+            CachedResponse renewed = cached.get().revalidated(System.currentTimeMillis(), expiresAt, etag);
+            cache.put(key, renewed);
+            revalidated.increment();
+            return new CachedClientHttpResponse(renewed);
+        }
+
+        misses.increment();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        HttpHeaders headers = response.getHeaders();
+        byte[] responseBody;
+        try (response) {
+            responseBody = StreamUtils.copyToByteArray(response.getBody());
+        }
+        DistributionSummary.builder("discogs.api.response.size")
+                .tag("uri", Optional.ofNullable(request.getURI().getPath()).orElse("").replaceAll("/\\d+", "/{id}"))
+                .baseUnit("bytes")
+                .description("Size of the response bodies downloaded from Discogs")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(responseBody.length);
+        CachedResponse stored = new CachedResponse(headers.getFirst(HttpHeaders.CONTENT_TYPE), headers.getETag(),
+                responseBody, System.currentTimeMillis(), expiresAt);
+        cache.put(key, stored);
+        return new CachedClientHttpResponse(stored);
+    }
+
+    private boolean isUsableOnError(Optional<CachedResponse> cached) {
+        return cached.isPresent() && cached.get().isUsableOnError(System.currentTimeMillis(), staleIfErrorMillis);
+    }
+
+    private ClientHttpResponse stale(CachedResponse cached) {
+        staleOnError.increment();
+        return new CachedClientHttpResponse(cached);
+    }
+
+    private static boolean isFailure(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static HttpRequest conditional(HttpRequest request, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.setIfNoneMatch(etag);
+        return new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("discogs.cache.requests").tag("result", result)
+                .description("Discogs GET requests by response cache outcome")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.discogs.client.http;
+
+/**
+ * Operating modes of the Discogs rate limiter.
+ */
+public enum ThrottlingMode {
+
+    /**
+     * Requests are paced by the token bucket.
+     */
+    NORMAL,
+
+    /**
+     * Discogs reported the rate budget as exhausted; no request is sent until the cool-down elapses.
+     */
+    COOL_DOWN
+}
@@ -8,14 +8,15 @@ import jakarta.validation.constraints.*;
  * Entity for alias information.
  */
 @Entity
-@Table(name = "aliases")
+@Table(name = "aliases", indexes = @Index(name = "idx_aliases_artist_id", columnList = "artist_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Alias {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aliases_seq")
+    @SequenceGenerator(name = "aliases_seq", sequenceName = "aliases_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Discogs ID is mandatory")
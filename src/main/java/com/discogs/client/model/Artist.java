@@ -3,13 +3,17 @@ package com.discogs.client.model;
 import jakarta.persistence.*;
 import lombok.*;
 import jakarta.validation.constraints.*;
+
+import java.time.Instant;
 import java.util.List;
 
 /**
  * Entity for artist information.
  */
 @Entity
-@Table(name = "artists")
+@Table(name = "artists",
+        uniqueConstraints = @UniqueConstraint(name = "uk_artists_discogs_id", columnNames = "discogs_id"),
+        indexes = @Index(name = "idx_artists_name", columnList = "name"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +21,8 @@ import java.util.List;
 @ToString(exclude = {"aliases", "masters", "releases"})
 public class Artist {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artists_seq")
+    @SequenceGenerator(name = "artists_seq", sequenceName = "artists_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Discogs ID is mandatory")
@@ -37,10 +42,16 @@ public class Artist {
 
     private String releasesUrl;
 
+    private Instant lastFetchedAt;
+
+    private Instant refreshFailedAt;
+
+    private long queryCount;
+
     @ElementCollection
     private List<String> nameVariations;
 
-    @OneToMany(mappedBy = "artist", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "artist", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Alias> aliases;
 
     @OneToMany(mappedBy = "artist", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
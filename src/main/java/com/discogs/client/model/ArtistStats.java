@@ -0,0 +1,48 @@
+package com.discogs.client.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import jakarta.validation.constraints.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entity for the precomputed release statistics of an artist.
+ */
+@Entity
+@Table(name = "artist_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArtistStats {
+    @Id
+    private Long artistId;
+
+    @NotNull(message = "Release count is mandatory")
+    private Integer releaseCount;
+
+    private Integer minYear;
+
+    private Integer maxYear;
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Integer> genreCounts = new LinkedHashMap<>();
+
+    /**
+     * MinHash signatures of the distinct genres, styles and labels of the artist's releases, or null if they
+     * have not been computed since the statistics were stored.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] genreSignature;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] styleSignature;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] labelSignature;
+}
@@ -0,0 +1,65 @@
+package com.discogs.client.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import jakarta.validation.constraints.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity for a queued artist ingest and its progress.
+ */
+@Entity
+@Table(name = "ingest_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestJob {
+
+    /**
+     * Lifecycle of an ingest job.
+     */
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    private UUID id;
+
+    @NotBlank(message = "Artist name cannot be empty")
+    private String artistName;
+
+    @NotBlank(message = "Artist key cannot be empty")
+    private String artistKey;
+
+    private Long discogsId;
+
+    private boolean refresh;
+
+    @NotNull(message = "Status is mandatory")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Status status;
+
+    private int attempts;
+
+    @Column(length = 2000)
+    private String lastError;
+
+    private String lockedBy;
+
+    private Instant lockedAt;
+
+    @NotNull(message = "Next attempt time is mandatory")
+    private Instant nextAttemptAt;
+
+    @NotNull(message = "Creation time is mandatory")
+    private Instant createdAt;
+
+    @NotNull(message = "Update time is mandatory")
+    private Instant updatedAt;
+
+    private Instant completedAt;
+}
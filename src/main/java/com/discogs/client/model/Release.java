@@ -2,6 +2,8 @@ package com.discogs.client.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import jakarta.validation.constraints.*;
 import java.util.List;
 
@@ -9,7 +11,9 @@ import java.util.List;
  * Entity for release information.
  */
 @Entity
-@Table(name = "releases")
+@Table(name = "releases",
+        uniqueConstraints = @UniqueConstraint(name = "uk_releases_artist_discogs_id", columnNames = {"artist_id", "discogs_id"}),
+        indexes = @Index(name = "idx_releases_title", columnList = "title"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +21,8 @@ import java.util.List;
 @ToString(exclude = {"artist"})
 public class Release {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "releases_seq")
+    @SequenceGenerator(name = "releases_seq", sequenceName = "releases_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Discogs ID is mandatory")
@@ -30,16 +35,16 @@ public class Release {
 
     private String year;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.ARRAY)
     private List<String> format;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.ARRAY)
     private List<String> label;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.ARRAY)
     private List<String> genre;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.ARRAY)
     private List<String> style;
 
     private String thumb;
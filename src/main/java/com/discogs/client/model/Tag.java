@@ -0,0 +1,38 @@
+package com.discogs.client.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import jakarta.validation.constraints.*;
+
+/**
+ * Entity for a genre or style in the tag dictionary, which gives each distinct value a small integer id.
+ */
+@Entity
+@Table(name = "tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tags_kind_name", columnNames = {"kind", "name"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tag {
+
+    /**
+     * Whether a tag is a genre or a style.
+     */
+    public enum Kind {
+        GENRE, STYLE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+    @SequenceGenerator(name = "tags_seq", sequenceName = "tags_seq", allocationSize = 1)
+    private Integer id;
+
+    @NotNull(message = "Kind is mandatory")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Kind kind;
+
+    @NotBlank(message = "Name cannot be empty")
+    private String name;
+}
@@ -0,0 +1,105 @@
+package com.discogs.client.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Repository that serializes work across application instances with PostgreSQL session-level advisory locks.
+ * The lock is held on a connection of its own for as long as the work runs, so it is released by PostgreSQL
+ * if the instance holding it dies.
+ */
+@Repository
+public class AdvisoryLockRepository {
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final DataSource dataSource;
+
+    /**
+     * Constructs a new AdvisoryLockRepository with the specified dependencies.
+     *
+     * @param dataSource the data source the locks are taken on.
+     */
+    @Autowired
+    public AdvisoryLockRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Runs work while holding the advisory lock identified by a namespace and a key.
+     *
+     * @param namespace the namespace of the lock.
+     * @param key the key of the lock within the namespace.
+     * @param timeout the maximum time to wait for the lock.
+     * @param work the work to run.
+     * @param <V> the result type.
+     * @return the result of the work.
+     * @throws CannotAcquireLockException if the lock is not acquired within the timeout.
+     * @throws CancellationException if the calling thread is interrupted while waiting for the lock.
+     */
+    public <V> V withLock(int namespace, int key, Duration timeout, Supplier<V> work) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            acquire(connection, namespace, key, timeout);
+            try {
+                return work.get();
+            } finally {
+                release(connection, namespace, key);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void acquire(Connection connection, int namespace, int key, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!tryLock(connection, namespace, key)) {
+            if (System.nanoTime() - deadline >= 0) {
+                throw new CannotAcquireLockException("Timed out waiting for advisory lock " + namespace + "/" + key);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for advisory lock " + namespace + "/" + key);
+            }
+        }
+    }
+
+    private static boolean tryLock(Connection connection, int namespace, int key) {
+        return query(connection, "select pg_try_advisory_lock(?, ?)", namespace, key);
+    }
+
+    private static void release(Connection connection, int namespace, int key) {
+        query(connection, "select pg_advisory_unlock(?, ?)", namespace, key);
+    }
+
+    private static boolean query(Connection connection, String sql, int namespace, int key) {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(sql);
+            statement.setInt(1, namespace);
+            statement.setInt(2, key);
+            resultSet = statement.executeQuery();
+            return resultSet.next() && resultSet.getBoolean(1);
+        } catch (SQLException e) {
+            throw new CannotAcquireLockException("Advisory lock query failed: " + sql, e);
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+}
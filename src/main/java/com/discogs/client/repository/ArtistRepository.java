@@ -1,9 +1,16 @@
 package com.discogs.client.repository;
 
 import com.discogs.client.model.Artist;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,6 +28,67 @@ public interface ArtistRepository extends JpaRepository<Artist, Long> {
      */
     Optional<Artist> findByName(String name);
 
+    /**
+     * Finds the artists with any of the given names in a single query.
+     *
+     * @param names the names of the artists.
+     * @return the artists found, in no particular order; a name may match several artists.
+     */
+    List<Artist> findAllByNameIn(Collection<String> names);
+
+    /**
+     * Finds the next page of artists in id order.
+     *
+     * @param id the id to start after.
+     * @param limit the maximum number of artists to return.
+     * @param type the entity class, or a projection such as ArtistSummary to read only the artist columns.
+     * @param <T> the type of the returned rows.
+     * @return the artists with a greater id, in ascending id order.
+     */
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> type);
+
+    /**
+     * Finds the artists with the given ids in id order.
+     *
+     * @param ids the ids of the artists.
+     * @param type the entity class, or a projection such as ArtistSummary to read only the artist columns.
+     * @param <T> the type of the returned rows.
+     * @return the artists found, in ascending id order.
+     */
+    <T> List<T> findByIdInOrderByIdAsc(Collection<Long> ids, Class<T> type);
+
+    /**
+     * Finds an artist by its Discogs ID.
+     *
+     * @param discogsId the Discogs ID of the artist.
+     * @return an Optional containing the artist if found, or empty if not found.
+     */
+    Optional<Artist> findByDiscogsId(Long discogsId);
+
+    /**
+     * Checks if an artist exists by its Discogs ID.
+     *
+     * @param discogsId the Discogs ID of the artist.
+     * @return true if an artist with the specified Discogs ID exists, false otherwise.
+     */
+    boolean existsByDiscogsId(Long discogsId);
+
+    /**
+     * Checks if an artist exists by its name, ignoring case.
+     *
+     * @param name the name of the artist.
+     * @return true if an artist with the specified name exists, false otherwise.
+     */
+    boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Finds an artist by its name, ignoring case.
+     *
+     * @param name the name of the artist.
+     * @return an Optional containing the first matching artist if found, or empty if not found.
+     */
+    Optional<Artist> findFirstByNameIgnoreCase(String name);
+
     /**
      * Checks if an artist exists by its name.
      *
@@ -35,4 +103,76 @@ public interface ArtistRepository extends JpaRepository<Artist, Long> {
      * @param name the name of the artist to delete.
      */
     void deleteByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Finds the artists not fetched from Discogs since a given time, most queried first and then least
+     * recently fetched, with artists never fetched first. Artists whose last refresh failed after that time
+     * are left out, so a failing artist is not retried before it is stale again.
+     *
+     * @param fetchedBefore the time the artists must not have been fetched, or failed to refresh, since.
+     * @param limit the maximum number of artists to return.
+     * @return the stale artists, in refresh priority order.
+     */
+    @Query("select a from Artist a where (a.lastFetchedAt is null or a.lastFetchedAt < :fetchedBefore) "
+            + "and (a.refreshFailedAt is null or a.refreshFailedAt < :fetchedBefore) "
+            + "order by a.queryCount desc, a.lastFetchedAt asc nulls first, a.id asc")
+    List<Artist> findStale(@Param("fetchedBefore") Instant fetchedBefore, Limit limit);
+
+    /**
+     * Records when an artist was last fetched from Discogs.
+     *
+     * @param id the id of the artist.
+     * @param fetchedAt the time the artist was fetched.
+     */
+    @Modifying
+    @Query("update Artist a set a.lastFetchedAt = :fetchedAt where a.id = :id")
+    void updateLastFetchedAt(@Param("id") Long id, @Param("fetchedAt") Instant fetchedAt);
+
+    /**
+     * Records when a refresh of an artist last failed.
+     *
+     * @param id the id of the artist.
+     * @param failedAt the time the refresh failed.
+     */
+    @Modifying
+    @Query("update Artist a set a.refreshFailedAt = :failedAt where a.id = :id")
+    void updateRefreshFailedAt(@Param("id") Long id, @Param("failedAt") Instant failedAt);
+
+    /**
+     * Adds to the number of times an artist was queried.
+     *
+     * @param id the id of the artist.
+     * @param count the number of queries to add.
+     */
+    @Modifying
+    @Query("update Artist a set a.queryCount = a.queryCount + :count where a.id = :id")
+    void incrementQueryCount(@Param("id") Long id, @Param("count") long count);
+
+    /**
+     * Deletes the aliases of an artist in one statement, without loading them.
+     *
+     * @param id the id of the artist.
+     */
+    @Modifying
+    @Query("delete from Alias a where a.artist.id = :id")
+    void deleteAliasesInBulk(@Param("id") Long id);
+
+    /**
+     * Deletes the name variations of an artist in one statement, without loading them.
+     *
+     * @param id the id of the artist.
+     */
+    @Modifying
+    @Query(value = "delete from artist_name_variations where artist_id = :id", nativeQuery = true)
+    void deleteNameVariationsInBulk(@Param("id") Long id);
+
+    /**
+     * Deletes an artist in one statement, without loading it. Its releases, masters, aliases and name
+     * variations must be deleted first.
+     *
+     * @param id the id of the artist.
+     */
+    @Modifying
+    @Query("delete from Artist a where a.id = :id")
+    void deleteInBulk(@Param("id") Long id);
+}
@@ -0,0 +1,50 @@
+package com.discogs.client.repository;
+
+import com.discogs.client.model.ArtistStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing ArtistStats entities.
+ * Extends JpaRepository to provide CRUD operations.
+ */
+@Repository
+public interface ArtistStatsRepository extends JpaRepository<ArtistStats, Long> {
+
+    /**
+     * Finds the statistics of an artist and locks them for update.
+     *
+     * @param artistId the id of the artist.
+     * @return an Optional containing the statistics if found, or empty if not found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ArtistStats s where s.artistId = :artistId")
+    Optional<ArtistStats> findForUpdate(@Param("artistId") Long artistId);
+
+    /**
+     * Finds the next page of statistics in artist id order.
+     *
+     * @param artistId the artist id to start after.
+     * @param limit the maximum number of statistics to return.
+     * @return the statistics with a greater artist id, in ascending artist id order.
+     */
+    List<ArtistStats> findByArtistIdGreaterThanOrderByArtistIdAsc(Long artistId, Limit limit);
+
+    /**
+     * Finds statistics stored before the similarity signatures existed, in artist id order.
+     *
+     * @param limit the maximum number of statistics to return.
+     * @return the statistics missing at least one signature.
+     */
+    @Query("select s from ArtistStats s where s.genreSignature is null or s.styleSignature is null "
+            + "or s.labelSignature is null order by s.artistId")
+    List<ArtistStats> findWithoutSignatures(Limit limit);
+}
@@ -0,0 +1,23 @@
+package com.discogs.client.repository;
+
+/**
+ * Projection of the scalar columns of an artist, read without touching any of its collections.
+ */
+public interface ArtistSummary {
+
+    Long getId();
+
+    Long getDiscogsId();
+
+    String getName();
+
+    String getRealname();
+
+    String getProfile();
+
+    String getResourceUrl();
+
+    String getUri();
+
+    String getReleasesUrl();
+}
@@ -0,0 +1,162 @@
+package com.discogs.client.repository;
+
+import com.discogs.client.model.Master;
+import com.discogs.client.model.Release;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Repository that writes masters and releases with batched PostgreSQL upserts.
+ * Rows are matched on their artist and Discogs ID, so a row stored concurrently by another ingest is updated
+ * instead of duplicated, and a row whose content did not change is left untouched.
+ * New rows take their id from {@code nextval} of the entity sequence in the insert itself; Hibernate never
+ * hands out a sequence value it did not read, so these ids cannot collide with ids assigned by JPA.
+ * The ids of the rows written are read back with {@code returning}.
+ */
+@Repository
+public class CatalogUpsertRepository {
+
+    private static final String[] RETURNED_COLUMNS = {"id", "discogs_id"};
+
+    private static final String UPSERT_MASTER =
+            "insert into masters (id, artist_id, discogs_id, title, country, year, format, label, genre, style, thumb, "
+                    + "cover_image, resource_url) values (nextval('masters_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "on conflict (artist_id, discogs_id) do update set title = excluded.title, "
+                    + "country = excluded.country, year = excluded.year, format = excluded.format, "
+                    + "label = excluded.label, genre = excluded.genre, style = excluded.style, thumb = excluded.thumb, "
+                    + "cover_image = excluded.cover_image, resource_url = excluded.resource_url "
+                    + "where (masters.title, masters.country, masters.year, masters.format, masters.label, masters.genre, "
+                    + "masters.style, masters.thumb, masters.cover_image, masters.resource_url) is distinct from "
+                    + "(excluded.title, excluded.country, excluded.year, excluded.format, excluded.label, excluded.genre, "
+                    + "excluded.style, excluded.thumb, excluded.cover_image, excluded.resource_url)";
+
+    private static final String UPSERT_RELEASE =
+            "insert into releases (id, artist_id, discogs_id, title, country, year, format, label, genre, style, thumb, "
+                    + "cover_image, resource_url, master_id) values (nextval('releases_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, "
+                    + "?, ?, ?) "
+                    + "on conflict (artist_id, discogs_id) do update set title = excluded.title, "
+                    + "country = excluded.country, year = excluded.year, format = excluded.format, "
+                    + "label = excluded.label, genre = excluded.genre, style = excluded.style, thumb = excluded.thumb, "
+                    + "cover_image = excluded.cover_image, resource_url = excluded.resource_url, "
+                    + "master_id = excluded.master_id "
+                    + "where (releases.title, releases.country, releases.year, releases.format, releases.label, "
+                    + "releases.genre, releases.style, releases.thumb, releases.cover_image, releases.resource_url, "
+                    + "releases.master_id) is distinct from (excluded.title, excluded.country, excluded.year, "
+                    + "excluded.format, excluded.label, excluded.genre, excluded.style, excluded.thumb, "
+                    + "excluded.cover_image, excluded.resource_url, excluded.master_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new CatalogUpsertRepository with the specified dependencies.
+     *
+     * @param jdbcTemplate the JDBC template.
+     */
+    @Autowired
+    public CatalogUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts or updates masters of an artist, including their formats, labels, genres and styles.
+     *
+     * @param artistId the id of the artist.
+     * @param masters the masters to write, with their Discogs ID set.
+     * @return the masters inserted or updated, with their ids set; masters whose stored content was already
+     * the same, for instance because a concurrent ingest stored them first, are not written or returned.
+     */
+    public List<Master> upsertMasters(Long artistId, List<Master> masters) {
+        List<Object[]> rows = new ArrayList<>(masters.size());
+        for (Master master : masters) {
+            rows.add(new Object[]{artistId, master.getDiscogsId(), master.getTitle(), master.getCountry(),
+                    master.getYear(), array(master.getFormat()), array(master.getLabel()), array(master.getGenre()),
+                    array(master.getStyle()), master.getThumb(), master.getCoverImage(), master.getResourceUrl()});
+        }
+        Map<Long, Long> ids = upsert(UPSERT_MASTER, rows);
+        List<Master> written = new ArrayList<>(ids.size());
+        for (Master master : masters) {
+            Long id = ids.get(master.getDiscogsId());
+            if (id != null) {
+                master.setId(id);
+                written.add(master);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Inserts or updates releases of an artist, including their formats, labels, genres and styles.
+     *
+     * @param artistId the id of the artist.
+     * @param releases the releases to write, with their Discogs ID set.
+     * @return the releases inserted or updated, with their ids set; releases whose stored content was already
+     * the same, for instance because a concurrent ingest stored them first, are not written or returned.
+     */
+    public List<Release> upsertReleases(Long artistId, List<Release> releases) {
+        List<Object[]> rows = new ArrayList<>(releases.size());
+        for (Release release : releases) {
+            rows.add(new Object[]{artistId, release.getDiscogsId(), release.getTitle(), release.getCountry(),
+                    release.getYear(), array(release.getFormat()), array(release.getLabel()), array(release.getGenre()),
+                    array(release.getStyle()), release.getThumb(), release.getCoverImage(), release.getResourceUrl(),
+                    release.getMaster_id()});
+        }
+        Map<Long, Long> ids = upsert(UPSERT_RELEASE, rows);
+        List<Release> written = new ArrayList<>(ids.size());
+        for (Release release : releases) {
+            Long id = ids.get(release.getDiscogsId());
+            if (id != null) {
+                release.setId(id);
+                written.add(release);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Runs an upsert as one batch and returns the ids of the rows it wrote by Discogs ID.
+     */
+    private Map<Long, Long> upsert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, RETURNED_COLUMNS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Object[] row = rows.get(i);
+                        for (int column = 0; column < row.length; column++) {
+                            StatementCreatorUtils.setParameterValue(statement, column + 1, SqlTypeValue.TYPE_UNKNOWN,
+                                    row[column]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        Map<Long, Long> ids = new HashMap<>(keys.getKeyList().size() * 2);
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.put(((Number) key.get("discogs_id")).longValue(), ((Number) key.get("id")).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Converts a list of values to the array bound to a text[] column.
+     */
+    private static String[] array(List<String> values) {
+        return values == null ? new String[0] : values.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,66 @@
+package com.discogs.client.repository;
+
+import com.discogs.client.model.IngestJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing IngestJob entities.
+ * Extends JpaRepository to provide CRUD operations.
+ */
+@Repository
+public interface IngestJobRepository extends JpaRepository<IngestJob, UUID> {
+
+    /**
+     * Finds a job for an artist in one of the given states.
+     *
+     * @param artistKey the normalized artist name.
+     * @param refresh whether the job refreshes a stored artist.
+     * @param statuses the states to look for.
+     * @return an Optional containing the job if found, or empty if not found.
+     */
+    Optional<IngestJob> findFirstByArtistKeyAndRefreshAndStatusIn(String artistKey, boolean refresh,
+                                                                  Collection<IngestJob.Status> statuses);
+
+    /**
+     * Locks the pending jobs that are due, oldest first, skipping jobs locked by other workers.
+     * Must be called in a transaction; the rows stay locked until it ends.
+     *
+     * @param now the current time.
+     * @param limit the maximum number of jobs to lock.
+     * @return the locked jobs.
+     */
+    @Query(value = "select * from ingest_jobs where status = 'PENDING' and next_attempt_at <= :now "
+            + "order by next_attempt_at limit :limit for update skip locked", nativeQuery = true)
+    List<IngestJob> findDueForUpdate(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Finds the jobs in a state whose lease started before a given time.
+     *
+     * @param status the state of the jobs.
+     * @param lockedAt the time the lease must have started before.
+     * @return the jobs found.
+     */
+    List<IngestJob> findByStatusAndLockedAtBefore(IngestJob.Status status, Instant lockedAt);
+
+    /**
+     * Deletes the jobs in the given states that were last updated before a given time.
+     *
+     * @param statuses the states of the jobs to delete.
+     * @param updatedAt the time the jobs must have been last updated before.
+     * @return the number of jobs deleted.
+     */
+    @Modifying
+    @Query("delete from IngestJob j where j.status in :statuses and j.updatedAt < :updatedAt")
+    int deleteByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<IngestJob.Status> statuses,
+                                           @Param("updatedAt") Instant updatedAt);
+}
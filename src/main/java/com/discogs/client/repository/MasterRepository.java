@@ -1,9 +1,15 @@
 package com.discogs.client.repository;
 
 import com.discogs.client.model.Master;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,6 +27,33 @@ public interface MasterRepository extends JpaRepository<Master, Long> {
      */
     Optional<Master> findByTitle(String title);
 
+    /**
+     * Finds the masters of an artist with the given Discogs IDs.
+     *
+     * @param artistId the id of the artist.
+     * @param discogsIds the Discogs IDs to look for.
+     * @return the masters found.
+     */
+    List<Master> findByArtistIdAndDiscogsIdIn(Long artistId, Collection<Long> discogsIds);
+
+    /**
+     * Finds the Discogs IDs of every master of an artist.
+     *
+     * @param artistId the id of the artist.
+     * @return the Discogs IDs of the artist's masters.
+     */
+    @Query("select m.discogsId from Master m where m.artist.id = :artistId")
+    List<Long> findDiscogsIdsByArtistId(@Param("artistId") Long artistId);
+
+    /**
+     * Finds the next page of masters in id order.
+     *
+     * @param id the id to start after.
+     * @param limit the maximum number of masters to return.
+     * @return the masters with a greater id, in ascending id order.
+     */
+    List<Master> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     /**
      * Checks if a master exists by its title.
      *
@@ -35,4 +68,14 @@ public interface MasterRepository extends JpaRepository<Master, Long> {
      * @param title the title of the master to delete.
      */
     void deleteByTitle(String title);
-}
\ No newline at end of file
+
+    /**
+     * Deletes every master of an artist in one statement, without loading them.
+     *
+     * @param artistId the id of the artist.
+     * @return the number of masters deleted.
+     */
+    @Modifying
+    @Query("delete from Master m where m.artist.id = :artistId")
+    int deleteByArtistIdInBulk(@Param("artistId") Long artistId);
+}
@@ -1,9 +1,15 @@
 package com.discogs.client.repository;
 
 import com.discogs.client.model.Release;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,6 +27,33 @@ public interface ReleaseRepository extends JpaRepository<Release, Long> {
      */
     Optional<Release> findByTitle(String title);
 
+    /**
+     * Finds the releases of an artist with the given Discogs IDs.
+     *
+     * @param artistId the id of the artist.
+     * @param discogsIds the Discogs IDs to look for.
+     * @return the releases found.
+     */
+    List<Release> findByArtistIdAndDiscogsIdIn(Long artistId, Collection<Long> discogsIds);
+
+    /**
+     * Finds the Discogs IDs of every release of an artist.
+     *
+     * @param artistId the id of the artist.
+     * @return the Discogs IDs of the artist's releases.
+     */
+    @Query("select r.discogsId from Release r where r.artist.id = :artistId")
+    List<Long> findDiscogsIdsByArtistId(@Param("artistId") Long artistId);
+
+    /**
+     * Finds the next page of releases in id order.
+     *
+     * @param id the id to start after.
+     * @param limit the maximum number of releases to return.
+     * @return the releases with a greater id, in ascending id order.
+     */
+    List<Release> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     /**
      * Checks if a release exists by its title.
      *
@@ -35,4 +68,51 @@ public interface ReleaseRepository extends JpaRepository<Release, Long> {
      * @param title the title of the release to delete.
      */
     void deleteByTitle(String title);
-}
\ No newline at end of file
+
+    /**
+     * Finds the ids of the artists that have a release with the given title.
+     *
+     * @param title the title of the release.
+     * @return the ids of the artists.
+     */
+    @Query("select distinct r.artist.id from Release r where r.title = :title")
+    List<Long> findArtistIdsByTitle(@Param("title") String title);
+
+    /**
+     * Finds the year, genres, styles and labels of every release of an artist, one row per release.
+     *
+     * @param artistId the id of the artist.
+     * @return rows of year, list of genres, list of styles and list of labels.
+     */
+    @Query("select r.year, r.genre, r.style, r.label from Release r where r.artist.id = :artistId")
+    List<Object[]> findStatsRowsByArtistId(@Param("artistId") Long artistId);
+
+    /**
+     * Finds the id, artist id, genres and styles of the next page of releases in id order.
+     *
+     * @param id the id to start after.
+     * @param limit the maximum number of releases to return.
+     * @return rows of id, artist id, list of genres and list of styles, in ascending id order.
+     */
+    @Query("select r.id, r.artist.id, r.genre, r.style from Release r where r.id > :id order by r.id")
+    List<Object[]> findTagRowsAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Finds the id, genres and styles of every release of an artist, one row per release.
+     *
+     * @param artistId the id of the artist.
+     * @return rows of id, list of genres and list of styles.
+     */
+    @Query("select r.id, r.genre, r.style from Release r where r.artist.id = :artistId")
+    List<Object[]> findTagRowsByArtistId(@Param("artistId") Long artistId);
+
+    /**
+     * Deletes every release of an artist in one statement, without loading them.
+     *
+     * @param artistId the id of the artist.
+     * @return the number of releases deleted.
+     */
+    @Modifying
+    @Query("delete from Release r where r.artist.id = :artistId")
+    int deleteByArtistIdInBulk(@Param("artistId") Long artistId);
+}
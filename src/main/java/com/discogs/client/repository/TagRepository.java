@@ -0,0 +1,38 @@
+package com.discogs.client.repository;
+
+import com.discogs.client.model.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing Tag entities.
+ * Extends JpaRepository to provide CRUD operations.
+ */
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Integer> {
+
+    /**
+     * Finds a tag by its kind and name.
+     *
+     * @param kind whether the tag is a genre or a style.
+     * @param name the name of the tag.
+     * @return an Optional containing the tag if found, or empty if not found.
+     */
+    Optional<Tag> findByKindAndName(Tag.Kind kind, String name);
+
+    /**
+     * Saves a tag and flushes it in a transaction of its own, so a tag added while ingesting stays in the
+     * dictionary even if the ingest rolls back, and a tag added concurrently by another ingest fails here
+     * without affecting the caller's transaction.
+     *
+     * @param tag the tag to save.
+     * @return the saved tag.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    <S extends Tag> S saveAndFlush(S tag);
+}
@@ -0,0 +1,56 @@
+package com.discogs.client.service;
+
+import com.discogs.client.repository.ArtistRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often each stored artist is read, so the most queried artists are refreshed first.
+ * Reads are counted in memory and added to the stored counts periodically, so serving an artist does not
+ * write to its row; counts not yet flushed are lost if the instance stops.
+ */
+@Component
+public class ArtistQueryCounter {
+
+    private final ArtistRepository artistRepository;
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new ArtistQueryCounter with the specified dependencies.
+     *
+     * @param artistRepository the artist repository.
+     */
+    @Autowired
+    public ArtistQueryCounter(ArtistRepository artistRepository) {
+        this.artistRepository = artistRepository;
+    }
+
+    /**
+     * Counts one read of an artist.
+     *
+     * @param artistId the id of the stored artist.
+     */
+    public void record(Long artistId) {
+        pending.computeIfAbsent(artistId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Adds the reads counted since the last flush to the stored counts.
+     */
+    @Scheduled(fixedDelayString = "${discogs.refresh.query-count-flush-interval:PT1M}")
+    @Transactional
+    public void flush() {
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                artistRepository.incrementQueryCount(entry.getKey(), count);
+            }
+        }
+    }
+}
@@ -1,14 +1,32 @@
 package com.discogs.client.service;
 
+import com.discogs.client.dto.internal.AliasDTO;
+import com.discogs.client.dto.internal.ArtistDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
 import com.discogs.client.dto.response.ArtistComparisonResponse;
+import com.discogs.client.dto.response.ArtistSimilarityResponse;
+import com.discogs.client.dto.response.ArtistView;
+import com.discogs.client.dto.response.KeysetPage;
+import com.discogs.client.exception.InvalidInputException;
 import com.discogs.client.model.Artist;
+import com.discogs.client.model.Release;
+import com.discogs.client.model.Tag;
 import com.discogs.client.repository.ArtistRepository;
+import com.discogs.client.repository.ArtistSummary;
+import com.discogs.client.repository.ReleaseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.validation.constraints.NotEmpty;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing artist-related operations.
@@ -16,61 +34,150 @@ import java.util.Optional;
 @Service
 public class ArtistService {
 
-    private final SearchService searchService;
     private final ComparisonService comparisonService;
     private final ArtistRepository artistRepository;
+    private final ArtistStatsService artistStatsService;
+    private final MasterService masterService;
+    private final ReleaseService releaseService;
+    private final ArtistQueryCounter artistQueryCounter;
+    private final ReleaseRepository releaseRepository;
+    private final TagIndex tagIndex;
 
     /**
      * Constructs a new ArtistService with the specified dependencies.
      *
-     * @param searchService the search service.
      * @param comparisonService the comparison service.
      * @param artistRepository the artist repository.
+     * @param artistStatsService the service maintaining the artist statistics.
+     * @param masterService the service mapping masters to DTOs.
+     * @param releaseService the service mapping releases to DTOs.
+     * @param artistQueryCounter the counter of artist reads.
+     * @param releaseRepository the release repository.
+     * @param tagIndex the index of releases by genre and style.
      */
     @Autowired
-    public ArtistService(SearchService searchService, ComparisonService comparisonService, ArtistRepository artistRepository) {
-        this.searchService = searchService;
+    public ArtistService(ComparisonService comparisonService, ArtistRepository artistRepository,
+                         ArtistStatsService artistStatsService, MasterService masterService,
+                         ReleaseService releaseService, ArtistQueryCounter artistQueryCounter,
+                         ReleaseRepository releaseRepository, TagIndex tagIndex) {
         this.comparisonService = comparisonService;
         this.artistRepository = artistRepository;
+        this.artistStatsService = artistStatsService;
+        this.masterService = masterService;
+        this.releaseService = releaseService;
+        this.artistQueryCounter = artistQueryCounter;
+        this.releaseRepository = releaseRepository;
+        this.tagIndex = tagIndex;
     }
 
     /**
-     * Searches for an artist by name and saves the artist information in the database.
+     * Compares multiple artists based on their names. Long lists are compared in parallel on the comparison
+     * executor, so the returned future may still be running.
      *
-     * @param artistName the name of the artist to search for.
-     * @throws IllegalArgumentException if the artist name is empty or null.
+     * @param artistNames a list of artist names to compare.
+     * @return a future of the ArtistComparisonDTO objects containing the comparison results, in the order the names are given.
      */
-    public void searchArtist(@NotEmpty(message = "The artist name cannot be empty.") String artistName) {
-        searchService.searchAndSaveArtist(artistName);
+    public CompletableFuture<List<ArtistComparisonResponse>> compareArtists(@NotEmpty(message = "The list of artist names cannot be empty.") List<String> artistNames) {
+        return comparisonService.compareArtistsAsync(artistNames);
     }
 
     /**
-     * Compares multiple artists based on their names.
+     * Compares every pair of multiple artists by the estimated similarity of their genres, styles and labels.
      *
      * @param artistNames a list of artist names to compare.
-     * @return a list of ArtistComparisonDTO objects containing the comparison results.
+     * @return the similarity of each pair of artists.
      */
-    public List<ArtistComparisonResponse> compareArtists(@NotEmpty(message = "The list of artist names cannot be empty.") List<String> artistNames) {
-        return comparisonService.compareArtists(artistNames);
+    public List<ArtistSimilarityResponse> compareArtistSimilarity(@NotEmpty(message = "The list of artist names cannot be empty.") List<String> artistNames) {
+        return comparisonService.compareSimilarity(artistNames);
     }
 
     /**
-     * Retrieves all artists from the database.
+     * Finds the stored artists most similar to an artist by their genres, styles and labels.
      *
-     * @return a list of all artists.
+     * @param name the name of the artist.
+     * @param limit the maximum number of artists to return.
+     * @return the most similar artists, most similar first.
      */
-    public List<Artist> getAllArtists() {
-        return artistRepository.findAll();
+    public List<ArtistSimilarityResponse> getSimilarArtists(String name, int limit) {
+        return comparisonService.findSimilarArtists(name, limit);
+    }
+
+    /**
+     * Retrieves one page of artists, in id order.
+     * The summary view reads only the artist columns in one query. The full view loads the collections
+     * of the page in batches of {@code hibernate.default_batch_fetch_size}, so the number of queries
+     * does not grow with every artist.
+     *
+     * @param view the shape of the returned artists.
+     * @param after the id to start after, or null to start at the beginning.
+     * @param limit the maximum number of artists to return.
+     * @return the page of artists as ArtistDTO, with the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ArtistDTO> getArtists(ArtistView view, Long after, int limit) {
+        int pageSize = KeysetPage.checkLimit(limit);
+        long start = KeysetPage.startAfter(after);
+        if (view == ArtistView.SUMMARY) {
+            return KeysetPage.of(artistRepository.findByIdGreaterThanOrderByIdAsc(start, Limit.of(pageSize), ArtistSummary.class),
+                    pageSize, ArtistSummary::getId, this::convertToDTO);
+        }
+        return KeysetPage.of(artistRepository.findByIdGreaterThanOrderByIdAsc(start, Limit.of(pageSize), Artist.class),
+                pageSize, Artist::getId, this::convertToDTO);
     }
 
     /**
      * Retrieves an artist by its name.
      *
      * @param name the name of the artist.
-     * @return an Optional containing the artist if found, or empty if not found.
+     * @return an Optional containing the artist with its aliases, masters and releases if found, or empty if not found.
      */
-    public Optional<Artist> getArtistByName(String name) {
-        return artistRepository.findByName(name);
+    @Transactional(readOnly = true)
+    public Optional<ArtistDTO> getArtistByName(String name) {
+        Optional<Artist> artist = artistRepository.findByName(name);
+        artist.ifPresent(found -> artistQueryCounter.record(found.getId()));
+        return artist.map(this::convertToDTO);
+    }
+
+    /**
+     * Retrieves the releases of an artist with a given genre, style, or both, looked up in the tag index.
+     *
+     * @param name the name of the artist.
+     * @param genre the genre the releases must have, or null for any genre.
+     * @param style the style the releases must have, or null for any style.
+     * @return an Optional containing the matching releases in id order if the artist is found, or empty if not found.
+     * @throws InvalidInputException if neither a genre nor a style is given.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<ReleaseDTO>> getArtistReleasesByTag(String name, String genre, String style) {
+        if (isBlank(genre) && isBlank(style)) {
+            throw new InvalidInputException("A genre or a style is required.");
+        }
+        return artistRepository.findByName(name).map(artist -> {
+            long[] ids = tagIndex.findReleaseIds(artist.getId(), isBlank(genre) ? null : genre, isBlank(style) ? null : style);
+            return releaseRepository.findAllById(Arrays.stream(ids).boxed().toList()).stream()
+                    .sorted(Comparator.comparing(Release::getId))
+                    .map(releaseService::convertToDTO)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Retrieves one page of the artists with at least one release of a genre, in id order, looked up in the
+     * tag index.
+     *
+     * @param genre the genre.
+     * @param after the id to start after, or null to start at the beginning.
+     * @param limit the maximum number of artists to return.
+     * @return the page of artists as ArtistDTO without collections, with the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ArtistDTO> getArtistsByGenre(String genre, Long after, int limit) {
+        int pageSize = KeysetPage.checkLimit(limit);
+        List<Long> ids = tagIndex.findArtistIds(Tag.Kind.GENRE, genre, KeysetPage.startAfter(after), pageSize);
+        List<ArtistDTO> artists = artistRepository.findByIdInOrderByIdAsc(ids, ArtistSummary.class).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new KeysetPage<>(artists, ids.size() >= pageSize ? ids.get(ids.size() - 1) : null);
     }
 
     /**
@@ -79,10 +186,62 @@ public class ArtistService {
      * @param name the name of the artist to delete.
      * @throws IllegalArgumentException if the artist with the specified name does not exist.
      */
+    @Transactional
     public void deleteArtist(String name) {
-        if (!artistRepository.existsByName(name)) {
-            throw new IllegalArgumentException("Artist with name " + name + " does not exist.");
-        }
-        artistRepository.deleteByName(name);
+        Artist artist = artistRepository.findByName(name)
+                .orElseThrow(() -> new IllegalArgumentException("Artist with name " + name + " does not exist."));
+        artistStatsService.delete(artist.getId());
+        artistRepository.delete(artist);
+        tagIndex.removeArtist(artist.getId());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Converts an artist summary to an ArtistDTO without collections.
+     *
+     * @param artist the artist summary.
+     * @return the artist DTO.
+     */
+    private ArtistDTO convertToDTO(ArtistSummary artist) {
+        return ArtistDTO.builder()
+                .id(artist.getDiscogsId())
+                .name(artist.getName())
+                .realname(artist.getRealname())
+                .profile(artist.getProfile())
+                .resource_url(artist.getResourceUrl())
+                .uri(artist.getUri())
+                .releases_url(artist.getReleasesUrl())
+                .build();
+    }
+
+    /**
+     * Converts an Artist entity to an ArtistDTO with its aliases, masters and releases.
+     *
+     * @param artist the artist entity.
+     * @return the artist DTO.
+     */
+    private ArtistDTO convertToDTO(Artist artist) {
+        return ArtistDTO.builder()
+                .id(artist.getDiscogsId())
+                .name(artist.getName())
+                .realname(artist.getRealname())
+                .profile(artist.getProfile())
+                .resource_url(artist.getResourceUrl())
+                .uri(artist.getUri())
+                .releases_url(artist.getReleasesUrl())
+                .namevariations(new ArrayList<>(Optional.ofNullable(artist.getNameVariations()).orElse(List.of())))
+                .aliases(Optional.ofNullable(artist.getAliases()).orElse(List.of()).stream()
+                        .map(alias -> new AliasDTO(alias.getDiscogsId(), alias.getName(), alias.getResourceUrl(), artist.getId()))
+                        .collect(Collectors.toList()))
+                .masters(Optional.ofNullable(artist.getMasters()).orElse(List.of()).stream()
+                        .map(masterService::convertToDTO)
+                        .collect(Collectors.toList()))
+                .releases(Optional.ofNullable(artist.getReleases()).orElse(List.of()).stream()
+                        .map(releaseService::convertToDTO)
+                        .collect(Collectors.toList()))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.repository.ArtistStatsRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory locality-sensitive hashing index of the artists' MinHash signatures, so the artists most similar to
+ * one artist are found among the few sharing a band key with it instead of by comparing every stored artist.
+ *
+ * <p>Each artist is indexed under the {@link MinHash#bandKeys(int[]) band keys} of the union of its genre, style
+ * and label signatures. The index is built from the stored statistics once the application is ready and kept up
+ * to date by ArtistStatsService. Like the tag index, changes are applied once the reporting transaction commits,
+ * and the index is rebuilt on a schedule, without blocking the requests reading it, to pick up the statistics
+ * other instances stored. Statistics stored before the signatures existed are left out of a build; a background
+ * task computes their signatures after startup and adds them to the index one artist at a time.
+ */
+@Component
+public class ArtistSimilarityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtistSimilarityIndex.class);
+
+    static final int PAGE_SIZE = 500;
+
+    private final ArtistStatsRepository artistStatsRepository;
+    private final ReleaseRepository releaseRepository;
+    private final IndexUpdates updates = new IndexUpdates();
+    private Buckets buckets = new Buckets();
+    private volatile boolean backfilled;
+
+    /**
+     * Constructs a new ArtistSimilarityIndex with the specified dependencies.
+     *
+     * @param artistStatsRepository the artist statistics repository.
+     * @param releaseRepository the release repository.
+     */
+    @Autowired
+    public ArtistSimilarityIndex(ArtistStatsRepository artistStatsRepository, ReleaseRepository releaseRepository) {
+        this.artistStatsRepository = artistStatsRepository;
+        this.releaseRepository = releaseRepository;
+    }
+
+    /**
+     * Builds the index from the stored statistics, reading them in pages in artist id order, and replaces the
+     * current one with it. Statistics without signatures are skipped until they are backfilled.
+     * Changes reported while the index is being built are applied to the new index once it is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${discogs.similarity-index.rebuild-interval:PT15M}",
+            initialDelayString = "${discogs.similarity-index.rebuild-interval:PT15M}")
+    public void build() {
+        updates.rebuild(this::read, read -> buckets = read);
+    }
+
+    private Buckets read() {
+        long start = System.nanoTime();
+        Buckets read = new Buckets();
+        int artists = 0;
+        int unsigned = 0;
+        List<ArtistStats> page;
+        long after = 0;
+        do {
+            page = artistStatsRepository.findByArtistIdGreaterThanOrderByArtistIdAsc(after, Limit.of(PAGE_SIZE));
+            for (ArtistStats stats : page) {
+                after = stats.getArtistId();
+                if (hasSignatures(stats)) {
+                    read.index(after, signature(stats));
+                } else {
+                    unsigned++;
+                }
+            }
+            artists += page.size();
+        } while (page.size() == PAGE_SIZE);
+        log.info("Indexed the similarity signatures of {} artists, {} of them waiting for their signatures, in {} ms",
+                artists, unsigned, (System.nanoTime() - start) / 1_000_000);
+        return read;
+    }
+
+    /**
+     * Computes the signatures of statistics stored before they existed from the artists' releases, stores them
+     * and adds the artists to the index, a page at a time. Once no such statistics are left, later runs return
+     * right away: statistics stored since the signatures exist always have them.
+     */
+    @Scheduled(fixedDelayString = "${discogs.similarity-index.backfill-interval:PT1M}",
+            initialDelayString = "${discogs.similarity-index.backfill-delay:PT30S}")
+    public void backfillSignatures() {
+        if (backfilled) {
+            return;
+        }
+        int computed = 0;
+        List<ArtistStats> page;
+        do {
+            page = artistStatsRepository.findWithoutSignatures(Limit.of(PAGE_SIZE));
+            for (ArtistStats stats : page) {
+                ReleaseStatsAccumulator accumulator = new ReleaseStatsAccumulator();
+                releaseRepository.findStatsRowsByArtistId(stats.getArtistId()).forEach(accumulator::addRow);
+                put(artistStatsRepository.save(accumulator.applyTo(stats)));
+            }
+            computed += page.size();
+        } while (page.size() == PAGE_SIZE);
+        if (computed > 0) {
+            log.info("Computed the similarity signatures of {} artists", computed);
+        }
+        backfilled = true;
+    }
+
+    /**
+     * Indexes an artist under the signature of its statistics, replacing its previous entry.
+     *
+     * @param stats the stored statistics of the artist.
+     */
+    public void put(ArtistStats stats) {
+        Long artistId = stats.getArtistId();
+        int[] signature = signature(stats);
+        updates.afterCommit(() -> buckets.index(artistId, signature));
+    }
+
+    /**
+     * Removes a deleted artist from the index.
+     *
+     * @param artistId the id of the artist.
+     */
+    public void remove(Long artistId) {
+        updates.afterCommit(() -> buckets.unindex(artistId));
+    }
+
+    /**
+     * Finds the artists sharing at least one band key with a signature, the candidates for being similar to it.
+     *
+     * @param signature the combined signature, as returned by {@link #signature(ArtistStats)}.
+     * @return the ids of the candidate artists.
+     */
+    public Set<Long> findCandidates(int[] signature) {
+        Set<Long> candidates = new HashSet<>();
+        updates.readLock().lock();
+        try {
+            for (long key : MinHash.bandKeys(signature)) {
+                candidates.addAll(buckets.artistsByBandKey.getOrDefault(key, Set.of()));
+            }
+        } finally {
+            updates.readLock().unlock();
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the signature of the union of an artist's genres, styles and labels.
+     *
+     * @param stats the statistics of the artist, with their signatures computed.
+     * @return the combined signature.
+     */
+    public static int[] signature(ArtistStats stats) {
+        return MinHash.union(stats.getGenreSignature(), stats.getStyleSignature(), stats.getLabelSignature());
+    }
+
+    /**
+     * Returns whether the signatures of an artist's statistics have been computed.
+     *
+     * @param stats the statistics of the artist.
+     * @return true if the statistics have all three signatures.
+     */
+    public static boolean hasSignatures(ArtistStats stats) {
+        return stats.getGenreSignature() != null && stats.getStyleSignature() != null && stats.getLabelSignature() != null;
+    }
+
+    /**
+     * The band key buckets of the index, replaced as a whole when the index is rebuilt.
+     */
+    private static final class Buckets {
+
+        private final Map<Long, Set<Long>> artistsByBandKey = new HashMap<>();
+        private final Map<Long, long[]> bandKeysByArtist = new HashMap<>();
+
+        private void index(Long artistId, int[] signature) {
+            unindex(artistId);
+            long[] keys = MinHash.bandKeys(signature);
+            if (keys.length == 0) {
+                return;
+            }
+            for (long key : keys) {
+                artistsByBandKey.computeIfAbsent(key, k -> new HashSet<>()).add(artistId);
+            }
+            bandKeysByArtist.put(artistId, keys);
+        }
+
+        private void unindex(Long artistId) {
+            long[] keys = bandKeysByArtist.remove(artistId);
+            if (keys == null) {
+                return;
+            }
+            for (long key : keys) {
+                Set<Long> artists = artistsByBandKey.get(key);
+                if (artists != null && artists.remove(artistId) && artists.isEmpty()) {
+                    artistsByBandKey.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.model.Release;
+import com.discogs.client.repository.ArtistStatsRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class that maintains the precomputed release statistics of each artist.
+ * Statistics are updated incrementally as releases are ingested and recomputed from the stored
+ * releases when releases are removed. Every change is also reported to the artist similarity index.
+ */
+@Service
+public class ArtistStatsService {
+
+    private final ArtistStatsRepository artistStatsRepository;
+    private final ReleaseRepository releaseRepository;
+    private final ArtistSimilarityIndex artistSimilarityIndex;
+
+    /**
+     * Constructs a new ArtistStatsService with the specified dependencies.
+     *
+     * @param artistStatsRepository the artist statistics repository.
+     * @param releaseRepository the release repository.
+     * @param artistSimilarityIndex the index of the artists' similarity signatures.
+     */
+    @Autowired
+    public ArtistStatsService(ArtistStatsRepository artistStatsRepository, ReleaseRepository releaseRepository,
+                              ArtistSimilarityIndex artistSimilarityIndex) {
+        this.artistStatsRepository = artistStatsRepository;
+        this.releaseRepository = releaseRepository;
+        this.artistSimilarityIndex = artistSimilarityIndex;
+    }
+
+    /**
+     * Retrieves the statistics of an artist.
+     *
+     * @param artistId the id of the artist.
+     * @return an Optional containing the statistics if they have been computed, or empty otherwise.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ArtistStats> findByArtistId(Long artistId) {
+        return artistStatsRepository.findById(artistId);
+    }
+
+    /**
+     * Creates empty statistics for a newly stored artist.
+     *
+     * @param artistId the id of the artist.
+     */
+    @Transactional
+    public void initialize(Long artistId) {
+        artistStatsRepository.save(emptyStats(artistId));
+    }
+
+    /**
+     * Retrieves the statistics of several artists.
+     *
+     * @param artistIds the ids of the artists.
+     * @return the statistics found, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    public List<ArtistStats> findAllByArtistId(Collection<Long> artistIds) {
+        return artistStatsRepository.findAllById(artistIds);
+    }
+
+    /**
+     * Adds newly stored releases to the statistics of their artist.
+     * Statistics stored before the similarity signatures existed are recomputed instead, since signatures
+     * cannot be extended without the values already counted.
+     *
+     * @param artistId the id of the artist.
+     * @param releases the releases that were stored.
+     */
+    @Transactional
+    public void recordReleases(Long artistId, List<Release> releases) {
+        ArtistStats stats = artistStatsRepository.findForUpdate(artistId).orElseGet(() -> emptyStats(artistId));
+        if (stats.getReleaseCount() > 0 && !ArtistSimilarityIndex.hasSignatures(stats)) {
+            recompute(artistId);
+            return;
+        }
+        ReleaseStatsAccumulator accumulator = new ReleaseStatsAccumulator().seed(stats);
+        for (Release release : releases) {
+            accumulator.add(release);
+        }
+        artistSimilarityIndex.put(artistStatsRepository.save(accumulator.applyTo(stats)));
+    }
+
+    /**
+     * Recomputes the statistics of an artist from its stored releases in a single pass.
+     *
+     * @param artistId the id of the artist.
+     * @return the recomputed statistics.
+     */
+    @Transactional
+    public ArtistStats recompute(Long artistId) {
+        ReleaseStatsAccumulator accumulator = new ReleaseStatsAccumulator();
+        for (Object[] row : releaseRepository.findStatsRowsByArtistId(artistId)) {
+            accumulator.addRow(row);
+        }
+        ArtistStats stats = artistStatsRepository.save(accumulator.applyTo(emptyStats(artistId)));
+        artistSimilarityIndex.put(stats);
+        return stats;
+    }
+
+    /**
+     * Deletes the statistics of an artist.
+     *
+     * @param artistId the id of the artist.
+     */
+    @Transactional
+    public void delete(Long artistId) {
+        if (artistStatsRepository.existsById(artistId)) {
+            artistStatsRepository.deleteById(artistId);
+        }
+        artistSimilarityIndex.remove(artistId);
+    }
+
+    private static ArtistStats emptyStats(Long artistId) {
+        return ArtistStats.builder().artistId(artistId).releaseCount(0)
+                .genreSignature(MinHash.empty()).styleSignature(MinHash.empty()).labelSignature(MinHash.empty())
+                .build();
+    }
+}
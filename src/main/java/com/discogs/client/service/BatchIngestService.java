@@ -0,0 +1,198 @@
+package com.discogs.client.service;
+
+import com.discogs.client.dto.response.BatchIngestResponse;
+import com.discogs.client.dto.response.BatchIngestResponse.Status;
+import com.discogs.client.exception.InvalidInputException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service class that ingests many artists in the background.
+ * Artists are searched on a dedicated pool, so at most {@code discogs.batch.concurrency} ingests run at
+ * once, and every Discogs call still goes through the shared rate limiter. A name that is already
+ * being ingested, by this or another batch, is attached to the running ingest instead of being
+ * fetched twice. Jobs are kept in memory for {@code discogs.batch.job-retention} after their last access.
+ */
+@Service
+public class BatchIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchIngestService.class);
+
+    private final SearchService searchService;
+    private final ExecutorService batchExecutor;
+    private final int maxNames;
+    private final Cache<String, BatchJob> jobs;
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new BatchIngestService with the specified dependencies.
+     *
+     * @param searchService the service that ingests a single artist.
+     * @param batchExecutor the executor the artists of every batch are ingested on.
+     * @param maxNames the maximum number of names accepted in one batch.
+     * @param jobRetention how long a job can be polled after it was last read or updated.
+     */
+    @Autowired
+    public BatchIngestService(SearchService searchService,
+                              @Qualifier("discogsBatchExecutor") ExecutorService batchExecutor,
+                              @Value("${discogs.batch.max-names:500}") int maxNames,
+                              @Value("${discogs.batch.job-retention:1h}") Duration jobRetention) {
+        this.searchService = searchService;
+        this.batchExecutor = batchExecutor;
+        this.maxNames = maxNames;
+        this.jobs = Caffeine.newBuilder().expireAfterAccess(jobRetention).build();
+    }
+
+    /**
+     * Starts ingesting a list of artists and returns immediately.
+     * Names are trimmed and duplicates, ignoring case, are ingested once.
+     *
+     * @param artistNames the names of the artists to ingest.
+     * @return the initial progress of the job, including its id.
+     * @throws InvalidInputException if the list is empty, too long or contains a blank name.
+     */
+    public BatchIngestResponse submit(List<String> artistNames) {
+        if (artistNames == null || artistNames.isEmpty()) {
+            throw new InvalidInputException("The list of artist names cannot be empty.");
+        }
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String artistName : artistNames) {
+            if (artistName == null || artistName.trim().isEmpty()) {
+                throw new InvalidInputException("The artist name cannot be empty.");
+            }
+            names.putIfAbsent(key(artistName), artistName.trim());
+        }
+        if (names.size() > maxNames) {
+            throw new InvalidInputException("A batch cannot contain more than " + maxNames + " artists.");
+        }
+
+        BatchJob job = new BatchJob(UUID.randomUUID().toString(), names.values());
+        jobs.put(job.id, job);
+        names.forEach((key, name) -> start(job, key, name));
+        return job.snapshot();
+    }
+
+    /**
+     * Retrieves the progress of a batch job.
+     *
+     * @param jobId the id returned when the job was submitted.
+     * @return an Optional containing the progress, or empty if the job is unknown or has expired.
+     */
+    public Optional<BatchIngestResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(BatchJob::snapshot);
+    }
+
+    /**
+     * Schedules the ingest of one artist of a job, or joins the ingest already running for that name.
+     */
+    private void start(BatchJob job, String key, String name) {
+        CompletableFuture<Void> ingest = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(key, ingest);
+        if (running == null) {
+            try {
+                batchExecutor.execute(() -> ingest(job, key, name, ingest));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, ingest);
+                ingest.completeExceptionally(new IllegalStateException("The ingest queue is full, try again later."));
+            }
+            running = ingest;
+        } else {
+            job.update(name, Status.RUNNING, null);
+        }
+        running.whenComplete((ignored, error) -> job.update(name,
+                error == null ? Status.COMPLETED : Status.FAILED, error == null ? null : rootMessage(error)));
+    }
+
+    private void ingest(BatchJob job, String key, String name, CompletableFuture<Void> ingest) {
+        job.update(name, Status.RUNNING, null);
+        try {
+            searchService.searchAndSaveArtist(name);
+            ingest.complete(null);
+        } catch (RuntimeException e) {
+            log.warn("Batch {} could not ingest artist {}", job.id, name, e);
+            ingest.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, ingest);
+        }
+    }
+
+    private static String key(String artistName) {
+        return artistName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getMessage() == null) {
+            cause = cause.getCause();
+        }
+        return Objects.toString(cause.getMessage(), cause.getClass().getSimpleName());
+    }
+
+    /**
+     * In-memory state of a batch job.
+     */
+    private static final class BatchJob {
+
+        private final String id;
+        private final Instant submittedAt = Instant.now();
+        private final Map<String, BatchIngestResponse.Item> items = new LinkedHashMap<>();
+        private Instant completedAt;
+
+        private BatchJob(String id, Collection<String> names) {
+            this.id = id;
+            for (String name : names) {
+                items.put(name, BatchIngestResponse.Item.builder().name(name).status(Status.PENDING).build());
+            }
+        }
+
+        private synchronized void update(String name, Status status, String error) {
+            BatchIngestResponse.Item item = items.get(name);
+            if (item.getStatus() == Status.COMPLETED || item.getStatus() == Status.FAILED) {
+                return;
+            }
+            item.setStatus(status);
+            item.setError(error);
+            if (completedAt == null && items.values().stream()
+                    .allMatch(i -> i.getStatus() == Status.COMPLETED || i.getStatus() == Status.FAILED)) {
+                completedAt = Instant.now();
+            }
+        }
+
+        private synchronized BatchIngestResponse snapshot() {
+            EnumMap<Status, Integer> counts = new EnumMap<>(Status.class);
+            List<BatchIngestResponse.Item> artists = new ArrayList<>(items.size());
+            for (BatchIngestResponse.Item item : items.values()) {
+                counts.merge(item.getStatus(), 1, Integer::sum);
+                artists.add(new BatchIngestResponse.Item(item.getName(), item.getStatus(), item.getError()));
+            }
+            return BatchIngestResponse.builder()
+                    .jobId(id)
+                    .status(completedAt != null ? Status.COMPLETED
+                            : counts.getOrDefault(Status.PENDING, 0) == items.size() ? Status.PENDING : Status.RUNNING)
+                    .submittedAt(submittedAt)
+                    .completedAt(completedAt)
+                    .total(items.size())
+                    .pending(counts.getOrDefault(Status.PENDING, 0))
+                    .running(counts.getOrDefault(Status.RUNNING, 0))
+                    .completed(counts.getOrDefault(Status.COMPLETED, 0))
+                    .failed(counts.getOrDefault(Status.FAILED, 0))
+                    .artists(artists)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.discogs.client.service;
+
+import com.discogs.client.dto.internal.AliasDTO;
+import com.discogs.client.dto.internal.ArtistDTO;
+import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.model.*;
+import com.discogs.client.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that maps Discogs data to entities and stores it.
+ * Each method runs in its own transaction so an artist's catalog can be persisted page by page.
+ * Artists are keyed by their Discogs ID and masters and releases by their artist and Discogs ID, so saving
+ * the same data again updates the stored rows instead of duplicating them. The genres and styles of a page are
+ * added to the tag dictionary before the page is saved, and saved releases to the tag index.
+ */
+@Service
+public class CatalogPersistenceService {
+
+    private final ArtistRepository artistRepository;
+    private final MasterRepository masterRepository;
+    private final ReleaseRepository releaseRepository;
+    private final ArtistStatsService artistStatsService;
+    private final TagDictionary tagDictionary;
+    private final TagIndex tagIndex;
+
+    /**
+     * Constructs a new CatalogPersistenceService with the specified dependencies.
+     *
+     * @param artistRepository the artist repository.
+     * @param masterRepository the master repository.
+     * @param releaseRepository the release repository.
+     * @param artistStatsService the service maintaining the artist statistics.
+     * @param tagDictionary the dictionary of genre and style ids.
+     * @param tagIndex the index of releases by genre and style.
+     */
+    @Autowired
+    public CatalogPersistenceService(ArtistRepository artistRepository, MasterRepository masterRepository,
+                                     ReleaseRepository releaseRepository, ArtistStatsService artistStatsService,
+                                     TagDictionary tagDictionary, TagIndex tagIndex) {
+        this.artistRepository = artistRepository;
+        this.masterRepository = masterRepository;
+        this.releaseRepository = releaseRepository;
+        this.artistStatsService = artistStatsService;
+        this.tagDictionary = tagDictionary;
+        this.tagIndex = tagIndex;
+    }
+
+    /**
+     * Saves an artist and its aliases, updating the stored artist with the same Discogs ID if there is one.
+     *
+     * @param discogsId the Discogs ID of the artist.
+     * @param artistDTO the artist details returned by Discogs.
+     * @return the id of the saved artist.
+     */
+    @Transactional
+    public Long saveArtist(Long discogsId, ArtistDTO artistDTO) {
+        Artist artist = artistRepository.findByDiscogsId(discogsId).orElseGet(Artist::new);
+        boolean created = artist.getId() == null;
+        artist.setDiscogsId(discogsId);
+        artist.setName(Optional.ofNullable(artistDTO.getName()).orElse(""));
+        artist.setRealname(Optional.ofNullable(artistDTO.getRealname()).orElse(""));
+        artist.setProfile(Optional.ofNullable(artistDTO.getProfile()).orElse(""));
+        artist.setResourceUrl(Optional.ofNullable(artistDTO.getResource_url()).orElse(""));
+        artist.setUri(Optional.ofNullable(artistDTO.getUri()).orElse(""));
+        artist.setReleasesUrl(Optional.ofNullable(artistDTO.getReleases_url()).orElse(""));
+        artist.setNameVariations(new ArrayList<>(Optional.ofNullable(artistDTO.getNamevariations()).orElse(new ArrayList<>())));
+
+        Map<Long, AliasDTO> aliasesDTO = byDiscogsId(Optional.ofNullable(artistDTO.getAliases()).orElse(new ArrayList<>()), AliasDTO::getId);
+        List<Alias> aliases = Optional.ofNullable(artist.getAliases()).orElseGet(ArrayList::new);
+        aliases.removeIf(alias -> !aliasesDTO.containsKey(alias.getDiscogsId()));
+        Map<Long, Alias> storedAliases = aliases.stream().collect(Collectors.toMap(Alias::getDiscogsId, alias -> alias, (a, b) -> a));
+        aliasesDTO.forEach((aliasId, aliasDTO) -> {
+            Alias alias = storedAliases.get(aliasId);
+            if (alias == null) {
+                aliases.add(new Alias(null, aliasId, aliasDTO.getName(), aliasDTO.getResource_url(), artist));
+            } else {
+                alias.setName(aliasDTO.getName());
+                alias.setResourceUrl(aliasDTO.getResource_url());
+            }
+        });
+        artist.setAliases(aliases);
+
+        Long artistId = artistRepository.save(artist).getId();
+        if (created) {
+            artistStatsService.initialize(artistId);
+        }
+        return artistId;
+    }
+
+    /**
+     * Adds the genres and styles of a page of masters to the tag dictionary.
+     * Called before the page is saved or refreshed, outside its transaction.
+     *
+     * @param mastersDTO the master releases returned by Discogs.
+     */
+    public void internMasterTags(List<MasterDTO> mastersDTO) {
+        for (MasterDTO masterDTO : mastersDTO) {
+            tagDictionary.internAll(Tag.Kind.GENRE, masterDTO.getGenre());
+            tagDictionary.internAll(Tag.Kind.STYLE, masterDTO.getStyle());
+        }
+    }
+
+    /**
+     * Adds the genres and styles of a page of releases to the tag dictionary.
+     * Called before the page is saved or refreshed, outside its transaction.
+     *
+     * @param releasesDTO the releases returned by Discogs.
+     */
+    public void internReleaseTags(List<ReleaseDTO> releasesDTO) {
+        for (ReleaseDTO releaseDTO : releasesDTO) {
+            tagDictionary.internAll(Tag.Kind.GENRE, releaseDTO.getGenre());
+            tagDictionary.internAll(Tag.Kind.STYLE, releaseDTO.getStyle());
+        }
+    }
+
+    /**
+     * Saves one page of master releases for an artist.
+     * Masters already stored for the artist under the same Discogs ID are updated instead of duplicated.
+     *
+     * @param artistId the id of the stored artist.
+     * @param mastersDTO the master releases returned by Discogs.
+     */
+    @Transactional
+    public void saveMasters(Long artistId, List<MasterDTO> mastersDTO) {
+        Artist artist = artistRepository.getReferenceById(artistId);
+        Map<Long, MasterDTO> pageById = byDiscogsId(mastersDTO, MasterDTO::getId);
+        Map<Long, Master> stored = masterRepository.findByArtistIdAndDiscogsIdIn(artistId, pageById.keySet()).stream()
+                .collect(Collectors.toMap(Master::getDiscogsId, master -> master));
+        List<Master> masters = new ArrayList<>(pageById.size());
+        pageById.forEach((discogsId, masterDTO) -> {
+            Master master = stored.get(discogsId);
+            if (master == null) {
+                masters.add(toMaster(masterDTO, artist));
+            } else {
+                copyInto(masterDTO, master);
+            }
+        });
+        masterRepository.saveAll(masters);
+    }
+
+    /**
+     * Saves one page of releases for an artist and adds them to the artist's statistics.
+     * Releases already stored for the artist under the same Discogs ID are updated instead of duplicated;
+     * if that changes a year, a genre, a style or a label, the statistics are recomputed.
+     *
+     * @param artistId the id of the stored artist.
+     * @param releasesDTO the releases returned by Discogs.
+     */
+    @Transactional
+    public void saveReleases(Long artistId, List<ReleaseDTO> releasesDTO) {
+        Artist artist = artistRepository.getReferenceById(artistId);
+        Map<Long, ReleaseDTO> pageById = byDiscogsId(releasesDTO, ReleaseDTO::getId);
+        Map<Long, Release> stored = releaseRepository.findByArtistIdAndDiscogsIdIn(artistId, pageById.keySet()).stream()
+                .collect(Collectors.toMap(Release::getDiscogsId, release -> release));
+        List<Release> releases = new ArrayList<>(pageById.size());
+        List<Release> updated = new ArrayList<>();
+        boolean statsChanged = false;
+        for (Map.Entry<Long, ReleaseDTO> entry : pageById.entrySet()) {
+            Release release = stored.get(entry.getKey());
+            if (release == null) {
+                releases.add(toRelease(entry.getValue(), artist));
+            } else {
+                String year = release.getYear();
+                List<String> genre = copy(release.getGenre());
+                List<String> style = copy(release.getStyle());
+                List<String> label = copy(release.getLabel());
+                copyInto(entry.getValue(), release);
+                updated.add(release);
+                statsChanged |= !Objects.equals(year, release.getYear()) || !genre.equals(release.getGenre())
+                        || !style.equals(release.getStyle()) || !label.equals(release.getLabel());
+            }
+        }
+        releaseRepository.saveAll(releases);
+        updated.addAll(releases);
+        tagIndex.indexReleases(artistId, updated);
+        if (statsChanged) {
+            artistStatsService.recompute(artistId);
+        } else if (!releases.isEmpty()) {
+            artistStatsService.recordReleases(artistId, releases);
+        }
+    }
+
+    /**
+     * Records that an artist's catalog was completely fetched from Discogs.
+     *
+     * @param artistId the id of the stored artist.
+     */
+    @Transactional
+    public void markFetched(Long artistId) {
+        artistRepository.updateLastFetchedAt(artistId, Instant.now());
+    }
+
+    /**
+     * Records that a refresh of an artist failed.
+     *
+     * @param artistId the id of the stored artist.
+     */
+    @Transactional
+    public void markRefreshFailed(Long artistId) {
+        artistRepository.updateRefreshFailedAt(artistId, Instant.now());
+    }
+
+    /**
+     * Deletes an artist together with everything stored for it.
+     * Everything is deleted with bulk statements by artist id rather than through the entity graph, so removing
+     * a large artist whose ingest failed part way does not load its whole catalog into memory.
+     *
+     * @param artistId the id of the stored artist.
+     */
+    @Transactional
+    public void deleteArtist(Long artistId) {
+        artistStatsService.delete(artistId);
+        releaseRepository.deleteByArtistIdInBulk(artistId);
+        masterRepository.deleteByArtistIdInBulk(artistId);
+        artistRepository.deleteAliasesInBulk(artistId);
+        artistRepository.deleteNameVariationsInBulk(artistId);
+        artistRepository.deleteInBulk(artistId);
+        tagIndex.removeArtist(artistId);
+    }
+
+    /**
+     * Maps a Discogs master release to a Master entity.
+     *
+     * @param masterDTO the master release returned by Discogs.
+     * @param artist the artist the master belongs to.
+     * @return the master entity.
+     */
+    public Master toMaster(MasterDTO masterDTO, Artist artist) {
+        Master master = new Master();
+        master.setArtist(artist);
+        copyInto(masterDTO, master);
+        return master;
+    }
+
+    /**
+     * Maps a Discogs release to a Release entity.
+     *
+     * @param releaseDTO the release returned by Discogs.
+     * @param artist the artist the release belongs to.
+     * @return the release entity.
+     */
+    public Release toRelease(ReleaseDTO releaseDTO, Artist artist) {
+        Release release = new Release();
+        release.setArtist(artist);
+        copyInto(releaseDTO, release);
+        return release;
+    }
+
+    private static void copyInto(MasterDTO masterDTO, Master master) {
+        master.setDiscogsId(Optional.ofNullable(masterDTO.getId()).orElse(0L));
+        master.setTitle(Optional.ofNullable(masterDTO.getTitle()).orElse(""));
+        master.setCountry(Optional.ofNullable(masterDTO.getCountry()).orElse(""));
+        master.setYear(Optional.ofNullable(masterDTO.getYear()).orElse(""));
+        master.setFormat(Optional.ofNullable(masterDTO.getFormat()).orElse(new ArrayList<>()));
+        master.setLabel(Optional.ofNullable(masterDTO.getLabel()).orElse(new ArrayList<>()));
+        master.setGenre(Optional.ofNullable(masterDTO.getGenre()).orElse(new ArrayList<>()));
+        master.setStyle(Optional.ofNullable(masterDTO.getStyle()).orElse(new ArrayList<>()));
+        master.setThumb(Optional.ofNullable(masterDTO.getThumb()).orElse(""));
+        master.setCoverImage(Optional.ofNullable(masterDTO.getCover_image()).orElse(""));
+        master.setResourceUrl(Optional.ofNullable(masterDTO.getResource_url()).orElse(""));
+    }
+
+    private static void copyInto(ReleaseDTO releaseDTO, Release release) {
+        release.setDiscogsId(Optional.ofNullable(releaseDTO.getId()).orElse(0L));
+        release.setTitle(Optional.ofNullable(releaseDTO.getTitle()).orElse(""));
+        release.setCountry(Optional.ofNullable(releaseDTO.getCountry()).orElse(""));
+        release.setYear(Optional.ofNullable(releaseDTO.getYear()).orElse(""));
+        release.setFormat(Optional.ofNullable(releaseDTO.getFormat()).orElse(new ArrayList<>()));
+        release.setLabel(Optional.ofNullable(releaseDTO.getLabel()).orElse(new ArrayList<>()));
+        release.setGenre(Optional.ofNullable(releaseDTO.getGenre()).orElse(new ArrayList<>()));
+        release.setStyle(Optional.ofNullable(releaseDTO.getStyle()).orElse(new ArrayList<>()));
+        release.setThumb(Optional.ofNullable(releaseDTO.getThumb()).orElse(""));
+        release.setMaster_id(Optional.ofNullable(releaseDTO.getMaster_id()).orElse(0L));
+        release.setCoverImage(Optional.ofNullable(releaseDTO.getCover_image()).orElse(""));
+        release.setResourceUrl(Optional.ofNullable(releaseDTO.getResource_url()).orElse(""));
+    }
+
+    private static List<String> copy(List<String> values) {
+        return new ArrayList<>(Optional.ofNullable(values).orElse(List.of()));
+    }
+
+    /**
+     * Indexes Discogs items by their ID, keeping the last occurrence of a repeated ID.
+     * Items without an ID cannot be matched to a stored row and are skipped.
+     */
+    static <T> Map<Long, T> byDiscogsId(List<T> items, Function<T, Long> id) {
+        Map<Long, T> byId = new LinkedHashMap<>(items.size() * 2);
+        for (T item : items) {
+            Long discogsId = id.apply(item);
+            if (discogsId != null) {
+                byId.put(discogsId, item);
+            }
+        }
+        return byId;
+    }
+}
@@ -0,0 +1,186 @@
+package com.discogs.client.service;
+
+import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.Master;
+import com.discogs.client.model.Release;
+import com.discogs.client.repository.ArtistRepository;
+import com.discogs.client.repository.CatalogUpsertRepository;
+import com.discogs.client.repository.MasterRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that refreshes the stored catalog of an artist from a new crawl.
+ * Each crawled page is compared with the stored rows by Discogs ID, and only the new and changed rows are
+ * written, with batched upserts. Rows that are no longer listed by Discogs are removed once the crawl completes.
+ */
+@Service
+public class CatalogRefreshService {
+
+    private final ArtistRepository artistRepository;
+    private final MasterRepository masterRepository;
+    private final ReleaseRepository releaseRepository;
+    private final CatalogUpsertRepository catalogUpsertRepository;
+    private final CatalogPersistenceService catalogPersistenceService;
+    private final TagIndex tagIndex;
+
+    /**
+     * Constructs a new CatalogRefreshService with the specified dependencies.
+     *
+     * @param artistRepository the artist repository.
+     * @param masterRepository the master repository.
+     * @param releaseRepository the release repository.
+     * @param catalogUpsertRepository the repository writing the changed rows.
+     * @param catalogPersistenceService the service that maps Discogs data to entities.
+     * @param tagIndex the index of releases by genre and style.
+     */
+    @Autowired
+    public CatalogRefreshService(ArtistRepository artistRepository, MasterRepository masterRepository,
+                                 ReleaseRepository releaseRepository, CatalogUpsertRepository catalogUpsertRepository,
+                                 CatalogPersistenceService catalogPersistenceService, TagIndex tagIndex) {
+        this.artistRepository = artistRepository;
+        this.masterRepository = masterRepository;
+        this.releaseRepository = releaseRepository;
+        this.catalogUpsertRepository = catalogUpsertRepository;
+        this.catalogPersistenceService = catalogPersistenceService;
+        this.tagIndex = tagIndex;
+    }
+
+    /**
+     * Refreshes the stored masters of an artist from one crawled page.
+     *
+     * @param artistId the id of the stored artist.
+     * @param mastersDTO the master releases returned by Discogs.
+     * @param seen collects the Discogs IDs of the page.
+     * @return the number of masters inserted or updated.
+     */
+    @Transactional
+    public int refreshMasters(Long artistId, List<MasterDTO> mastersDTO, Set<Long> seen) {
+        Artist artist = artistRepository.getReferenceById(artistId);
+        Map<Long, MasterDTO> pageById = CatalogPersistenceService.byDiscogsId(mastersDTO, MasterDTO::getId);
+        seen.addAll(pageById.keySet());
+        Map<Long, Master> stored = masterRepository.findByArtistIdAndDiscogsIdIn(artistId, pageById.keySet()).stream()
+                .collect(Collectors.toMap(Master::getDiscogsId, master -> master));
+        List<Master> changed = new ArrayList<>();
+        pageById.forEach((discogsId, masterDTO) -> {
+            Master master = catalogPersistenceService.toMaster(masterDTO, artist);
+            Master current = stored.get(discogsId);
+            if (current == null || !sameContent(current, master)) {
+                changed.add(master);
+            }
+        });
+        return catalogUpsertRepository.upsertMasters(artistId, changed).size();
+    }
+
+    /**
+     * Refreshes the stored releases of an artist from one crawled page.
+     * The artist's statistics are not updated; callers recompute them once the refresh completes.
+     *
+     * @param artistId the id of the stored artist.
+     * @param releasesDTO the releases returned by Discogs.
+     * @param seen collects the Discogs IDs of the page.
+     * @return the number of releases inserted or updated.
+     */
+    @Transactional
+    public int refreshReleases(Long artistId, List<ReleaseDTO> releasesDTO, Set<Long> seen) {
+        Artist artist = artistRepository.getReferenceById(artistId);
+        Map<Long, ReleaseDTO> pageById = CatalogPersistenceService.byDiscogsId(releasesDTO, ReleaseDTO::getId);
+        seen.addAll(pageById.keySet());
+        Map<Long, Release> stored = releaseRepository.findByArtistIdAndDiscogsIdIn(artistId, pageById.keySet()).stream()
+                .collect(Collectors.toMap(Release::getDiscogsId, release -> release));
+        List<Release> changed = new ArrayList<>();
+        pageById.forEach((discogsId, releaseDTO) -> {
+            Release release = catalogPersistenceService.toRelease(releaseDTO, artist);
+            Release current = stored.get(discogsId);
+            if (current == null || !sameContent(current, release)) {
+                changed.add(release);
+            }
+        });
+        List<Release> written = catalogUpsertRepository.upsertReleases(artistId, changed);
+        if (!written.isEmpty()) {
+            tagIndex.indexReleases(artistId, written);
+        }
+        return written.size();
+    }
+
+    /**
+     * Removes the masters of an artist that were not seen by a complete crawl.
+     *
+     * @param artistId the id of the stored artist.
+     * @param seen the Discogs IDs of every crawled master.
+     * @return the number of masters removed.
+     */
+    @Transactional
+    public int removeMastersNotIn(Long artistId, Set<Long> seen) {
+        List<Long> stale = masterRepository.findDiscogsIdsByArtistId(artistId).stream()
+                .filter(discogsId -> !seen.contains(discogsId))
+                .toList();
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        masterRepository.deleteAll(masterRepository.findByArtistIdAndDiscogsIdIn(artistId, stale));
+        return stale.size();
+    }
+
+    /**
+     * Removes the releases of an artist that were not seen by a complete crawl.
+     *
+     * @param artistId the id of the stored artist.
+     * @param seen the Discogs IDs of every crawled release.
+     * @return the number of releases removed.
+     */
+    @Transactional
+    public int removeReleasesNotIn(Long artistId, Set<Long> seen) {
+        List<Long> stale = releaseRepository.findDiscogsIdsByArtistId(artistId).stream()
+                .filter(discogsId -> !seen.contains(discogsId))
+                .toList();
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        List<Release> removed = releaseRepository.findByArtistIdAndDiscogsIdIn(artistId, stale);
+        releaseRepository.deleteAll(removed);
+        tagIndex.removeReleases(artistId, removed.stream().map(Release::getId).toList());
+        return stale.size();
+    }
+
+    private static boolean sameContent(Master stored, Master incoming) {
+        return Objects.equals(stored.getTitle(), incoming.getTitle())
+                && Objects.equals(stored.getCountry(), incoming.getCountry())
+                && Objects.equals(stored.getYear(), incoming.getYear())
+                && Objects.equals(stored.getThumb(), incoming.getThumb())
+                && Objects.equals(stored.getCoverImage(), incoming.getCoverImage())
+                && Objects.equals(stored.getResourceUrl(), incoming.getResourceUrl())
+                && sameValues(stored.getFormat(), incoming.getFormat())
+                && sameValues(stored.getLabel(), incoming.getLabel())
+                && sameValues(stored.getGenre(), incoming.getGenre())
+                && sameValues(stored.getStyle(), incoming.getStyle());
+    }
+
+    private static boolean sameContent(Release stored, Release incoming) {
+        return Objects.equals(stored.getTitle(), incoming.getTitle())
+                && Objects.equals(stored.getCountry(), incoming.getCountry())
+                && Objects.equals(stored.getYear(), incoming.getYear())
+                && Objects.equals(stored.getThumb(), incoming.getThumb())
+                && Objects.equals(stored.getCoverImage(), incoming.getCoverImage())
+                && Objects.equals(stored.getResourceUrl(), incoming.getResourceUrl())
+                && Objects.equals(stored.getMaster_id(), incoming.getMaster_id())
+                && sameValues(stored.getFormat(), incoming.getFormat())
+                && sameValues(stored.getLabel(), incoming.getLabel())
+                && sameValues(stored.getGenre(), incoming.getGenre())
+                && sameValues(stored.getStyle(), incoming.getStyle());
+    }
+
+    /**
+     * Compares stored array column values with incoming values, in order, treating null as no values.
+     */
+    private static boolean sameValues(List<String> stored, List<String> incoming) {
+        return Optional.ofNullable(stored).orElse(List.of()).equals(Optional.ofNullable(incoming).orElse(List.of()));
+    }
+}
@@ -1,14 +1,28 @@
 package com.discogs.client.service;
 
 import com.discogs.client.dto.response.ArtistComparisonResponse;
+import com.discogs.client.dto.response.ArtistSimilarityResponse;
+import com.discogs.client.dto.response.KeysetPage;
 import com.discogs.client.exception.ResourceNotFoundException;
 import com.discogs.client.model.Artist;
-import com.discogs.client.model.Release;
+import com.discogs.client.model.ArtistStats;
 import com.discogs.client.repository.ArtistRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -23,134 +37,306 @@ public class ComparisonService {
     @Autowired
     private SearchService searchService;
 
+    @Autowired
+    private ArtistStatsService artistStatsService;
+
+    @Autowired
+    private ArtistQueryCounter artistQueryCounter;
+
+    @Autowired
+    private ArtistSimilarityIndex artistSimilarityIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("discogsComparisonExecutor")
+    private ExecutorService comparisonExecutor;
+
+    @Value("${discogs.comparison.parallel-threshold:8}")
+    private int parallelThreshold;
+
+    @Value("${discogs.comparison.timeout:30s}")
+    private Duration comparisonTimeout;
+
     /**
      * Compares a list of artists by their names.
      *
      * @param artistNames the list of artist names to compare.
      * @return a list of ArtistComparisonResponse objects containing the comparison results.
-     * @throws ResourceNotFoundException if an artist is not found.
+     * @throws ResourceNotFoundException if any artist is not found, naming all the missing artists.
      */
     public List<ArtistComparisonResponse> compareArtists(List<String> artistNames) {
-        List<Artist> artists = new ArrayList<>();
-
-        for (String artistName : artistNames) {
-            Optional<Artist> optionalArtist = artistRepository.findByName(artistName);
-            Artist artist;
-            if (optionalArtist.isPresent()) {
-                artist = optionalArtist.get();
-            } else {
-                throw new ResourceNotFoundException("Artist not found: " + artistName);
+        try {
+            return compareArtistsAsync(artistNames).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            artists.add(artist);
+            throw e;
         }
-        return artists.stream().map(this::createArtistComparisonDTO).collect(Collectors.toList());
     }
 
     /**
-     * Creates an ArtistComparisonResponse object for a given artist.
+     * Compares a list of artists by their names without waiting for the comparison of each artist.
+     * The artists and their stored statistics are loaded on the calling thread. When at least
+     * {@code discogs.comparison.parallel-threshold} artists are compared, the comparison of each artist,
+     * including any recomputation of its statistics, then runs on the comparison executor; smaller lists are
+     * compared on the calling thread and an already completed future is returned.
      *
-     * @param artist the artist to create the comparison response for.
-     * @return the ArtistComparisonResponse object.
+     * <p>The result keeps the order of the names. If the comparison of an artist fails, the comparison does not
+     * complete within {@code discogs.comparison.timeout}, or the returned future is cancelled, the artists not
+     * yet compared are skipped. This includes the artists the calling thread compares itself when the executor
+     * is saturated: it stops submitting once the comparison is complete.
+     *
+     * @param artistNames the list of artist names to compare.
+     * @return a future of the comparison results, in the order the names are given, failing with a
+     * {@link TimeoutException} if the comparison does not complete in time.
+     * @throws ResourceNotFoundException if any artist is not found, naming all the missing artists.
      */
-    private ArtistComparisonResponse createArtistComparisonDTO(Artist artist) {
-        List<Release> releases = Optional.ofNullable(artist.getReleases()).orElse(Collections.emptyList());
-        int numberOfReleases = releases.size();
-        int activeYears = (numberOfReleases > 0) ? calculateActiveYears(releases) : 0;
-        String firstReleaseYear = findFirstReleaseYear(releases);
-        String lastReleaseYear = findLastReleaseYear(releases);
-        String mostCommonGenre = findMostCommonGenre(releases);
-        List<String> commonGenres = findCommonGenres(releases);
+    public CompletableFuture<List<ArtistComparisonResponse>> compareArtistsAsync(List<String> artistNames) {
+        DistributionSummary.builder("discogs.comparison.artists")
+                .description("Number of artists compared per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(artistNames.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<List<ArtistComparisonResponse>> comparison;
+        try {
+            comparison = compare(artistNames);
+        } catch (ResourceNotFoundException e) {
+            stop(sample, "not_found");
+            throw e;
+        } catch (RuntimeException e) {
+            stop(sample, "failure");
+            throw e;
+        }
+        comparison.whenComplete((responses, error) -> stop(sample, outcome(error)));
+        return comparison;
+    }
 
-        return ArtistComparisonResponse.builder()
-                .artistName(artist.getName())
-                .numberOfReleases(numberOfReleases)
-                .activeYears(activeYears)
-                .firstReleaseYear(firstReleaseYear)
-                .lastReleaseYear(lastReleaseYear)
-                .mostCommonGenre(mostCommonGenre)
-                .commonGenres(commonGenres)
-                .build();
+    /**
+     * Compares every pair of a list of artists by the similarity of their genres, styles and labels, estimated
+     * from the MinHash signatures stored with their statistics, so no release is read.
+     *
+     * @param artistNames the list of artist names to compare.
+     * @return the similarity of each pair of artists, in the order the names are given.
+     * @throws ResourceNotFoundException if any artist is not found, naming all the missing artists.
+     */
+    public List<ArtistSimilarityResponse> compareSimilarity(List<String> artistNames) {
+        List<Artist> artists = findArtists(artistNames);
+        Map<Long, ArtistStats> stored = findStoredStats(artists, true);
+        List<ArtistStats> stats = artists.stream().map(artist -> stats(artist.getId(), stored)).toList();
+        List<ArtistSimilarityResponse> similarities = new ArrayList<>();
+        for (int i = 0; i < artists.size(); i++) {
+            for (int j = i + 1; j < artists.size(); j++) {
+                similarities.add(similarity(artists.get(i).getName(), stats.get(i), artists.get(j).getName(), stats.get(j)));
+            }
+        }
+        return similarities;
     }
 
     /**
-     * Calculates the number of active years for a list of releases.
+     * Finds the stored artists most similar to an artist by their genres, styles and labels.
+     * Only the artists sharing a locality-sensitive hashing band with the artist are compared, so artists
+     * with a low similarity may be missed and fewer than {@code limit} artists may be returned.
      *
-     * @param releases the list of releases.
-     * @return the number of active years.
+     * @param artistName the name of the artist.
+     * @param limit the maximum number of artists to return.
+     * @return the most similar artists, most similar first.
+     * @throws ResourceNotFoundException if the artist is not found.
      */
-    private int calculateActiveYears(List<Release> releases) {
-        List<Integer> years = releases.stream()
-                .map(Release::getYear)
-                .filter(year -> !year.isEmpty())
-                .map(Integer::parseInt)
-                .distinct()
+    public List<ArtistSimilarityResponse> findSimilarArtists(String artistName, int limit) {
+        int size = KeysetPage.checkLimit(limit);
+        Artist artist = findArtists(List.of(artistName)).get(0);
+        ArtistStats stats = stats(artist.getId(), findStoredStats(List.of(artist), true));
+        Set<Long> candidates = artistSimilarityIndex.findCandidates(ArtistSimilarityIndex.signature(stats));
+        candidates.remove(artist.getId());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        int[] signature = ArtistSimilarityIndex.signature(stats);
+        List<ArtistStats> ranked = artistStatsService.findAllByArtistId(candidates).stream()
+                .filter(ArtistSimilarityIndex::hasSignatures)
+                .map(candidate -> Map.entry(candidate, MinHash.jaccard(signature, ArtistSimilarityIndex.signature(candidate))))
+                .sorted(Map.Entry.<ArtistStats, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> entry.getKey().getArtistId()))
+                .limit(size)
+                .map(Map.Entry::getKey)
                 .toList();
+        Map<Long, String> names = artistRepository.findAllById(ranked.stream().map(ArtistStats::getArtistId).toList())
+                .stream()
+                .collect(Collectors.toMap(Artist::getId, Artist::getName));
+        return ranked.stream()
+                .filter(candidate -> names.containsKey(candidate.getArtistId()))
+                .map(candidate -> similarity(artist.getName(), stats, names.get(candidate.getArtistId()), candidate))
+                .collect(Collectors.toList());
+    }
 
-        if (years.isEmpty()) {
-            return 0;
+    /**
+     * Loads the artists by name and builds their comparison responses.
+     *
+     * @param artistNames the list of artist names to compare.
+     * @return a future of the comparison results, in the order the names are given.
+     * @throws ResourceNotFoundException if any artist is not found, naming all the missing artists.
+     */
+    private CompletableFuture<List<ArtistComparisonResponse>> compare(List<String> artistNames) {
+        List<Artist> artists = findArtists(artistNames);
+        Map<Long, ArtistStats> stored = findStoredStats(artists, false);
+        if (artists.size() < parallelThreshold) {
+            return CompletableFuture.completedFuture(artists.stream()
+                    .map(artist -> createArtistComparisonDTO(artist, stats(artist.getId(), stored)))
+                    .collect(Collectors.toList()));
         }
 
-        return years.stream()
-                .max(Integer::compareTo)
-                .orElse(0) - years.stream()
-                .min(Integer::compareTo)
-                .orElse(0);
+        // The deadline starts before the tasks are submitted: a saturated executor runs them on this thread.
+        CompletableFuture<List<ArtistComparisonResponse>> comparison = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(comparisonTimeout.toMillis(), TimeUnit.MILLISECONDS, Runnable::run)
+                .execute(() -> comparison.completeExceptionally(new TimeoutException("The comparison of "
+                        + artists.size() + " artists did not complete within " + comparisonTimeout)));
+        Map<Long, CompletableFuture<ArtistComparisonResponse>> tasks = new LinkedHashMap<>();
+        for (Artist artist : artists) {
+            if (comparison.isDone()) {
+                break;
+            }
+            tasks.computeIfAbsent(artist.getId(), artistId -> CompletableFuture.supplyAsync(() -> {
+                if (comparison.isDone()) {
+                    throw new CancellationException("The comparison already failed, timed out or was cancelled");
+                }
+                return createArtistComparisonDTO(artist, stats(artistId, stored));
+            }, comparisonExecutor));
+        }
+        CompletableFuture.allOf(tasks.values().toArray(CompletableFuture[]::new)).thenRun(() -> comparison.complete(
+                artists.stream().map(artist -> tasks.get(artist.getId()).join()).collect(Collectors.toList())));
+        tasks.values().forEach(task -> task.exceptionally(error -> {
+            comparison.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            return null;
+        }));
+        comparison.whenComplete((responses, error) -> {
+            if (error != null) {
+                tasks.values().forEach(task -> task.cancel(false));
+            }
+        });
+        return comparison;
     }
 
     /**
-     * Finds the first release year from a list of releases.
+     * Loads the artists by name in a single query, counting the read of each.
+     * If several stored artists share a name, the one stored first is used.
      *
-     * @param releases the list of releases.
-     * @return the first release year.
+     * @param artistNames the list of artist names.
+     * @return the artists, in the order the names are given.
+     * @throws ResourceNotFoundException if any artist is not found, naming all the missing artists.
      */
-    private String findFirstReleaseYear(List<Release> releases) {
-        return releases.stream()
-                .map(Release::getYear)
-                .filter(year -> !year.isEmpty())
-                .min(String::compareTo)
-                .orElse("Unknown");
+    private List<Artist> findArtists(List<String> artistNames) {
+        Set<String> distinctNames = artistNames.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, Artist> artistsByName = new HashMap<>();
+        if (!distinctNames.isEmpty()) {
+            for (Artist artist : artistRepository.findAllByNameIn(distinctNames)) {
+                artistsByName.merge(artist.getName(), artist,
+                        (stored, other) -> stored.getId() <= other.getId() ? stored : other);
+            }
+        }
+
+        List<String> missing = artistNames.stream()
+                .filter(artistName -> !artistsByName.containsKey(artistName))
+                .distinct()
+                .map(String::valueOf)
+                .toList();
+        if (missing.size() == 1) {
+            throw new ResourceNotFoundException("Artist not found: " + missing.get(0));
+        } else if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Artists not found: " + String.join(", ", missing));
+        }
+
+        List<Artist> artists = artistNames.stream().map(artistsByName::get).toList();
+        artists.forEach(artist -> artistQueryCounter.record(artist.getId()));
+        return artists;
     }
 
     /**
-     * Finds the last release year from a list of releases.
+     * Loads the stored statistics of the artists in a single query.
      *
-     * @param releases the list of releases.
-     * @return the last release year.
+     * @param artists the artists.
+     * @param signed whether to leave out statistics without their similarity signatures.
+     * @return the statistics by artist id, without the artists that have none.
      */
-    private String findLastReleaseYear(List<Release> releases) {
-        return releases.stream()
-                .map(Release::getYear)
-                .filter(year -> !year.isEmpty())
-                .max(String::compareTo)
-                .orElse("Unknown");
+    private Map<Long, ArtistStats> findStoredStats(List<Artist> artists, boolean signed) {
+        Map<Long, ArtistStats> stats = new HashMap<>();
+        for (ArtistStats stored : artistStatsService.findAllByArtistId(artists.stream().map(Artist::getId).toList())) {
+            if (!signed || ArtistSimilarityIndex.hasSignatures(stored)) {
+                stats.put(stored.getArtistId(), stored);
+            }
+        }
+        return stats;
     }
 
     /**
-     * Finds the most common genre from a list of releases.
-     *
-     * @param releases the list of releases.
-     * @return the most common genre.
+     * Returns the stored statistics of an artist, computing them from the stored releases the first time an
+     * artist without them is compared.
      */
-    private String findMostCommonGenre(List<Release> releases) {
-        return releases.stream()
-                .flatMap(release -> release.getGenre().stream())
-                .collect(Collectors.groupingBy(genre -> genre, Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("Unknown");
+    private ArtistStats stats(Long artistId, Map<Long, ArtistStats> stored) {
+        ArtistStats stats = stored.get(artistId);
+        return stats != null ? stats : artistStatsService.recompute(artistId);
+    }
+
+    private void stop(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("discogs.comparison")
+                .tag("outcome", outcome)
+                .description("Time taken to compare artists")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause == null) {
+            return "success";
+        } else if (cause instanceof CancellationException) {
+            return "cancelled";
+        } else if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "failure";
+    }
+
+    /**
+     * Estimates the similarity of two artists from the signatures of their statistics.
+     */
+    private static ArtistSimilarityResponse similarity(String name, ArtistStats stats, String otherName, ArtistStats other) {
+        double labelSimilarity = MinHash.jaccard(stats.getLabelSignature(), other.getLabelSignature());
+        long labels = MinHash.cardinality(MinHash.union(stats.getLabelSignature(), other.getLabelSignature()));
+        return ArtistSimilarityResponse.builder()
+                .artistName(name)
+                .otherArtistName(otherName)
+                .similarity(MinHash.jaccard(ArtistSimilarityIndex.signature(stats), ArtistSimilarityIndex.signature(other)))
+                .genreSimilarity(MinHash.jaccard(stats.getGenreSignature(), other.getGenreSignature()))
+                .styleSimilarity(MinHash.jaccard(stats.getStyleSignature(), other.getStyleSignature()))
+                .labelSimilarity(labelSimilarity)
+                .sharedLabels(Math.round(labelSimilarity * labels))
+                .build();
     }
 
     /**
-     * Finds the common genres from a list of releases.
+     * Creates an ArtistComparisonResponse object for a given artist from its precomputed statistics.
      *
-     * @param releases the list of releases.
-     * @return the list of common genres.
+     * @param artist the artist to create the comparison response for.
+     * @param stats the statistics of the artist.
+     * @return the ArtistComparisonResponse object.
      */
-    private List<String> findCommonGenres(List<Release> releases) {
-        return releases.stream()
-                .flatMap(release -> release.getGenre().stream())
-                .distinct()
-                .collect(Collectors.toList());
+    private ArtistComparisonResponse createArtistComparisonDTO(Artist artist, ArtistStats stats) {
+        Map<String, Integer> genreCounts = Optional.ofNullable(stats.getGenreCounts()).orElse(Collections.emptyMap());
+        boolean hasYears = stats.getMinYear() != null && stats.getMaxYear() != null;
+        String mostCommonGenre = new ReleaseStatsAccumulator().seed(stats).mostCommonGenre();
+
+        return ArtistComparisonResponse.builder()
+                .artistName(artist.getName())
+                .numberOfReleases(stats.getReleaseCount())
+                .activeYears(hasYears ? stats.getMaxYear() - stats.getMinYear() : 0)
+                .firstReleaseYear(hasYears ? String.valueOf(stats.getMinYear()) : "Unknown")
+                .lastReleaseYear(hasYears ? String.valueOf(stats.getMaxYear()) : "Unknown")
+                .mostCommonGenre(mostCommonGenre != null ? mostCommonGenre : "Unknown")
+                .commonGenres(new ArrayList<>(genreCounts.keySet()))
+                .build();
     }
 }
\ No newline at end of file
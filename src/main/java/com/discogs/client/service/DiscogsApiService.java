@@ -1,13 +1,22 @@
 package com.discogs.client.service;
 
 import com.discogs.client.dto.internal.ArtistDTO;
-import com.discogs.client.dto.internal.MasterDTO;
-import com.discogs.client.dto.internal.ReleaseDTO;
 import com.discogs.client.dto.response.DiscogsArtistResponse;
 import com.discogs.client.dto.response.DiscogsMastersResponse;
 import com.discogs.client.dto.response.DiscogsReleasesResponse;
 import com.discogs.client.exception.DiscogsApiException;
+import com.discogs.client.http.ResilienceInterceptor;
+import com.discogs.client.model.Artist;
+import com.discogs.client.repository.ArtistRepository;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -16,13 +25,20 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service class for interacting with the Discogs API.
+ * Calls that fail with a server error, a 429, an I/O error or a timeout are retried with jittered exponential
+ * backoff by the {@value ResilienceInterceptor#INSTANCE} retry; the circuit breaker, bulkhead and time limiter
+ * are applied by the {@link ResilienceInterceptor}, and failed requests fall back to stale cached responses in
+ * the response cache. Each endpoint is timed, retries and cache hits included.
  */
 @Service
 public class DiscogsApiService {
 
+    private static final Logger log = LoggerFactory.getLogger(DiscogsApiService.class);
+
     @Value("${discogs.api.baseUrl}")
     private String baseUrl;
 
@@ -30,19 +46,31 @@ public class DiscogsApiService {
     private String token;
 
     private final RestTemplate restTemplate;
+    private final Retry retry;
+    private final ArtistRepository artistRepository;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Constructs a new DiscogsApiService with the specified RestTemplate.
+     * Constructs a new DiscogsApiService with the specified dependencies.
      *
      * @param restTemplate the RestTemplate to use for API calls.
+     * @param retryRegistry the registry holding the configured retries.
+     * @param artistRepository the artist repository, used to resolve stored artists while Discogs is unavailable.
+     * @param meterRegistry the registry the endpoint timers are published to.
      */
     @Autowired
-    public DiscogsApiService(RestTemplate restTemplate) {
+    public DiscogsApiService(RestTemplate restTemplate, RetryRegistry retryRegistry, ArtistRepository artistRepository,
+                             MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.retry = retryRegistry.retry(ResilienceInterceptor.INSTANCE);
+        this.artistRepository = artistRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Retrieves the Discogs ID of an artist by their name.
+     * If Discogs cannot be reached and no cached answer is available, the Discogs ID of a stored artist with
+     * the same name is returned instead.
      *
      * @param artistName the name of the artist.
      * @return the Discogs ID of the artist.
@@ -50,15 +78,21 @@ public class DiscogsApiService {
      */
     public Long getArtistIdByName(@NotNull String artistName) {
         String url = String.format("%s/database/search?q=%s&type=artist&token=%s", baseUrl, artistName, token);
+        DiscogsArtistResponse response;
         try {
-            DiscogsArtistResponse response = restTemplate.getForObject(url, DiscogsArtistResponse.class);
-            if (response == null || response.getResults().isEmpty()) {
-                throw new DiscogsApiException("No results found for the artist.", HttpStatus.NOT_FOUND);
-            }
-            return response.getResults().get(0).getId();
-        } catch (RestClientException e) {
-            throw new DiscogsApiException("Error communicating with Discogs API", HttpStatus.INTERNAL_SERVER_ERROR, e);
+            response = get("artist_search", url, DiscogsArtistResponse.class);
+        } catch (DiscogsApiException e) {
+            Long storedId = artistRepository.findFirstByNameIgnoreCase(artistName)
+                    .map(Artist::getDiscogsId)
+                    .filter(Objects::nonNull)
+                    .orElseThrow(() -> e);
+            log.warn("Resolved artist {} from the database: {}", artistName, e.getMessage());
+            return storedId;
+        }
+        if (response == null || response.getResults().isEmpty()) {
+            throw new DiscogsApiException("No results found for the artist.", HttpStatus.NOT_FOUND);
         }
+        return response.getResults().get(0).getId();
     }
 
     /**
@@ -70,48 +104,75 @@ public class DiscogsApiService {
      */
     public ArtistDTO getArtistDetailsById(@NotNull Long discogsId) {
         String url = String.format("%s/artists/%d?token=%s", baseUrl, discogsId, token);
-        try {
-            ArtistDTO artist = restTemplate.getForObject(url, ArtistDTO.class);
-            if (artist == null) {
-                throw new DiscogsApiException("Artist details not found.", HttpStatus.NOT_FOUND);
-            }
-            return artist;
-        } catch (RestClientException e) {
-            throw new DiscogsApiException("Error communicating with Discogs API", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        ArtistDTO artist = get("artist", url, ArtistDTO.class);
+        if (artist == null) {
+            throw new DiscogsApiException("Artist details not found.", HttpStatus.NOT_FOUND);
         }
+        return artist;
     }
 
     /**
-     * Retrieves the master releases of an artist by their name.
+     * Retrieves one page of the master releases of an artist by their name.
      *
      * @param artistName the name of the artist.
-     * @return a list of master releases.
+     * @param page the 1-based page number.
+     * @param perPage the number of results per page.
+     * @return the page of master releases, including its pagination information.
      * @throws DiscogsApiException if there is an error communicating with the API.
      */
-    public List<MasterDTO> getArtistMasters(@NotNull String artistName) {
-        String url = String.format("%s/database/search?artist=%s&type=master&token=%s", baseUrl, artistName, token);
-        try {
-            DiscogsMastersResponse response = restTemplate.getForObject(url, DiscogsMastersResponse.class);
-            return response != null ? response.getResults() : List.of();
-        } catch (RestClientException e) {
-            throw new DiscogsApiException("Error communicating with Discogs API", HttpStatus.INTERNAL_SERVER_ERROR, e);
-        }
+    public DiscogsMastersResponse getArtistMastersPage(@NotNull String artistName, int page, int perPage) {
+        String url = String.format("%s/database/search?artist=%s&type=master&per_page=%d&page=%d&token=%s",
+                baseUrl, artistName, perPage, page, token);
+        DiscogsMastersResponse response = get("masters", url, DiscogsMastersResponse.class);
+        return response != null ? response : new DiscogsMastersResponse(List.of(), null);
     }
 
     /**
-     * Retrieves the releases of an artist by their name.
+     * Retrieves one page of the releases of an artist by their name.
      *
      * @param artistName the name of the artist.
-     * @return a list of releases.
+     * @param page the 1-based page number.
+     * @param perPage the number of results per page.
+     * @return the page of releases, including its pagination information.
      * @throws DiscogsApiException if there is an error communicating with the API.
      */
-    public List<ReleaseDTO> getArtistReleases(@NotNull String artistName) {
-        String url = String.format("%s/database/search?artist=%s&type=release&token=%s", baseUrl, artistName, token);
+    public DiscogsReleasesResponse getArtistReleasesPage(@NotNull String artistName, int page, int perPage) {
+        String url = String.format("%s/database/search?artist=%s&type=release&per_page=%d&page=%d&token=%s",
+                baseUrl, artistName, perPage, page, token);
+        DiscogsReleasesResponse response = get("releases", url, DiscogsReleasesResponse.class);
+        return response != null ? response : new DiscogsReleasesResponse(List.of(), null);
+    }
+
+    /**
+     * Fetches a Discogs resource, retrying transient failures, and records the time taken under the endpoint.
+     *
+     * @param endpoint the endpoint name the call is timed under.
+     * @param url the URL of the resource.
+     * @param type the type the response body is read as.
+     * @param <T> the type of the response body.
+     * @return the response body, or null if Discogs returned none.
+     * @throws DiscogsApiException with status 503 if the circuit breaker is open or the bulkhead is full, or
+     * with status 500 if there is an error communicating with the API.
+     */
+    private <T> T get(String endpoint, String url, Class<T> type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
-            DiscogsReleasesResponse response = restTemplate.getForObject(url, DiscogsReleasesResponse.class);
-            return response != null ? response.getResults() : List.of();
+            T body = retry.executeSupplier(() -> restTemplate.getForObject(url, type));
+            outcome = "success";
+            return body;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            outcome = "unavailable";
+            throw new DiscogsApiException("Discogs API is unavailable", HttpStatus.SERVICE_UNAVAILABLE, e);
         } catch (RestClientException e) {
             throw new DiscogsApiException("Error communicating with Discogs API", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        } finally {
+            sample.stop(Timer.builder("discogs.api.calls")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .description("Time taken by Discogs API calls, including retries and cached responses")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
     }
 }
\ No newline at end of file
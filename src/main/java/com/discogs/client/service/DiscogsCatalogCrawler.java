@@ -0,0 +1,136 @@
+package com.discogs.client.service;
+
+import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.dto.response.DiscogsMastersResponse;
+import com.discogs.client.dto.response.DiscogsReleasesResponse;
+import com.discogs.client.exception.DiscogsApiException;
+import com.discogs.client.model.Pagination;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Service class that walks every page of an artist's Discogs search results.
+ * Pages are handed to a consumer one at a time so callers never hold the whole catalog in memory.
+ */
+@Service
+public class DiscogsCatalogCrawler {
+
+    private final DiscogsApiService discogsApiService;
+    private final ExecutorService discogsFetchExecutor;
+    private final int perPage;
+    private final boolean prefetch;
+
+    /**
+     * Constructs a new DiscogsCatalogCrawler with the specified dependencies.
+     *
+     * @param discogsApiService the Discogs API service.
+     * @param discogsFetchExecutor the executor used to prefetch the next page.
+     * @param perPage the number of results requested per page.
+     * @param prefetch whether page N+1 is requested while page N is being consumed.
+     */
+    @Autowired
+    public DiscogsCatalogCrawler(DiscogsApiService discogsApiService,
+                                 @Qualifier("discogsFetchExecutor") ExecutorService discogsFetchExecutor,
+                                 @Value("${discogs.crawl.per-page:100}") int perPage,
+                                 @Value("${discogs.crawl.prefetch:true}") boolean prefetch) {
+        this.discogsApiService = discogsApiService;
+        this.discogsFetchExecutor = discogsFetchExecutor;
+        this.perPage = perPage;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Walks every page of an artist's master releases.
+     *
+     * @param artistName the name of the artist.
+     * @param pageConsumer receives the results of each page, in page order.
+     * @return the number of pages read.
+     * @throws DiscogsApiException if there is an error communicating with the API.
+     */
+    public int crawlMasters(@NotNull String artistName, Consumer<List<MasterDTO>> pageConsumer) {
+        return crawl(page -> discogsApiService.getArtistMastersPage(artistName, page, perPage),
+                DiscogsMastersResponse::getResults, DiscogsMastersResponse::getPagination, pageConsumer);
+    }
+
+    /**
+     * Walks every page of an artist's releases.
+     *
+     * @param artistName the name of the artist.
+     * @param pageConsumer receives the results of each page, in page order.
+     * @return the number of pages read.
+     * @throws DiscogsApiException if there is an error communicating with the API.
+     */
+    public int crawlReleases(@NotNull String artistName, Consumer<List<ReleaseDTO>> pageConsumer) {
+        return crawl(page -> discogsApiService.getArtistReleasesPage(artistName, page, perPage),
+                DiscogsReleasesResponse::getResults, DiscogsReleasesResponse::getPagination, pageConsumer);
+    }
+
+    private <R, T> int crawl(IntFunction<R> fetchPage, Function<R, List<T>> results,
+                             Function<R, Pagination> pagination, Consumer<List<T>> pageConsumer) {
+        R current = fetchPage.apply(1);
+        int pages = totalPages(pagination.apply(current));
+        int page = 1;
+        while (true) {
+            int nextPage = page + 1;
+            FutureTask<R> next = null;
+            if (nextPage <= pages && prefetch) {
+                next = new FutureTask<>(() -> fetchPage.apply(nextPage));
+                discogsFetchExecutor.execute(next);
+            }
+            try {
+                List<T> items = results.apply(current);
+                if (items != null && !items.isEmpty()) {
+                    pageConsumer.accept(items);
+                }
+            } catch (RuntimeException e) {
+                if (next != null) {
+                    next.cancel(true);
+                }
+                throw e;
+            }
+            if (nextPage > pages) {
+                return page;
+            }
+            current = next != null ? await(next) : fetchPage.apply(nextPage);
+            page = nextPage;
+        }
+    }
+
+    /**
+     * Waits for a prefetched page. If no worker has picked the task up yet it runs on the calling
+     * thread, so crawls that already occupy every worker cannot deadlock on their own prefetches.
+     */
+    private static <R> R await(FutureTask<R> task) {
+        task.run();
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new DiscogsApiException("Error fetching page", HttpStatus.INTERNAL_SERVER_ERROR, e.getCause());
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the next page");
+        }
+    }
+
+    private static int totalPages(Pagination pagination) {
+        return pagination != null ? Math.max(pagination.getPages(), 1) : 1;
+    }
+}
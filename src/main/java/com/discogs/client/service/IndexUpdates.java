@@ -0,0 +1,102 @@
+package com.discogs.client.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coordinates the readers, the changes and the rebuilds of an in-memory index.
+ *
+ * <p>Changes reported inside a transaction are applied under the write lock once it commits, so a rolled back
+ * write never shows up in the index, and right away when there is no transaction. A rebuild reads the database
+ * without holding the lock, so readers are not blocked while it runs; the changes applied meanwhile are recorded
+ * and replayed on the rebuilt data before it replaces the current one. Changes must therefore be idempotent and
+ * act on whatever data the index holds when they run.
+ */
+final class IndexUpdates {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuilding = new Object();
+    private List<Runnable> replay;
+
+    /**
+     * Returns the lock held while reading the index.
+     *
+     * @return the read lock.
+     */
+    Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Applies a change under the write lock once the current transaction commits, or right away if there is
+     * no transaction.
+     *
+     * @param change the change to the index.
+     */
+    void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    /**
+     * Rebuilds the index: reads its data without the lock, then installs it and replays the changes applied
+     * while it was read, under the write lock. Rebuilds run one at a time.
+     *
+     * @param read reads the data of the index from the database.
+     * @param install replaces the data of the index with the data read.
+     * @param <T> the type of the data of the index.
+     */
+    <T> void rebuild(Supplier<T> read, Consumer<T> install) {
+        synchronized (rebuilding) {
+            lock.writeLock().lock();
+            try {
+                replay = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            T data = null;
+            try {
+                data = read.get();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (data != null) {
+                        install.accept(data);
+                        replay.forEach(Runnable::run);
+                    }
+                } finally {
+                    replay = null;
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
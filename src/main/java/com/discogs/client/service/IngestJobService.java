@@ -0,0 +1,318 @@
+package com.discogs.client.service;
+
+import com.discogs.client.dto.response.IngestJobResponse;
+import com.discogs.client.exception.DiscogsApiException;
+import com.discogs.client.exception.InvalidInputException;
+import com.discogs.client.model.IngestJob;
+import com.discogs.client.repository.IngestJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service class that manages the durable queue of artist ingests.
+ * Jobs are stored in the database, so they survive restarts and can be worked by any instance: workers lock due
+ * jobs with {@code select ... for update skip locked}, mark them running under a lease and report the outcome.
+ * Failed attempts are retried with exponential backoff; jobs whose worker died are retried when their lease expires.
+ */
+@Service
+public class IngestJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestJobService.class);
+
+    private static final Set<IngestJob.Status> ACTIVE = EnumSet.of(IngestJob.Status.PENDING, IngestJob.Status.RUNNING);
+    private static final Set<IngestJob.Status> FINISHED = EnumSet.of(IngestJob.Status.COMPLETED, IngestJob.Status.FAILED);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final IngestJobRepository ingestJobRepository;
+    private final Clock clock;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    /**
+     * Constructs a new IngestJobService with the specified dependencies.
+     *
+     * @param ingestJobRepository the ingest job repository.
+     * @param maxAttempts the number of times a job is attempted before it fails.
+     * @param initialBackoff the delay before the first retry, doubled for every further retry.
+     * @param maxBackoff the longest delay between retries.
+     * @param lease how long a job may run before it is considered abandoned.
+     * @param retention how long finished jobs are kept.
+     */
+    @Autowired
+    public IngestJobService(IngestJobRepository ingestJobRepository,
+                            @Value("${discogs.jobs.retry.max-attempts:5}") int maxAttempts,
+                            @Value("${discogs.jobs.retry.initial-backoff:30s}") Duration initialBackoff,
+                            @Value("${discogs.jobs.retry.max-backoff:30m}") Duration maxBackoff,
+                            @Value("${discogs.jobs.lease:30m}") Duration lease,
+                            @Value("${discogs.jobs.retention:7d}") Duration retention) {
+        this(ingestJobRepository, maxAttempts, initialBackoff, maxBackoff, lease, retention, Clock.systemUTC());
+    }
+
+    IngestJobService(IngestJobRepository ingestJobRepository, int maxAttempts, Duration initialBackoff,
+                     Duration maxBackoff, Duration lease, Duration retention, Clock clock) {
+        this.ingestJobRepository = ingestJobRepository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Queues an ingest of an artist.
+     * If a job for the same artist name and mode is already queued or running, that job is returned instead.
+     *
+     * @param artistName the name of the artist to ingest.
+     * @param refresh whether a stored artist is fetched again and updated.
+     * @return the progress of the queued job.
+     * @throws InvalidInputException if the artist name is empty or null.
+     */
+    public IngestJobResponse enqueue(String artistName, boolean refresh) {
+        if (artistName == null || artistName.trim().isEmpty()) {
+            throw new InvalidInputException("The artist name cannot be empty.");
+        }
+        return enqueue(artistName, null, refresh);
+    }
+
+    /**
+     * Queues a refresh of a stored artist by its Discogs ID, so the worker does not resolve the name again.
+     * If a refresh of the same artist name is already queued or running, that job is returned instead.
+     *
+     * @param discogsId the Discogs ID of the stored artist.
+     * @param artistName the stored name of the artist.
+     * @return the progress of the queued job.
+     */
+    public IngestJobResponse enqueueRefresh(Long discogsId, String artistName) {
+        return enqueue(artistName, discogsId, true);
+    }
+
+    /**
+     * Queues a job unless one for the same artist name and mode is already queued or running.
+     *
+     * @param artistName the name of the artist.
+     * @param discogsId the Discogs ID of a stored artist to refresh, or null to resolve the name.
+     * @param refresh whether a stored artist is fetched again and updated.
+     * @return the progress of the queued or already active job.
+     */
+    private IngestJobResponse enqueue(String artistName, Long discogsId, boolean refresh) {
+        String artistKey = SearchService.normalizeName(artistName);
+        Optional<IngestJob> active = ingestJobRepository.findFirstByArtistKeyAndRefreshAndStatusIn(artistKey, refresh, ACTIVE);
+        if (active.isPresent()) {
+            return toResponse(active.get());
+        }
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        IngestJob job = IngestJob.builder()
+                .id(UUID.randomUUID())
+                .artistName(artistName.trim())
+                .artistKey(artistKey)
+                .discogsId(discogsId)
+                .refresh(refresh)
+                .status(IngestJob.Status.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        try {
+            return toResponse(ingestJobRepository.saveAndFlush(job));
+        } catch (DataIntegrityViolationException e) {
+            // Another request queued the same artist between the lookup and the insert.
+            return ingestJobRepository.findFirstByArtistKeyAndRefreshAndStatusIn(artistKey, refresh, ACTIVE)
+                    .map(this::toResponse)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Checks if an ingest of an artist is queued or running.
+     *
+     * @param artistName the name of the artist.
+     * @param refresh whether the ingest refreshes a stored artist.
+     * @return true if a job for the artist name and mode is queued or running, false otherwise.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasActiveJob(String artistName, boolean refresh) {
+        return ingestJobRepository.findFirstByArtistKeyAndRefreshAndStatusIn(SearchService.normalizeName(artistName),
+                refresh, ACTIVE).isPresent();
+    }
+
+    /**
+     * Retrieves the progress of a job.
+     *
+     * @param jobId the id of the job.
+     * @return an Optional containing the job progress if the job is known, or empty otherwise.
+     */
+    @Transactional(readOnly = true)
+    public Optional<IngestJobResponse> getJob(String jobId) {
+        UUID id;
+        try {
+            id = UUID.fromString(jobId);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return ingestJobRepository.findById(id).map(this::toResponse);
+    }
+
+    /**
+     * Claims due jobs for a worker, marking them running under a lease.
+     *
+     * @param workerId the id of the claiming worker.
+     * @param limit the maximum number of jobs to claim.
+     * @return the claimed jobs.
+     */
+    @Transactional
+    public List<IngestJob> claim(String workerId, int limit) {
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        List<IngestJob> jobs = ingestJobRepository.findDueForUpdate(now, limit);
+        for (IngestJob job : jobs) {
+            job.setStatus(IngestJob.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(workerId);
+            job.setLockedAt(now);
+            job.setUpdatedAt(now);
+        }
+        return jobs;
+    }
+
+    /**
+     * Records that a claimed job completed.
+     * Nothing is recorded if the lease was lost meanwhile and the job was handed to another worker.
+     *
+     * @param claimed the job as claimed.
+     */
+    @Transactional
+    public void complete(IngestJob claimed) {
+        findLeased(claimed).ifPresent(job -> {
+            Instant now = clock.instant();
+            job.setStatus(IngestJob.Status.COMPLETED);
+            job.setLastError(null);
+            job.setLockedBy(null);
+            job.setLockedAt(null);
+            job.setUpdatedAt(now);
+            job.setCompletedAt(now);
+        });
+    }
+
+    /**
+     * Records that an attempt of a claimed job failed.
+     * The job is retried after a backoff unless the failure is permanent or the job ran out of attempts.
+     * Nothing is recorded if the lease was lost meanwhile and the job was handed to another worker.
+     *
+     * @param claimed the job as claimed.
+     * @param error the failure.
+     */
+    @Transactional
+    public void fail(IngestJob claimed, RuntimeException error) {
+        findLeased(claimed).ifPresent(job -> retryOrFail(job, error.getMessage(), isRetryable(error)));
+    }
+
+    /**
+     * Returns jobs whose lease expired, because their worker stopped, to the queue.
+     *
+     * @return the number of jobs recovered.
+     */
+    @Transactional
+    public int recoverExpiredLeases() {
+        List<IngestJob> expired = ingestJobRepository.findByStatusAndLockedAtBefore(IngestJob.Status.RUNNING,
+                clock.instant().minus(lease));
+        for (IngestJob job : expired) {
+            log.warn("Ingest job {} for artist {} held by {} exceeded its lease", job.getId(), job.getArtistName(), job.getLockedBy());
+            retryOrFail(job, "Lease expired on " + job.getLockedBy(), true);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Deletes finished jobs older than the retention period.
+     *
+     * @return the number of jobs deleted.
+     */
+    @Transactional
+    public int purgeFinished() {
+        return ingestJobRepository.deleteByStatusInAndUpdatedAtBefore(FINISHED, clock.instant().minus(retention));
+    }
+
+    private Optional<IngestJob> findLeased(IngestJob claimed) {
+        return ingestJobRepository.findById(claimed.getId())
+                .filter(job -> job.getStatus() == IngestJob.Status.RUNNING
+                        && Objects.equals(job.getLockedBy(), claimed.getLockedBy())
+                        && Objects.equals(job.getLockedAt(), claimed.getLockedAt()));
+    }
+
+    private void retryOrFail(IngestJob job, String error, boolean retryable) {
+        Instant now = clock.instant();
+        job.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        job.setLockedBy(null);
+        job.setLockedAt(null);
+        job.setUpdatedAt(now);
+        if (retryable && job.getAttempts() < maxAttempts) {
+            job.setStatus(IngestJob.Status.PENDING);
+            job.setNextAttemptAt(now.plus(backoff(job.getAttempts())));
+        } else {
+            job.setStatus(IngestJob.Status.FAILED);
+            job.setCompletedAt(now);
+        }
+    }
+
+    /**
+     * Computes the delay before the next attempt: the initial backoff doubled for every attempt made, capped,
+     * with the upper half randomized so jobs that failed together do not retry together.
+     *
+     * @param attempts the number of attempts made.
+     * @return the delay before the next attempt.
+     */
+    Duration backoff(int attempts) {
+        long delay = initialBackoff.toMillis() << Math.min(Math.max(attempts - 1, 0), 20);
+        delay = Math.min(delay, maxBackoff.toMillis());
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    /**
+     * Tells whether retrying might succeed: invalid input and artists missing from Discogs will not.
+     */
+    private static boolean isRetryable(RuntimeException error) {
+        if (error instanceof InvalidInputException || error instanceof IllegalArgumentException) {
+            return false;
+        }
+        if (error instanceof DiscogsApiException discogsApiException && discogsApiException.getHttpStatus() != null) {
+            HttpStatus status = discogsApiException.getHttpStatus();
+            return !status.is4xxClientError() || status == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+
+    private IngestJobResponse toResponse(IngestJob job) {
+        return IngestJobResponse.builder()
+                .jobId(job.getId().toString())
+                .artistName(job.getArtistName())
+                .refresh(job.isRefresh())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .error(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .nextAttemptAt(job.getNextAttemptAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.IngestJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker that drains the ingest job queue.
+ * Every poll claims as many due jobs as there are idle worker threads and runs each through
+ * {@link SearchService#searchAndSaveArtist(String, boolean)}, or through
+ * {@link SearchService#refreshStoredArtist(Long)} for refreshes queued by Discogs ID. Instances poll independently;
+ * the queue hands each job to exactly one of them.
+ */
+@Component
+public class IngestJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestJobWorker.class);
+
+    private final IngestJobService ingestJobService;
+    private final SearchService searchService;
+    private final ExecutorService discogsIngestJobExecutor;
+    private final int workers;
+    private final boolean enabled;
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName();
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * Constructs a new IngestJobWorker with the specified dependencies.
+     *
+     * @param ingestJobService the service managing the job queue.
+     * @param searchService the service that ingests artists.
+     * @param discogsIngestJobExecutor the executor the jobs run on.
+     * @param workers the number of jobs run at once, matching the executor's pool size.
+     * @param enabled whether this instance works the queue.
+     */
+    @Autowired
+    public IngestJobWorker(IngestJobService ingestJobService, SearchService searchService,
+                           @Qualifier("discogsIngestJobExecutor") ExecutorService discogsIngestJobExecutor,
+                           @Value("${discogs.jobs.workers:2}") int workers,
+                           @Value("${discogs.jobs.enabled:true}") boolean enabled) {
+        this.ingestJobService = ingestJobService;
+        this.searchService = searchService;
+        this.discogsIngestJobExecutor = discogsIngestJobExecutor;
+        this.workers = workers;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Claims due jobs for the idle worker threads and starts them.
+     */
+    @Scheduled(fixedDelayString = "${discogs.jobs.poll-interval:PT1S}")
+    public void poll() {
+        int idle = workers - running.get();
+        if (!enabled || idle <= 0) {
+            return;
+        }
+        List<IngestJob> jobs = ingestJobService.claim(workerId, idle);
+        for (IngestJob job : jobs) {
+            running.incrementAndGet();
+            try {
+                discogsIngestJobExecutor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                ingestJobService.fail(job, e);
+            }
+        }
+    }
+
+    /**
+     * Returns jobs abandoned by stopped workers to the queue and purges old finished jobs.
+     */
+    @Scheduled(fixedDelayString = "${discogs.jobs.maintenance-interval:PT1M}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        ingestJobService.recoverExpiredLeases();
+        ingestJobService.purgeFinished();
+    }
+
+    private void run(IngestJob job) {
+        try {
+            if (job.getDiscogsId() != null) {
+                searchService.refreshStoredArtist(job.getDiscogsId());
+            } else {
+                searchService.searchAndSaveArtist(job.getArtistName(), job.isRefresh());
+            }
+            ingestJobService.complete(job);
+        } catch (RuntimeException e) {
+            log.warn("Ingest job {} for artist {} failed on attempt {}", job.getId(), job.getArtistName(), job.getAttempts(), e);
+            ingestJobService.fail(job, e);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.discogs.client.service;
 
 import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.response.KeysetPage;
 import com.discogs.client.model.Master;
 import com.discogs.client.repository.MasterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service class for managing master-related operations.
@@ -29,14 +32,17 @@ public class MasterService {
     }
 
     /**
-     * Retrieves all masters from the database.
+     * Retrieves one page of masters, in id order.
      *
-     * @return a list of all masters as MasterDTO.
+     * @param after the id to start after, or null to start at the beginning.
+     * @param limit the maximum number of masters to return.
+     * @return the page of masters as MasterDTO, with the cursor of the next page.
      */
-    public List<MasterDTO> getAllMasters() {
-        return masterRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<MasterDTO> getMasters(Long after, int limit) {
+        int pageSize = KeysetPage.checkLimit(limit);
+        return KeysetPage.of(masterRepository.findByIdGreaterThanOrderByIdAsc(KeysetPage.startAfter(after), Limit.of(pageSize)),
+                pageSize, Master::getId, this::convertToDTO);
     }
 
     /**
@@ -45,6 +51,7 @@ public class MasterService {
      * @param title the title of the master.
      * @return an Optional containing the master as MasterDTO if found, or empty if not found.
      */
+    @Transactional(readOnly = true)
     public Optional<MasterDTO> getMasterByTitle(String title) {
         return masterRepository.findByTitle(title)
                 .map(this::convertToDTO);
@@ -76,24 +83,29 @@ public class MasterService {
 
     /**
      * Converts a Master entity to a MasterDTO.
+     * Collections are copied so the DTO can be used after the persistence context is closed.
      *
      * @param master the master entity.
      * @return the master DTO.
      */
-    private MasterDTO convertToDTO(Master master) {
+    public MasterDTO convertToDTO(Master master) {
         return MasterDTO.builder()
                 .id(master.getDiscogsId())
                 .title(master.getTitle())
                 .country(master.getCountry())
                 .year(master.getYear())
-                .format(master.getFormat())
-                .label(master.getLabel())
-                .genre(master.getGenre())
-                .style(master.getStyle())
+                .format(copyOf(master.getFormat()))
+                .label(copyOf(master.getLabel()))
+                .genre(copyOf(master.getGenre()))
+                .style(copyOf(master.getStyle()))
                 .thumb(master.getThumb())
                 .cover_image(master.getCoverImage())
                 .resource_url(master.getResourceUrl())
                 .artistId(master.getArtist().getId())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static List<String> copyOf(List<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+}
@@ -1,14 +1,17 @@
 package com.discogs.client.service;
 
 import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.dto.response.KeysetPage;
 import com.discogs.client.model.Release;
 import com.discogs.client.repository.ReleaseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service class for managing release-related operations.
@@ -17,26 +20,35 @@ import java.util.stream.Collectors;
 public class ReleaseService {
 
     private final ReleaseRepository releaseRepository;
+    private final ArtistStatsService artistStatsService;
+    private final TagIndex tagIndex;
 
     /**
      * Constructs a new ReleaseService with the specified dependencies.
      *
      * @param releaseRepository the release repository.
+     * @param artistStatsService the service maintaining the artist statistics.
+     * @param tagIndex the index of releases by genre and style.
      */
     @Autowired
-    public ReleaseService(ReleaseRepository releaseRepository) {
+    public ReleaseService(ReleaseRepository releaseRepository, ArtistStatsService artistStatsService, TagIndex tagIndex) {
         this.releaseRepository = releaseRepository;
+        this.artistStatsService = artistStatsService;
+        this.tagIndex = tagIndex;
     }
 
     /**
-     * Retrieves all releases from the database.
+     * Retrieves one page of releases, in id order.
      *
-     * @return a list of all releases as ReleaseDTO.
+     * @param after the id to start after, or null to start at the beginning.
+     * @param limit the maximum number of releases to return.
+     * @return the page of releases as ReleaseDTO, with the cursor of the next page.
      */
-    public List<ReleaseDTO> getAllReleases() {
-        return releaseRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<ReleaseDTO> getReleases(Long after, int limit) {
+        int pageSize = KeysetPage.checkLimit(limit);
+        return KeysetPage.of(releaseRepository.findByIdGreaterThanOrderByIdAsc(KeysetPage.startAfter(after), Limit.of(pageSize)),
+                pageSize, Release::getId, this::convertToDTO);
     }
 
     /**
@@ -45,22 +57,28 @@ public class ReleaseService {
      * @param title the title of the release.
      * @return an Optional containing the release as ReleaseDTO if found, or empty if not found.
      */
+    @Transactional(readOnly = true)
     public Optional<ReleaseDTO> getReleaseByTitle(String title) {
         return releaseRepository.findByTitle(title)
                 .map(this::convertToDTO);
     }
 
     /**
-     * Deletes a release by its title.
+     * Deletes a release by its title and recomputes the statistics of the affected artists.
      *
      * @param title the title of the release to delete.
      * @throws IllegalArgumentException if the release with the specified title does not exist.
      */
+    @Transactional
     public void deleteRelease(String title) {
         if (!releaseRepository.existsByTitle(title)) {
             throw new IllegalArgumentException("Release with title " + title + " does not exist.");
         }
+        List<Long> artistIds = releaseRepository.findArtistIdsByTitle(title);
         releaseRepository.deleteByTitle(title);
+        releaseRepository.flush();
+        artistIds.forEach(artistStatsService::recompute);
+        artistIds.forEach(tagIndex::reindexArtist);
     }
 
     /**
@@ -75,21 +93,26 @@ public class ReleaseService {
 
     /**
      * Converts a Release entity to a ReleaseDTO.
+     * Collections are copied so the DTO can be used after the persistence context is closed.
      *
      * @param release the release entity.
      * @return the release DTO.
      */
-    private ReleaseDTO convertToDTO(Release release) {
+    public ReleaseDTO convertToDTO(Release release) {
         return ReleaseDTO.builder()
                 .id(release.getId())
                 .title(release.getTitle())
                 .artistId(release.getArtist().getId())
                 .year(release.getYear())
-                .genre(release.getGenre())
-                .style(release.getStyle())
+                .genre(copyOf(release.getGenre()))
+                .style(copyOf(release.getStyle()))
                 .thumb(release.getThumb())
                 .cover_image(release.getCoverImage())
                 .resource_url(release.getResourceUrl())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static List<String> copyOf(List<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+}
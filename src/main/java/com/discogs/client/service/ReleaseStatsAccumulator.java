@@ -0,0 +1,249 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.model.Release;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass accumulator for the release statistics used by artist comparisons.
+ * Years are parsed straight into primitive ints and genres are interned to slots of a primitive
+ * counter array, so feeding thousands of releases allocates only when a new genre shows up.
+ * The MinHash signatures of the genres, styles and labels are updated only the first time a value is seen.
+ * Instances are not thread-safe.
+ */
+public final class ReleaseStatsAccumulator {
+
+    /**
+     * Returned by {@link #parseYear(CharSequence)} when a value is not a year.
+     */
+    public static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> genreSlots = new HashMap<>();
+    private String[] genres = new String[8];
+    private int[] genreCounts = new int[8];
+    private int genreCount;
+    private int releaseCount;
+    private int minYear = Integer.MAX_VALUE;
+    private int maxYear = Integer.MIN_VALUE;
+    private final Set<String> styles = new HashSet<>();
+    private final Set<String> labels = new HashSet<>();
+    private final int[] genreSignature = MinHash.empty();
+    private final int[] styleSignature = MinHash.empty();
+    private final int[] labelSignature = MinHash.empty();
+
+    /**
+     * Starts from previously computed statistics.
+     *
+     * @param stats the statistics to continue from.
+     * @return this accumulator.
+     */
+    public ReleaseStatsAccumulator seed(ArtistStats stats) {
+        releaseCount += stats.getReleaseCount() != null ? stats.getReleaseCount() : 0;
+        if (stats.getMinYear() != null) {
+            acceptYear(stats.getMinYear());
+        }
+        if (stats.getMaxYear() != null) {
+            acceptYear(stats.getMaxYear());
+        }
+        if (stats.getGenreCounts() != null) {
+            stats.getGenreCounts().forEach((genre, count) -> {
+                int slot = slot(genre);
+                genreCounts[slot] += count;
+            });
+        }
+        merge(genreSignature, stats.getGenreSignature());
+        merge(styleSignature, stats.getStyleSignature());
+        merge(labelSignature, stats.getLabelSignature());
+        return this;
+    }
+
+    /**
+     * Adds a release with its year, genres, styles and labels.
+     *
+     * @param release the release.
+     * @return this accumulator.
+     */
+    public ReleaseStatsAccumulator add(Release release) {
+        addRelease(release.getYear());
+        List<String> releaseGenres = release.getGenre();
+        if (releaseGenres != null) {
+            for (int i = 0, n = releaseGenres.size(); i < n; i++) {
+                addGenre(releaseGenres.get(i));
+            }
+        }
+        addAll(styles, styleSignature, release.getStyle());
+        addAll(labels, labelSignature, release.getLabel());
+        return this;
+    }
+
+    /**
+     * Adds a release read as a row of year, genres, styles and labels, as returned by
+     * {@code ReleaseRepository.findStatsRowsByArtistId}.
+     *
+     * @param row the release row.
+     * @return this accumulator.
+     */
+    public ReleaseStatsAccumulator addRow(Object[] row) {
+        addRelease((String) row[0]);
+        if (row[1] instanceof Collection<?> rowGenres) {
+            rowGenres.forEach(genre -> addGenre((String) genre));
+        }
+        addAll(styles, styleSignature, row[2]);
+        addAll(labels, labelSignature, row[3]);
+        return this;
+    }
+
+    /**
+     * Counts one release and its year, if the year can be parsed.
+     *
+     * @param year the release year as stored, possibly empty.
+     */
+    public void addRelease(CharSequence year) {
+        releaseCount++;
+        int parsed = parseYear(year);
+        if (parsed != NO_YEAR) {
+            acceptYear(parsed);
+        }
+    }
+
+    /**
+     * Counts one occurrence of a genre.
+     *
+     * @param genre the genre.
+     */
+    public void addGenre(String genre) {
+        if (genre != null) {
+            int slot = slot(genre);
+            genreCounts[slot]++;
+        }
+    }
+
+    /**
+     * Returns the number of releases added.
+     *
+     * @return the release count.
+     */
+    public int getReleaseCount() {
+        return releaseCount;
+    }
+
+    /**
+     * Returns the most frequent genre; ties go to the genre seen first.
+     *
+     * @return the most common genre, or null if no genre was added.
+     */
+    public String mostCommonGenre() {
+        int best = -1;
+        for (int i = 0; i < genreCount; i++) {
+            if (best < 0 || genreCounts[i] > genreCounts[best]) {
+                best = i;
+            }
+        }
+        return best < 0 ? null : genres[best];
+    }
+
+    /**
+     * Writes the accumulated statistics into an ArtistStats entity.
+     *
+     * @param stats the entity to update.
+     * @return the updated entity.
+     */
+    public ArtistStats applyTo(ArtistStats stats) {
+        stats.setReleaseCount(releaseCount);
+        stats.setMinYear(minYear <= maxYear ? minYear : null);
+        stats.setMaxYear(minYear <= maxYear ? maxYear : null);
+        Map<String, Integer> histogram = new LinkedHashMap<>(genreCount * 2);
+        for (int i = 0; i < genreCount; i++) {
+            histogram.put(genres[i], genreCounts[i]);
+        }
+        stats.setGenreCounts(histogram);
+        stats.setGenreSignature(genreSignature.clone());
+        stats.setStyleSignature(styleSignature.clone());
+        stats.setLabelSignature(labelSignature.clone());
+        return stats;
+    }
+
+    /**
+     * Parses a release year without allocating.
+     *
+     * @param year the year as stored, possibly null, empty or surrounded by whitespace.
+     * @return the year, or {@link #NO_YEAR} if the value is not a non-negative integer.
+     */
+    public static int parseYear(CharSequence year) {
+        if (year == null) {
+            return NO_YEAR;
+        }
+        int start = 0;
+        int end = year.length();
+        while (start < end && Character.isWhitespace(year.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(year.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end || end - start > 9) {
+            return NO_YEAR;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = year.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NO_YEAR;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void acceptYear(int year) {
+        if (year < minYear) {
+            minYear = year;
+        }
+        if (year > maxYear) {
+            maxYear = year;
+        }
+    }
+
+    /**
+     * Returns the counter slot of a genre, growing the arrays when a new genre is seen.
+     * Callers must read {@code genreCounts} after this returns, since it may be replaced.
+     */
+    private int slot(String genre) {
+        Integer slot = genreSlots.get(genre);
+        if (slot != null) {
+            return slot;
+        }
+        if (genreCount == genres.length) {
+            genres = Arrays.copyOf(genres, genreCount * 2);
+            genreCounts = Arrays.copyOf(genreCounts, genreCount * 2);
+        }
+        genres[genreCount] = genre;
+        genreSlots.put(genre, genreCount);
+        MinHash.add(genreSignature, genre);
+        return genreCount++;
+    }
+
+    private static void addAll(Set<String> seen, int[] signature, Object values) {
+        if (values instanceof Collection<?> collection) {
+            for (Object value : collection) {
+                if (value != null && seen.add((String) value)) {
+                    MinHash.add(signature, (String) value);
+                }
+            }
+        }
+    }
+
+    private static void merge(int[] signature, int[] seed) {
+        if (seed != null) {
+            System.arraycopy(MinHash.union(signature, seed), 0, signature, 0, MinHash.SLOTS);
+        }
+    }
+}
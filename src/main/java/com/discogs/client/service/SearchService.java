@@ -1,21 +1,34 @@
 package com.discogs.client.service;
 
+import com.discogs.client.concurrent.FanOutScope;
+import com.discogs.client.concurrent.SingleFlight;
 import com.discogs.client.dto.internal.ArtistDTO;
-import com.discogs.client.dto.internal.MasterDTO;
-import com.discogs.client.dto.internal.ReleaseDTO;
 import com.discogs.client.exception.DiscogsApiException;
-import com.discogs.client.model.*;
-import com.discogs.client.repository.*;
+import com.discogs.client.model.Artist;
+import com.discogs.client.repository.AdvisoryLockRepository;
+import com.discogs.client.repository.ArtistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service class for managing search-related operations.
@@ -24,104 +37,354 @@ import java.util.stream.Collectors;
 public class SearchService {
 
     private final DiscogsApiService discogsApiService;
+    private final DiscogsCatalogCrawler catalogCrawler;
+    private final CatalogPersistenceService catalogPersistenceService;
+    private final CatalogRefreshService catalogRefreshService;
+    private final ArtistStatsService artistStatsService;
     private final ArtistRepository artistRepository;
-    private final MasterRepository masterRepository;
-    private final ReleaseRepository releaseRepository;
+    private final AdvisoryLockRepository advisoryLockRepository;
+    private final ExecutorService discogsFetchExecutor;
+    private final Duration fetchTimeout;
+    private final boolean clusterLock;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<SearchKey> searches = new SingleFlight<>();
+    private final SingleFlight<Long> ingests = new SingleFlight<>();
+
+    /**
+     * Namespace of the advisory locks taken on the Discogs ID of an artist being ingested.
+     */
+    static final int ARTIST_INGEST_LOCK = 0x44_49_4E_47;
+
+    private static final String ARTIST = "artist";
+    private static final String MASTERS = "masters";
+    private static final String RELEASES = "releases";
 
     /**
      * Constructs a new SearchService with the specified dependencies.
      *
      * @param discogsApiService the Discogs API service.
+     * @param catalogCrawler the crawler that walks the artist's masters and releases.
+     * @param catalogPersistenceService the service that stores each crawled page.
+     * @param catalogRefreshService the service that updates a stored catalog from a new crawl.
+     * @param artistStatsService the service maintaining the artist statistics.
      * @param artistRepository the artist repository.
-     * @param masterRepository the master repository.
-     * @param releaseRepository the release repository.
+     * @param advisoryLockRepository the repository taking database-wide locks.
+     * @param discogsFetchExecutor the executor used to fetch artist data concurrently.
+     * @param fetchTimeout the maximum time to wait for the artist details and the complete crawl.
+     * @param clusterLock whether ingests are also serialized across instances with a PostgreSQL advisory lock.
+     * @param meterRegistry the registry the persistence timers and row counters are published to.
      */
     @Autowired
-    public SearchService(DiscogsApiService discogsApiService, ArtistRepository artistRepository,
-                         MasterRepository masterRepository, ReleaseRepository releaseRepository) {
+    public SearchService(DiscogsApiService discogsApiService, DiscogsCatalogCrawler catalogCrawler,
+                         CatalogPersistenceService catalogPersistenceService,
+                         CatalogRefreshService catalogRefreshService, ArtistStatsService artistStatsService,
+                         ArtistRepository artistRepository, AdvisoryLockRepository advisoryLockRepository,
+                         @Qualifier("discogsFetchExecutor") ExecutorService discogsFetchExecutor,
+                         @Value("${discogs.fetch.timeout:10m}") Duration fetchTimeout,
+                         @Value("${discogs.ingest.cluster-lock.enabled:false}") boolean clusterLock,
+                         MeterRegistry meterRegistry) {
         this.discogsApiService = discogsApiService;
+        this.catalogCrawler = catalogCrawler;
+        this.catalogPersistenceService = catalogPersistenceService;
+        this.catalogRefreshService = catalogRefreshService;
+        this.artistStatsService = artistStatsService;
         this.artistRepository = artistRepository;
-        this.masterRepository = masterRepository;
-        this.releaseRepository = releaseRepository;
+        this.advisoryLockRepository = advisoryLockRepository;
+        this.discogsFetchExecutor = discogsFetchExecutor;
+        this.fetchTimeout = fetchTimeout;
+        this.clusterLock = clusterLock;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Searches for an artist by name and saves the artist information in the database.
+     * Artists that are already stored are not fetched again.
      *
      * @param artistName the name of the artist to search for.
      * @throws IllegalArgumentException if the artist name is empty or null.
      * @throws DiscogsApiException if the artist is not found in the Discogs API.
      */
-    @Transactional
     public void searchAndSaveArtist(@NotNull String artistName) {
+        searchAndSaveArtist(artistName, false);
+    }
+
+    /**
+     * Searches for an artist by name and saves the artist information in the database, optionally refreshing
+     * an artist that is already stored.
+     * Concurrent searches for the same name, ignoring case and surrounding whitespace, share one execution and
+     * its result or failure; searches for different names of the same Discogs artist share a single ingest.
+     * When the cluster lock is enabled, the ingest also waits for any other instance ingesting the same artist.
+     *
+     * @param artistName the name of the artist to search for.
+     * @param refresh whether a stored artist is fetched again and its stored catalog updated.
+     * @throws IllegalArgumentException if the artist name is empty or null.
+     * @throws DiscogsApiException if the artist is not found in the Discogs API.
+     */
+    public void searchAndSaveArtist(@NotNull String artistName, boolean refresh) {
         validateArtistName(artistName);
 
-        if (artistRepository.existsByName(artistName)) {
+        searches.execute(new SearchKey(normalizeName(artistName), refresh), () -> {
+            search(artistName.trim(), refresh);
+            return null;
+        });
+    }
+
+    /**
+     * Resolves the artist on Discogs and ingests or refreshes it.
+     *
+     * @param artistName the name of the artist.
+     * @param refresh whether a stored artist is fetched again.
+     */
+    private void search(String artistName, boolean refresh) {
+        if (!refresh && artistRepository.existsByNameIgnoreCase(artistName)) {
             return;
         }
 
-        Long artistId = discogsApiService.getArtistIdByName(artistName);
-        if (artistId == null) {
+        Long discogsId = discogsApiService.getArtistIdByName(artistName);
+        if (discogsId == null) {
             throw new DiscogsApiException("Artist: " + artistName + " not found", HttpStatus.NOT_FOUND);
         }
 
-        ArtistDTO artistDTO = discogsApiService.getArtistDetailsById(artistId);
-        Artist artist = new Artist();
-        artist.setDiscogsId(artistId);
-        artist.setName(Optional.ofNullable(artistDTO.getName()).orElse(""));
-        artist.setRealname(Optional.ofNullable(artistDTO.getRealname()).orElse(""));
-        artist.setProfile(Optional.ofNullable(artistDTO.getProfile()).orElse(""));
-        artist.setResourceUrl(Optional.ofNullable(artistDTO.getResource_url()).orElse(""));
-        artist.setUri(Optional.ofNullable(artistDTO.getUri()).orElse(""));
-        artist.setReleasesUrl(Optional.ofNullable(artistDTO.getReleases_url()).orElse(""));
-        artist.setNameVariations(Optional.ofNullable(artistDTO.getNamevariations()).orElse(new ArrayList<>()));
-        artist.setAliases(Optional.ofNullable(artistDTO.getAliases()).orElse(new ArrayList<>()).stream()
-                .map(aliasDTO -> new Alias(null, aliasDTO.getId(), aliasDTO.getName(), aliasDTO.getResource_url(), artist))
-                .collect(Collectors.toList()));
-
-        artistRepository.save(artist);
-
-        List<MasterDTO> mastersDTO = discogsApiService.getArtistMasters(artistName);
-        List<ReleaseDTO> releasesDTO = discogsApiService.getArtistReleases(artistName);
-
-        if (mastersDTO != null) {
-            for (MasterDTO masterDTO : mastersDTO) {
-                Master master = new Master();
-                master.setDiscogsId(Optional.ofNullable(masterDTO.getId()).orElse(0L));
-                master.setTitle(Optional.ofNullable(masterDTO.getTitle()).orElse(""));
-                master.setCountry(Optional.ofNullable(masterDTO.getCountry()).orElse(""));
-                master.setYear(Optional.ofNullable(masterDTO.getYear()).orElse(""));
-                master.setFormat(Optional.ofNullable(masterDTO.getFormat()).orElse(new ArrayList<>()));
-                master.setLabel(Optional.ofNullable(masterDTO.getLabel()).orElse(new ArrayList<>()));
-                master.setGenre(Optional.ofNullable(masterDTO.getGenre()).orElse(new ArrayList<>()));
-                master.setStyle(Optional.ofNullable(masterDTO.getStyle()).orElse(new ArrayList<>()));
-                master.setThumb(Optional.ofNullable(masterDTO.getThumb()).orElse(""));
-                master.setCoverImage(Optional.ofNullable(masterDTO.getCover_image()).orElse(""));
-                master.setResourceUrl(Optional.ofNullable(masterDTO.getResource_url()).orElse(""));
-                master.setArtist(artist);
-                masterRepository.save(master);
-            }
+        ingest(artistName, discogsId, refresh);
+    }
+
+    /**
+     * Refreshes a stored artist by its Discogs ID.
+     * Unlike a refresh by name, the stored artist is not resolved on Discogs again, so a namesake that the name
+     * search now ranks first cannot be refreshed in its place. A failed refresh is recorded on the artist, so the
+     * stale artist refresher backs off from it instead of picking it again on every run.
+     *
+     * @param discogsId the Discogs ID of the stored artist.
+     */
+    public void refreshStoredArtist(@NotNull Long discogsId) {
+        Optional<Artist> stored = artistRepository.findByDiscogsId(discogsId);
+        if (stored.isEmpty()) {
+            return;
+        }
+        try {
+            ingest(stored.get().getName(), discogsId, true);
+        } catch (RuntimeException e) {
+            catalogPersistenceService.markRefreshFailed(stored.get().getId());
+            throw e;
         }
+    }
 
-        if (releasesDTO != null) {
-            for (ReleaseDTO releaseDTO : releasesDTO) {
-                Release release = new Release();
-                release.setDiscogsId(Optional.ofNullable(releaseDTO.getId()).orElse(0L));
-                release.setTitle(Optional.ofNullable(releaseDTO.getTitle()).orElse(""));
-                release.setCountry(Optional.ofNullable(releaseDTO.getCountry()).orElse(""));
-                release.setYear(Optional.ofNullable(releaseDTO.getYear()).orElse(""));
-                release.setFormat(Optional.ofNullable(releaseDTO.getFormat()).orElse(new ArrayList<>()));
-                release.setLabel(Optional.ofNullable(releaseDTO.getLabel()).orElse(new ArrayList<>()));
-                release.setGenre(Optional.ofNullable(releaseDTO.getGenre()).orElse(new ArrayList<>()));
-                release.setStyle(Optional.ofNullable(releaseDTO.getStyle()).orElse(new ArrayList<>()));
-                release.setThumb(Optional.ofNullable(releaseDTO.getThumb()).orElse(""));
-                release.setMaster_id(Optional.ofNullable(releaseDTO.getMaster_id()).orElse(0L));
-                release.setCoverImage(Optional.ofNullable(releaseDTO.getCover_image()).orElse(""));
-                release.setResourceUrl(Optional.ofNullable(releaseDTO.getResource_url()).orElse(""));
-                release.setArtist(artist);
-                releaseRepository.save(release);
+    /**
+     * Ingests or refreshes an artist, sharing one execution with concurrent ingests of the same Discogs ID and,
+     * when the cluster lock is enabled, waiting for any other instance ingesting it.
+     *
+     * @param artistName the name of the artist.
+     * @param discogsId the Discogs ID of the artist.
+     * @param refresh whether a stored artist is fetched again.
+     */
+    private void ingest(String artistName, Long discogsId, boolean refresh) {
+        ingests.execute(discogsId, () -> {
+            if (!clusterLock) {
+                return ingestOrRefresh(artistName, discogsId, refresh);
             }
+            return advisoryLockRepository.withLock(ARTIST_INGEST_LOCK, Long.hashCode(discogsId), fetchTimeout,
+                    () -> ingestOrRefresh(artistName, discogsId, refresh));
+        });
+    }
+
+    /**
+     * Ingests an artist that is not stored yet, or refreshes a stored one if requested.
+     * Whether the artist is stored is checked only here, after any other ingest of it has finished.
+     *
+     * @param artistName the name of the artist.
+     * @param discogsId the Discogs ID of the artist.
+     * @param refresh whether a stored artist is fetched again.
+     * @return always null.
+     */
+    private Void ingestOrRefresh(String artistName, Long discogsId, boolean refresh) {
+        Optional<Long> storedArtistId = artistRepository.findByDiscogsId(discogsId).map(Artist::getId);
+        if (storedArtistId.isEmpty()) {
+            ingestArtist(artistName, discogsId);
+        } else if (refresh) {
+            refreshArtist(artistName, discogsId, storedArtistId.get());
         }
+        return null;
+    }
+
+    /**
+     * Fetches and stores an artist that is not stored yet.
+     * The artist details and every page of masters and releases are fetched concurrently, and each
+     * page is stored in its own transaction as soon as it arrives. If any step fails, whatever was
+     * already stored for the artist is removed so a later search starts from scratch.
+     *
+     * @param artistName the name of the artist.
+     * @param discogsId the Discogs ID of the artist.
+     */
+    private void ingestArtist(String artistName, Long discogsId) {
+        CompletableFuture<Long> savedArtistId = new CompletableFuture<>();
+        try (FanOutScope scope = FanOutScope.open(discogsFetchExecutor, fetchTimeout)) {
+            scope.fork(() -> {
+                Long artistId = saveArtist(discogsId, discogsApiService.getArtistDetailsById(discogsId), false);
+                if (!savedArtistId.complete(artistId)) {
+                    catalogPersistenceService.deleteArtist(artistId);
+                }
+                return artistId;
+            });
+            scope.fork(() -> catalogCrawler.crawlMasters(artistName, page -> {
+                Long artistId = awaitArtist(savedArtistId);
+                catalogPersistenceService.internMasterTags(page);
+                persistTimer(MASTERS, false).record(() -> catalogPersistenceService.saveMasters(artistId, page));
+                countRows(MASTERS, false, page.size());
+            }));
+            scope.fork(() -> catalogCrawler.crawlReleases(artistName, page -> {
+                Long artistId = awaitArtist(savedArtistId);
+                catalogPersistenceService.internReleaseTags(page);
+                persistTimer(RELEASES, false).record(() -> catalogPersistenceService.saveReleases(artistId, page));
+                countRows(RELEASES, false, page.size());
+            }));
+            scope.join();
+        } catch (RuntimeException e) {
+            savedArtistId.cancel(false);
+            removePartialArtist(savedArtistId);
+            throw fetchFailure(artistName, e);
+        }
+        catalogPersistenceService.markFetched(savedArtistId.join());
+    }
+
+    /**
+     * Fetches a stored artist again and writes only what changed.
+     * Each crawled page is upserted in its own transaction; masters and releases that Discogs no longer lists
+     * are removed only after the whole crawl succeeded. A failed refresh leaves the stored artist in place.
+     *
+     * @param artistName the name of the artist.
+     * @param discogsId the Discogs ID of the artist.
+     * @param artistId the id of the stored artist.
+     */
+    private void refreshArtist(String artistName, Long discogsId, Long artistId) {
+        Set<Long> seenMasters = ConcurrentHashMap.newKeySet();
+        Set<Long> seenReleases = ConcurrentHashMap.newKeySet();
+        AtomicInteger changedReleases = new AtomicInteger();
+        try (FanOutScope scope = FanOutScope.open(discogsFetchExecutor, fetchTimeout)) {
+            scope.fork(() -> saveArtist(discogsId, discogsApiService.getArtistDetailsById(discogsId), true));
+            scope.fork(() -> catalogCrawler.crawlMasters(artistName, page -> {
+                catalogPersistenceService.internMasterTags(page);
+                countRows(MASTERS, true,
+                        persistTimer(MASTERS, true).record(() -> catalogRefreshService.refreshMasters(artistId, page, seenMasters)));
+            }));
+            scope.fork(() -> catalogCrawler.crawlReleases(artistName, page -> {
+                catalogPersistenceService.internReleaseTags(page);
+                int changed = persistTimer(RELEASES, true).record(
+                        () -> catalogRefreshService.refreshReleases(artistId, page, seenReleases));
+                changedReleases.addAndGet(changed);
+                countRows(RELEASES, true, changed);
+            }));
+            scope.join();
+        } catch (RuntimeException e) {
+            throw fetchFailure(artistName, e);
+        }
+        catalogRefreshService.removeMastersNotIn(artistId, seenMasters);
+        int removedReleases = catalogRefreshService.removeReleasesNotIn(artistId, seenReleases);
+        if (changedReleases.get() > 0 || removedReleases > 0) {
+            artistStatsService.recompute(artistId);
+        }
+        catalogPersistenceService.markFetched(artistId);
+    }
+
+    /**
+     * Stores the details of an artist, timing the write.
+     *
+     * @param discogsId the Discogs ID of the artist.
+     * @param details the artist details returned by Discogs.
+     * @param refresh whether a stored artist is being refreshed.
+     * @return the id of the stored artist.
+     */
+    private Long saveArtist(Long discogsId, ArtistDTO details, boolean refresh) {
+        Long artistId = persistTimer(ARTIST, refresh).record(() -> catalogPersistenceService.saveArtist(discogsId, details));
+        countRows(ARTIST, refresh, 1);
+        return artistId;
+    }
+
+    /**
+     * Returns the timer of a persistence phase: storing the artist details or one page of masters or releases,
+     * including the commit.
+     *
+     * @param phase the persistence phase.
+     * @param refresh whether a stored artist is being refreshed.
+     * @return the timer.
+     */
+    private Timer persistTimer(String phase, boolean refresh) {
+        return Timer.builder("discogs.ingest.persist")
+                .tag("phase", phase)
+                .tag("mode", refresh ? "refresh" : "ingest")
+                .description("Time spent storing the artist details or one page of its catalog")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts rows written: every stored row when ingesting, and only the rows that changed when refreshing.
+     *
+     * @param phase the persistence phase.
+     * @param refresh whether a stored artist is being refreshed.
+     * @param rows the number of rows written.
+     */
+    private void countRows(String phase, boolean refresh, int rows) {
+        Counter.builder("discogs.ingest.rows")
+                .tag("phase", phase)
+                .tag("mode", refresh ? "refresh" : "ingest")
+                .description("Rows written while ingesting or refreshing artists")
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    /**
+     * Maps a failure of the concurrent fetch to the exception reported to the caller.
+     *
+     * @param artistName the name of the artist being fetched.
+     * @param e the failure.
+     * @return the exception to throw.
+     */
+    private static RuntimeException fetchFailure(String artistName, RuntimeException e) {
+        if (e instanceof CompletionException && e.getCause() instanceof TimeoutException) {
+            return new DiscogsApiException("Timed out fetching artist: " + artistName, HttpStatus.GATEWAY_TIMEOUT, e);
+        }
+        if (e instanceof CompletionException) {
+            return new DiscogsApiException("Error fetching artist: " + artistName, HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+        return e;
+    }
+
+    /**
+     * Blocks a crawl until the artist its pages belong to has been stored.
+     *
+     * @param savedArtistId completes with the id of the stored artist.
+     * @return the id of the stored artist.
+     */
+    private static Long awaitArtist(CompletableFuture<Long> savedArtistId) {
+        try {
+            return savedArtistId.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the artist to be stored");
+        } catch (ExecutionException e) {
+            throw new CancellationException("Artist was not stored");
+        }
+    }
+
+    /**
+     * Removes an artist whose ingest did not complete.
+     *
+     * @param savedArtistId completes with the id of the stored artist, if it was stored.
+     */
+    private void removePartialArtist(CompletableFuture<Long> savedArtistId) {
+        if (savedArtistId.isDone() && !savedArtistId.isCompletedExceptionally()) {
+            catalogPersistenceService.deleteArtist(savedArtistId.join());
+        }
+    }
+
+    /**
+     * Normalizes an artist name for coalescing searches: trimmed, with runs of whitespace collapsed and lower case.
+     *
+     * @param artistName the name of the artist.
+     * @return the normalized name.
+     */
+    static String normalizeName(String artistName) {
+        return artistName.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -136,5 +399,12 @@ public class SearchService {
         }
     }
 
-
-}
\ No newline at end of file
+    /**
+     * Identifies the searches that can share one execution.
+     *
+     * @param name the normalized artist name.
+     * @param refresh whether the search refreshes a stored artist.
+     */
+    private record SearchKey(String name, boolean refresh) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.discogs.client.service;
+
+import com.discogs.client.http.DiscogsRateLimiter;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.repository.AdvisoryLockRepository;
+import com.discogs.client.repository.ArtistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Scheduler that keeps stored artists fresh by queueing refresh jobs for artists not fetched recently.
+ * Stale artists are taken most queried first and refreshed by their stored Discogs ID. Each run earns a share of the
+ * Discogs request budget and spends it on the estimated requests of the refreshes it queues; budget left unspent
+ * carries over while stale artists remain, up to a few runs' worth, so an artist too large for a single run is
+ * queued once enough has accumulated. An artist costing more than that cap is queued once the credit is full, and
+ * the following runs repay the overdraft. Artists whose refresh failed are not picked again until they are stale
+ * again, so a failing artist does not keep the head of the queue.
+ */
+@Component
+public class StaleArtistRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleArtistRefresher.class);
+
+    /**
+     * Namespace of the advisory lock that lets a single instance queue refreshes at a time.
+     */
+    static final int STALE_REFRESH_LOCK = 0x52_46_53_48;
+
+    /**
+     * Requests made by a refresh besides the crawled pages: the artist details and the first page of masters.
+     */
+    private static final int FIXED_REQUESTS_PER_REFRESH = 2;
+
+    /**
+     * Number of runs' budget the unspent credit may accumulate to.
+     */
+    private static final int MAX_CREDIT_RUNS = 4;
+
+    private final ArtistRepository artistRepository;
+    private final ArtistStatsService artistStatsService;
+    private final IngestJobService ingestJobService;
+    private final DiscogsRateLimiter rateLimiter;
+    private final AdvisoryLockRepository advisoryLockRepository;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration staleAfter;
+    private final double rateShare;
+    private final int batchSize;
+    private final int perPage;
+    private final boolean clusterLock;
+    private double credit;
+
+    /**
+     * Constructs a new StaleArtistRefresher with the specified dependencies.
+     *
+     * @param artistRepository the artist repository.
+     * @param artistStatsService the service maintaining the artist statistics, used to estimate refresh costs.
+     * @param ingestJobService the service queueing the refreshes.
+     * @param rateLimiter the limiter that knows the Discogs request budget.
+     * @param advisoryLockRepository the repository taking database-wide locks.
+     * @param enabled whether stale artists are refreshed.
+     * @param interval the time between runs.
+     * @param staleAfter how long after its last fetch an artist is refreshed.
+     * @param rateShare the share of the Discogs request budget refreshes may use, between 0 and 1.
+     * @param batchSize the maximum number of stale artists considered per run.
+     * @param perPage the number of items per crawled page.
+     * @param clusterLock whether runs are serialized across instances with a PostgreSQL advisory lock.
+     */
+    @Autowired
+    public StaleArtistRefresher(ArtistRepository artistRepository, ArtistStatsService artistStatsService,
+                                IngestJobService ingestJobService, DiscogsRateLimiter rateLimiter,
+                                AdvisoryLockRepository advisoryLockRepository,
+                                @Value("${discogs.refresh.enabled:true}") boolean enabled,
+                                @Value("${discogs.refresh.interval:PT10M}") Duration interval,
+                                @Value("${discogs.refresh.stale-after:7d}") Duration staleAfter,
+                                @Value("${discogs.refresh.rate-share:0.2}") double rateShare,
+                                @Value("${discogs.refresh.batch-size:100}") int batchSize,
+                                @Value("${discogs.crawl.per-page:100}") int perPage,
+                                @Value("${discogs.ingest.cluster-lock.enabled:false}") boolean clusterLock) {
+        if (rateShare < 0 || rateShare > 1) {
+            throw new IllegalArgumentException("discogs.refresh.rate-share must be between 0 and 1");
+        }
+        this.artistRepository = artistRepository;
+        this.artistStatsService = artistStatsService;
+        this.ingestJobService = ingestJobService;
+        this.rateLimiter = rateLimiter;
+        this.advisoryLockRepository = advisoryLockRepository;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.staleAfter = staleAfter;
+        this.rateShare = rateShare;
+        this.batchSize = batchSize;
+        this.perPage = Math.max(perPage, 1);
+        this.clusterLock = clusterLock;
+    }
+
+    /**
+     * Queues refreshes of the stale artists this run's budget allows.
+     */
+    @Scheduled(fixedDelayString = "${discogs.refresh.interval:PT10M}", initialDelayString = "${discogs.refresh.interval:PT10M}")
+    public void refreshStaleArtists() {
+        if (!enabled) {
+            return;
+        }
+        if (!clusterLock) {
+            queueRefreshes();
+            return;
+        }
+        try {
+            advisoryLockRepository.withLock(STALE_REFRESH_LOCK, 0, Duration.ZERO, this::queueRefreshes);
+        } catch (CannotAcquireLockException e) {
+            log.debug("Stale artist refresh skipped: another instance is queueing refreshes");
+        }
+    }
+
+    /**
+     * Queues refreshes in priority order while the accumulated budget covers their estimated cost.
+     *
+     * @return the number of refreshes queued.
+     */
+    synchronized int queueRefreshes() {
+        List<Artist> stale = artistRepository.findStale(Instant.now().minus(staleAfter), Limit.of(batchSize));
+        if (stale.isEmpty()) {
+            credit = 0;
+            return 0;
+        }
+        double budget = rateLimiter.getRequestsPerMinute() * rateShare * interval.toMillis() / Duration.ofMinutes(1).toMillis();
+        double maxCredit = budget * MAX_CREDIT_RUNS;
+        credit = Math.min(credit + budget, maxCredit);
+        int queued = 0;
+        for (Artist artist : stale) {
+            if (ingestJobService.hasActiveJob(artist.getName(), true)) {
+                continue;
+            }
+            int cost = estimateRequests(artist);
+            // An artist costing more than the cap could never be afforded, so it is queued once the credit is full.
+            boolean overdraft = maxCredit > 0 && credit >= maxCredit && cost > maxCredit;
+            if (cost > credit && !overdraft) {
+                break;
+            }
+            ingestJobService.enqueueRefresh(artist.getDiscogsId(), artist.getName());
+            credit -= cost;
+            queued++;
+        }
+        log.info("Queued refresh of {} of {} stale artists", queued, stale.size());
+        return queued;
+    }
+
+    /**
+     * Estimates the Discogs requests a refresh of an artist makes from its stored release count, assuming it has
+     * at most as many masters as releases.
+     */
+    private int estimateRequests(Artist artist) {
+        int releases = artistStatsService.findByArtistId(artist.getId())
+                .map(ArtistStats::getReleaseCount)
+                .orElse(0);
+        int pages = (releases + perPage - 1) / perPage;
+        return FIXED_REQUESTS_PER_REFRESH + 2 * pages;
+    }
+}
@@ -0,0 +1,117 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.Tag;
+import com.discogs.client.repository.TagRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class that interns genre and style names, mapping each distinct name to the small integer id of its
+ * row in the tag dictionary. The whole dictionary is read into memory on first use, and again whenever the tag
+ * index is rebuilt to learn the names other instances added; otherwise only names never seen before reach the
+ * database. A new name is stored in a transaction of its own, so names are interned before the transaction that
+ * stores them opens: doing it inside would hold a second pooled connection while the first waits.
+ */
+@Service
+public class TagDictionary {
+
+    private final TagRepository tagRepository;
+    private final Map<Tag.Kind, Map<String, Integer>> ids = new EnumMap<>(Tag.Kind.class);
+    private volatile boolean loaded;
+
+    /**
+     * Constructs a new TagDictionary with the specified dependencies.
+     *
+     * @param tagRepository the tag repository.
+     */
+    @Autowired
+    public TagDictionary(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+        for (Tag.Kind kind : Tag.Kind.values()) {
+            ids.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the id of a genre or style, adding it to the dictionary if it is not there yet.
+     * New names are added one at a time; a name added concurrently by another instance is read back instead
+     * of failing.
+     *
+     * @param kind whether the name is a genre or a style.
+     * @param name the genre or style.
+     * @return the id of the tag.
+     * @throws IllegalStateException if the name is new and a transaction is active.
+     */
+    public int intern(Tag.Kind kind, String name) {
+        Integer id = find(kind, name);
+        if (id != null) {
+            return id;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("The " + kind + " " + name + " must be interned before the transaction opens");
+        }
+        synchronized (this) {
+            id = ids.get(kind).get(name);
+            if (id == null) {
+                Tag tag;
+                try {
+                    tag = tagRepository.saveAndFlush(Tag.builder().kind(kind).name(name).build());
+                } catch (DataIntegrityViolationException e) {
+                    tag = tagRepository.findByKindAndName(kind, name).orElseThrow(() -> e);
+                }
+                id = tag.getId();
+                ids.get(kind).put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the id of a genre or style without adding it to the dictionary.
+     *
+     * @param kind whether the name is a genre or a style.
+     * @param name the genre or style.
+     * @return the id of the tag, or null if the name is not in the dictionary.
+     */
+    public Integer find(Tag.Kind kind, String name) {
+        if (!loaded) {
+            reload();
+        }
+        return ids.get(kind).get(name);
+    }
+
+    /**
+     * Adds genres or styles to the dictionary, skipping null and blank names.
+     *
+     * @param kind whether the names are genres or styles.
+     * @param names the genres or styles, or null for none.
+     * @throws IllegalStateException if a name is new and a transaction is active.
+     */
+    public void internAll(Tag.Kind kind, Collection<String> names) {
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                intern(kind, name);
+            }
+        }
+    }
+
+    /**
+     * Reads the whole dictionary again, adding the names other instances stored since it was last read.
+     */
+    public synchronized void reload() {
+        for (Tag tag : tagRepository.findAll()) {
+            ids.get(tag.getKind()).putIfAbsent(tag.getName(), tag.getId());
+        }
+        loaded = true;
+    }
+}
@@ -0,0 +1,296 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.Release;
+import com.discogs.client.model.Tag;
+import com.discogs.client.repository.ReleaseRepository;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory bitmap indexes of the stored releases by genre and style, so questions such as "the releases of an
+ * artist in a genre" or "the artists with releases in a genre" are answered by intersecting bitmaps instead of
+ * scanning the releases table.
+ *
+ * <p>For every tag of the {@link TagDictionary} the index keeps the ids of the releases and of the artists
+ * carrying it, and for every artist the ids of its releases. It is built from the database once the application
+ * is ready and kept up to date by the services that store and delete releases. The bitmaps only change once the
+ * reporting transaction commits, so a rolled back ingest never shows up in query results. Those services only
+ * report the changes of this instance, so the index is also rebuilt on a schedule to pick up the releases other
+ * instances stored or deleted; queries keep reading the current bitmaps while it is rebuilt.
+ */
+@Component
+public class TagIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TagIndex.class);
+
+    static final int PAGE_SIZE = 1000;
+
+    private final ReleaseRepository releaseRepository;
+    private final TagDictionary tagDictionary;
+    private final IndexUpdates updates = new IndexUpdates();
+    private Bitmaps bitmaps = new Bitmaps();
+
+    /**
+     * Constructs a new TagIndex with the specified dependencies.
+     *
+     * @param releaseRepository the release repository.
+     * @param tagDictionary the dictionary of genre and style ids.
+     */
+    @Autowired
+    public TagIndex(ReleaseRepository releaseRepository, TagDictionary tagDictionary) {
+        this.releaseRepository = releaseRepository;
+        this.tagDictionary = tagDictionary;
+    }
+
+    /**
+     * Builds the index from the stored releases, reading them in pages in id order, and replaces the current one
+     * with it. The tag dictionary is read again first, to learn the tags other instances added.
+     * Changes reported while the index is being built are applied to the new index once it is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${discogs.tag-index.rebuild-interval:PT15M}",
+            initialDelayString = "${discogs.tag-index.rebuild-interval:PT15M}")
+    public void build() {
+        tagDictionary.reload();
+        updates.rebuild(this::read, read -> bitmaps = read);
+    }
+
+    private Bitmaps read() {
+        long start = System.nanoTime();
+        Bitmaps read = new Bitmaps();
+        long releases = 0;
+        List<Object[]> page;
+        long after = 0;
+        do {
+            page = releaseRepository.findTagRowsAfter(after, Limit.of(PAGE_SIZE));
+            for (Object[] row : page) {
+                after = (Long) row[0];
+                read.put((Long) row[1], after, tagIds(row[2], row[3]));
+            }
+            releases += page.size();
+        } while (page.size() == PAGE_SIZE);
+        read.releasesByTag.values().forEach(Roaring64Bitmap::runOptimize);
+        read.artistsByTag.values().forEach(Roaring64Bitmap::runOptimize);
+        read.releasesByArtist.values().forEach(Roaring64Bitmap::runOptimize);
+        log.info("Indexed the genres and styles of {} releases in {} ms", releases,
+                (System.nanoTime() - start) / 1_000_000);
+        return read;
+    }
+
+    /**
+     * Adds stored releases of an artist to the index, replacing the tags of releases already indexed.
+     *
+     * @param artistId the id of the artist.
+     * @param releases the stored releases.
+     */
+    public void indexReleases(Long artistId, Collection<Release> releases) {
+        Map<Long, int[]> tags = new HashMap<>(releases.size() * 2);
+        for (Release release : releases) {
+            tags.put(release.getId(), tagIds(release.getGenre(), release.getStyle()));
+        }
+        updates.afterCommit(() -> tags.forEach((releaseId, tagIds) -> bitmaps.put(artistId, releaseId, tagIds)));
+    }
+
+    /**
+     * Removes deleted releases of an artist from the index.
+     *
+     * @param artistId the id of the artist.
+     * @param releaseIds the ids of the deleted releases.
+     */
+    public void removeReleases(Long artistId, Collection<Long> releaseIds) {
+        List<Long> ids = List.copyOf(releaseIds);
+        updates.afterCommit(() -> ids.forEach(releaseId -> bitmaps.remove(artistId, releaseId)));
+    }
+
+    /**
+     * Re-reads the stored releases of an artist and replaces its part of the index with them.
+     *
+     * @param artistId the id of the artist.
+     */
+    public void reindexArtist(Long artistId) {
+        Map<Long, int[]> tags = tagIdsByRelease(releaseRepository.findTagRowsByArtistId(artistId));
+        updates.afterCommit(() -> {
+            bitmaps.removeAll(artistId);
+            tags.forEach((releaseId, tagIds) -> bitmaps.put(artistId, releaseId, tagIds));
+        });
+    }
+
+    /**
+     * Removes a deleted artist and all its releases from the index.
+     *
+     * @param artistId the id of the artist.
+     */
+    public void removeArtist(Long artistId) {
+        updates.afterCommit(() -> bitmaps.removeAll(artistId));
+    }
+
+    /**
+     * Finds the releases of an artist that have the given genre and style.
+     *
+     * @param artistId the id of the artist.
+     * @param genre the genre the releases must have, or null for any genre.
+     * @param style the style the releases must have, or null for any style.
+     * @return the ids of the matching releases, in ascending order.
+     */
+    public long[] findReleaseIds(Long artistId, String genre, String style) {
+        Integer genreId = genre == null ? null : tagDictionary.find(Tag.Kind.GENRE, genre);
+        Integer styleId = style == null ? null : tagDictionary.find(Tag.Kind.STYLE, style);
+        if ((genre != null && genreId == null) || (style != null && styleId == null)) {
+            return new long[0];
+        }
+        updates.readLock().lock();
+        try {
+            Roaring64Bitmap releases = bitmaps.releasesByArtist.get(artistId);
+            if (releases == null) {
+                return new long[0];
+            }
+            Roaring64Bitmap matches = releases.clone();
+            if (genreId != null) {
+                matches.and(bitmaps.releasesByTag.getOrDefault(genreId, new Roaring64Bitmap()));
+            }
+            if (styleId != null) {
+                matches.and(bitmaps.releasesByTag.getOrDefault(styleId, new Roaring64Bitmap()));
+            }
+            return matches.toArray();
+        } finally {
+            updates.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the next page of artists with at least one release of the given genre or style, in id order.
+     *
+     * @param kind whether the name is a genre or a style.
+     * @param name the genre or style.
+     * @param after the artist id to start after.
+     * @param limit the maximum number of artist ids to return.
+     * @return the ids of the matching artists greater than {@code after}, in ascending order.
+     */
+    public List<Long> findArtistIds(Tag.Kind kind, String name, long after, int limit) {
+        Integer tagId = tagDictionary.find(kind, name);
+        if (tagId == null) {
+            return List.of();
+        }
+        updates.readLock().lock();
+        try {
+            Roaring64Bitmap artists = bitmaps.artistsByTag.get(tagId);
+            if (artists == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>(limit);
+            PeekableLongIterator iterator = artists.getLongIteratorFrom(after + 1);
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add(iterator.next());
+            }
+            return ids;
+        } finally {
+            updates.readLock().unlock();
+        }
+    }
+
+    private Map<Long, int[]> tagIdsByRelease(List<Object[]> rows) {
+        Map<Long, int[]> tags = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            tags.put((Long) row[0], tagIds(row[1], row[2]));
+        }
+        return tags;
+    }
+
+    /**
+     * Looks up the ids of the genres and styles of a stored release. Stored tags are always in the dictionary,
+     * but one added by another instance may not be in its in-memory copy yet, so a miss reads the dictionary
+     * again; this only reads, so it is safe inside the transaction reporting the change. Tags are never added
+     * here.
+     */
+    private int[] tagIds(Object genres, Object styles) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        find(Tag.Kind.GENRE, genres, ids);
+        find(Tag.Kind.STYLE, styles, ids);
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void find(Tag.Kind kind, Object names, Set<Integer> ids) {
+        if (names instanceof Collection<?> values) {
+            for (Object name : values) {
+                if (name != null && !name.toString().isBlank()) {
+                    Integer id = tagDictionary.find(kind, name.toString());
+                    if (id == null) {
+                        tagDictionary.reload();
+                        id = tagDictionary.find(kind, name.toString());
+                    }
+                    if (id != null) {
+                        ids.add(id);
+                    } else {
+                        log.warn("The {} {} is not in the tag dictionary and is not indexed", kind, name);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The bitmaps of the index, replaced as a whole when the index is rebuilt.
+     */
+    private static final class Bitmaps {
+
+        private final Map<Integer, Roaring64Bitmap> releasesByTag = new HashMap<>();
+        private final Map<Integer, Roaring64Bitmap> artistsByTag = new HashMap<>();
+        private final Map<Long, Roaring64Bitmap> releasesByArtist = new HashMap<>();
+
+        /**
+         * Indexes a release under the given tags, first removing it from the tags it had before.
+         */
+        private void put(long artistId, long releaseId, int[] tagIds) {
+            remove(artistId, releaseId);
+            releasesByArtist.computeIfAbsent(artistId, id -> new Roaring64Bitmap()).addLong(releaseId);
+            for (int tagId : tagIds) {
+                releasesByTag.computeIfAbsent(tagId, id -> new Roaring64Bitmap()).addLong(releaseId);
+                artistsByTag.computeIfAbsent(tagId, id -> new Roaring64Bitmap()).addLong(artistId);
+            }
+        }
+
+        /**
+         * Removes a release from the index, dropping its artist from the tags none of its other releases carry.
+         */
+        private void remove(long artistId, long releaseId) {
+            Roaring64Bitmap releases = releasesByArtist.get(artistId);
+            if (releases == null || !releases.contains(releaseId)) {
+                return;
+            }
+            releases.removeLong(releaseId);
+            releasesByTag.forEach((tagId, tagged) -> {
+                if (tagged.contains(releaseId)) {
+                    tagged.removeLong(releaseId);
+                    if (!Roaring64Bitmap.intersects(releases, tagged)) {
+                        artistsByTag.get(tagId).removeLong(artistId);
+                    }
+                }
+            });
+            if (releases.isEmpty()) {
+                releasesByArtist.remove(artistId);
+            }
+        }
+
+        /**
+         * Removes an artist and all its releases from the index.
+         */
+        private void removeAll(long artistId) {
+            Roaring64Bitmap releases = releasesByArtist.remove(artistId);
+            if (releases == null) {
+                return;
+            }
+            releasesByTag.values().forEach(tagged -> tagged.andNot(releases));
+            artistsByTag.values().forEach(artists -> artists.removeLong(artistId));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+-- Schema as created by Hibernate before migrations were managed by Flyway.
+
+create sequence aliases_seq start with 1 increment by 50;
+create sequence artists_seq start with 1 increment by 50;
+create sequence masters_seq start with 1 increment by 50;
+create sequence releases_seq start with 1 increment by 50;
+create table aliases (artist_id bigint not null, discogs_id bigint not null, id bigint not null, name varchar(255) not null, resource_url varchar(255), primary key (id));
+create table artist_name_variations (artist_id bigint not null, name_variations varchar(255));
+create table artist_stats (max_year integer, min_year integer, release_count integer not null, artist_id bigint not null, genre_counts json, primary key (artist_id));
+create table artists (discogs_id bigint not null, id bigint not null, profile varchar(2000), name varchar(255) not null, realname varchar(255), releases_url varchar(255), resource_url varchar(255), uri varchar(255), primary key (id));
+create table master_format (master_id bigint not null, format varchar(255));
+create table master_genre (master_id bigint not null, genre varchar(255));
+create table master_label (master_id bigint not null, label varchar(255));
+create table master_style (master_id bigint not null, style varchar(255));
+create table masters (artist_id bigint not null, discogs_id bigint not null, id bigint not null, country varchar(255), cover_image varchar(255), resource_url varchar(255), thumb varchar(255), title varchar(255) not null, "YEAR" varchar(255), primary key (id));
+create table release_format (release_id bigint not null, format varchar(255));
+create table release_genre (release_id bigint not null, genre varchar(255));
+create table release_label (release_id bigint not null, label varchar(255));
+create table release_style (release_id bigint not null, style varchar(255));
+create table releases (artist_id bigint not null, discogs_id bigint not null, id bigint not null, master_id bigint, country varchar(255), cover_image varchar(255), resource_url varchar(255), thumb varchar(255), title varchar(255) not null, "YEAR" varchar(255), primary key (id));
+alter table if exists aliases add constraint FKoyfniqta2uli69oatbicef5fn foreign key (artist_id) references artists;
+alter table if exists artist_name_variations add constraint FKkm2nx9dc795lc3b4y147iyh4 foreign key (artist_id) references artists;
+alter table if exists master_format add constraint FK26wlc4kfbya42rwweliub9d1v foreign key (master_id) references masters;
+alter table if exists master_genre add constraint FK4cabyh0ot274vk8bwedd8qi84 foreign key (master_id) references masters;
+alter table if exists master_label add constraint FK7le07h82j3xwqdu65d4ml391x foreign key (master_id) references masters;
+alter table if exists master_style add constraint FKctl6trok7rej2yn3xiugy3s3l foreign key (master_id) references masters;
+alter table if exists masters add constraint FKdcodlhm0d6i2au98gghv7pp38 foreign key (artist_id) references artists;
+alter table if exists release_format add constraint FKcua7oxtgmmij0or3s5sew46vb foreign key (release_id) references releases;
+alter table if exists release_genre add constraint FK72dpiyti0f7ry2yyi9fjy1xo foreign key (release_id) references releases;
+alter table if exists release_label add constraint FKxt2no5qp9cj0xcvdyy20vy0m foreign key (release_id) references releases;
+alter table if exists release_style add constraint FKh5eiqb7v67uey80pxon4evhny foreign key (release_id) references releases;
+alter table if exists releases add constraint FK7710odv0gvfugl151lnhf252g foreign key (artist_id) references artists;
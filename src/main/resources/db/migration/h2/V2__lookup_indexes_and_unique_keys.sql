@@ -0,0 +1,19 @@
+-- Lookup indexes and natural keys.
+
+alter table artists add constraint uk_artists_discogs_id unique (discogs_id);
+alter table masters add constraint uk_masters_artist_discogs_id unique (artist_id, discogs_id);
+alter table releases add constraint uk_releases_artist_discogs_id unique (artist_id, discogs_id);
+
+create index idx_artists_name on artists (name);
+create index idx_masters_title on masters (title);
+create index idx_releases_title on releases (title);
+create index idx_aliases_artist_id on aliases (artist_id);
+create index idx_artist_name_variations_artist_id on artist_name_variations (artist_id);
+create index idx_master_format_master_id on master_format (master_id);
+create index idx_master_genre_master_id on master_genre (master_id);
+create index idx_master_label_master_id on master_label (master_id);
+create index idx_master_style_master_id on master_style (master_id);
+create index idx_release_format_release_id on release_format (release_id);
+create index idx_release_genre_release_id on release_genre (release_id);
+create index idx_release_label_release_id on release_label (release_id);
+create index idx_release_style_release_id on release_style (release_id);
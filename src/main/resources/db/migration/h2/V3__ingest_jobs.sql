@@ -0,0 +1,7 @@
+-- Durable queue of artist ingests; H2 has no partial indexes, so the active-job key is not unique here.
+
+create table ingest_jobs (id uuid not null, artist_name varchar(255) not null, artist_key varchar(255) not null, refresh boolean not null, status varchar(16) not null, attempts integer not null, last_error varchar(2000), locked_by varchar(255), locked_at timestamp(6) with time zone, next_attempt_at timestamp(6) with time zone not null, created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null, completed_at timestamp(6) with time zone, primary key (id));
+
+create index idx_ingest_jobs_due on ingest_jobs (status, next_attempt_at);
+create index idx_ingest_jobs_active on ingest_jobs (artist_key, refresh, status);
+create index idx_ingest_jobs_updated_at on ingest_jobs (updated_at);
@@ -0,0 +1,30 @@
+-- Formats, labels, genres and styles of masters and releases move from one join table each into array
+-- columns of the row, so a master or release is read and written as a single row. The join tables have no
+-- key, so the values are aggregated in row id order, the order they were inserted and read back in.
+
+alter table masters add column format varchar(255) array default array[];
+alter table masters add column label varchar(255) array default array[];
+alter table masters add column genre varchar(255) array default array[];
+alter table masters add column style varchar(255) array default array[];
+alter table releases add column format varchar(255) array default array[];
+alter table releases add column label varchar(255) array default array[];
+alter table releases add column genre varchar(255) array default array[];
+alter table releases add column style varchar(255) array default array[];
+
+update masters t set format = (select array_agg(v.format order by v._ROWID_) from master_format v where v.master_id = t.id) where exists (select 1 from master_format v where v.master_id = t.id);
+update masters t set label = (select array_agg(v.label order by v._ROWID_) from master_label v where v.master_id = t.id) where exists (select 1 from master_label v where v.master_id = t.id);
+update masters t set genre = (select array_agg(v.genre order by v._ROWID_) from master_genre v where v.master_id = t.id) where exists (select 1 from master_genre v where v.master_id = t.id);
+update masters t set style = (select array_agg(v.style order by v._ROWID_) from master_style v where v.master_id = t.id) where exists (select 1 from master_style v where v.master_id = t.id);
+update releases t set format = (select array_agg(v.format order by v._ROWID_) from release_format v where v.release_id = t.id) where exists (select 1 from release_format v where v.release_id = t.id);
+update releases t set label = (select array_agg(v.label order by v._ROWID_) from release_label v where v.release_id = t.id) where exists (select 1 from release_label v where v.release_id = t.id);
+update releases t set genre = (select array_agg(v.genre order by v._ROWID_) from release_genre v where v.release_id = t.id) where exists (select 1 from release_genre v where v.release_id = t.id);
+update releases t set style = (select array_agg(v.style order by v._ROWID_) from release_style v where v.release_id = t.id) where exists (select 1 from release_style v where v.release_id = t.id);
+
+drop table master_format;
+drop table master_label;
+drop table master_genre;
+drop table master_style;
+drop table release_format;
+drop table release_label;
+drop table release_genre;
+drop table release_style;
@@ -0,0 +1,8 @@
+-- Dictionary of the genres and styles of masters and releases, giving each distinct value a small integer id.
+-- Ids are handed out one at a time so they stay dense.
+-- H2 cannot unnest a column of each row in a join, so unlike PostgreSQL the values already stored are not
+-- backfilled here; they are added when the tag index is built at startup.
+
+create sequence tags_seq start with 1 increment by 1;
+create table tags (id integer not null, kind varchar(16) not null, name varchar(255) not null, primary key (id));
+alter table tags add constraint uk_tags_kind_name unique (kind, name);
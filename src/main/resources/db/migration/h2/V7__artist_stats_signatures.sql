@@ -0,0 +1,7 @@
+-- MinHash signatures of the genres, styles and labels of each artist's releases, to estimate how similar two
+-- artists are without reading their releases. Statistics stored before this migration have no signatures;
+-- they are computed from the stored releases when the similarity index is built at startup.
+
+alter table artist_stats add column genre_signature integer array;
+alter table artist_stats add column style_signature integer array;
+alter table artist_stats add column label_signature integer array;
@@ -0,0 +1,72 @@
+-- Lookup indexes and natural keys.
+-- Repeated ingests could store the same Discogs entity more than once, so duplicates are removed first,
+-- keeping the oldest row, and the statistics of the affected artists are dropped to be recomputed on demand.
+
+create temporary table duplicate_artists on commit drop as
+select id from (
+    select id, row_number() over (partition by discogs_id order by id) as position from artists
+) ranked where position > 1;
+
+delete from master_format where master_id in (select t.id from masters t join duplicate_artists d on t.artist_id = d.id);
+delete from master_genre where master_id in (select t.id from masters t join duplicate_artists d on t.artist_id = d.id);
+delete from master_label where master_id in (select t.id from masters t join duplicate_artists d on t.artist_id = d.id);
+delete from master_style where master_id in (select t.id from masters t join duplicate_artists d on t.artist_id = d.id);
+delete from masters where artist_id in (select id from duplicate_artists);
+delete from release_format where release_id in (select t.id from releases t join duplicate_artists d on t.artist_id = d.id);
+delete from release_genre where release_id in (select t.id from releases t join duplicate_artists d on t.artist_id = d.id);
+delete from release_label where release_id in (select t.id from releases t join duplicate_artists d on t.artist_id = d.id);
+delete from release_style where release_id in (select t.id from releases t join duplicate_artists d on t.artist_id = d.id);
+delete from releases where artist_id in (select id from duplicate_artists);
+delete from aliases where artist_id in (select id from duplicate_artists);
+delete from artist_name_variations where artist_id in (select id from duplicate_artists);
+delete from artist_stats where artist_id in (select id from duplicate_artists);
+delete from artists where id in (select id from duplicate_artists);
+
+create temporary table duplicate_masters on commit drop as
+select id, artist_id from (
+    select id, artist_id, row_number() over (partition by artist_id, discogs_id order by id) as position from masters
+) ranked where position > 1;
+
+delete from master_format where master_id in (select id from duplicate_masters);
+delete from master_genre where master_id in (select id from duplicate_masters);
+delete from master_label where master_id in (select id from duplicate_masters);
+delete from master_style where master_id in (select id from duplicate_masters);
+delete from masters where id in (select id from duplicate_masters);
+
+create temporary table duplicate_releases on commit drop as
+select id, artist_id from (
+    select id, artist_id, row_number() over (partition by artist_id, discogs_id order by id) as position from releases
+) ranked where position > 1;
+
+delete from release_format where release_id in (select id from duplicate_releases);
+delete from release_genre where release_id in (select id from duplicate_releases);
+delete from release_label where release_id in (select id from duplicate_releases);
+delete from release_style where release_id in (select id from duplicate_releases);
+delete from releases where id in (select id from duplicate_releases);
+delete from artist_stats where artist_id in (select artist_id from duplicate_releases);
+
+alter table artists add constraint uk_artists_discogs_id unique (discogs_id);
+alter table masters add constraint uk_masters_artist_discogs_id unique (artist_id, discogs_id);
+alter table releases add constraint uk_releases_artist_discogs_id unique (artist_id, discogs_id);
+
+-- The unique keys above also serve lookups by artist_id on masters and releases.
+create index idx_artists_name on artists (name);
+create index idx_artists_name_upper on artists (upper(name));
+create index idx_masters_title on masters (title);
+create index idx_releases_title on releases (title);
+create index idx_aliases_artist_id on aliases (artist_id);
+create index idx_artist_name_variations_artist_id on artist_name_variations (artist_id);
+create index idx_master_format_master_id on master_format (master_id);
+create index idx_master_genre_master_id on master_genre (master_id);
+create index idx_master_label_master_id on master_label (master_id);
+create index idx_master_style_master_id on master_style (master_id);
+create index idx_release_format_release_id on release_format (release_id);
+create index idx_release_genre_release_id on release_genre (release_id);
+create index idx_release_label_release_id on release_label (release_id);
+create index idx_release_style_release_id on release_style (release_id);
+
+-- Databases created before ids came from sequences hold ids the sequences have not reached yet.
+select setval('artists_seq', (select max(id) from artists)) where (select max(id) from artists) > (select last_value from artists_seq);
+select setval('aliases_seq', (select max(id) from aliases)) where (select max(id) from aliases) > (select last_value from aliases_seq);
+select setval('masters_seq', (select max(id) from masters)) where (select max(id) from masters) > (select last_value from masters_seq);
+select setval('releases_seq', (select max(id) from releases)) where (select max(id) from releases) > (select last_value from releases_seq);
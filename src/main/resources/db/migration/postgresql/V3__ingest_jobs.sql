@@ -0,0 +1,15 @@
+-- Durable queue of artist ingests, drained by workers with select ... for update skip locked.
+
+create table ingest_jobs (id uuid not null, artist_name varchar(255) not null, artist_key varchar(255) not null, refresh boolean not null, status varchar(16) not null, attempts integer not null, last_error varchar(2000), locked_by varchar(255), locked_at timestamp(6) with time zone, next_attempt_at timestamp(6) with time zone not null, created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null, completed_at timestamp(6) with time zone, primary key (id));
+
+-- Workers claim the jobs that are due, oldest first; only pending jobs need to be found that way.
+create index idx_ingest_jobs_due on ingest_jobs (next_attempt_at) where status = 'PENDING';
+
+-- Leases of running jobs are checked for expiry.
+create index idx_ingest_jobs_running on ingest_jobs (locked_at) where status = 'RUNNING';
+
+-- At most one queued or running job per artist name and mode, so repeated searches share a job.
+create unique index uk_ingest_jobs_active on ingest_jobs (artist_key, refresh) where status in ('PENDING', 'RUNNING');
+
+-- Finished jobs are purged after the retention period.
+create index idx_ingest_jobs_updated_at on ingest_jobs (updated_at);
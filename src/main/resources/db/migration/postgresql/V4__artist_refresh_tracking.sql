@@ -0,0 +1,7 @@
+-- When each artist was last fetched from Discogs and how often it is read, to refresh stale artists by priority.
+-- Artists stored before this migration have no fetch time and count as stale.
+
+alter table artists add column last_fetched_at timestamp(6) with time zone;
+alter table artists add column query_count bigint default 0 not null;
+
+create index idx_artists_last_fetched_at on artists (last_fetched_at);
@@ -0,0 +1,30 @@
+-- Formats, labels, genres and styles of masters and releases move from one join table each into text[]
+-- columns of the row, keeping the order the values were stored in, so a master or release is read and
+-- written as a single row.
+
+alter table masters add column format text[] default '{}';
+alter table masters add column label text[] default '{}';
+alter table masters add column genre text[] default '{}';
+alter table masters add column style text[] default '{}';
+alter table releases add column format text[] default '{}';
+alter table releases add column label text[] default '{}';
+alter table releases add column genre text[] default '{}';
+alter table releases add column style text[] default '{}';
+
+update masters t set format = v.vals from (select master_id, array_agg(format order by ctid) as vals from master_format group by master_id) v where v.master_id = t.id;
+update masters t set label = v.vals from (select master_id, array_agg(label order by ctid) as vals from master_label group by master_id) v where v.master_id = t.id;
+update masters t set genre = v.vals from (select master_id, array_agg(genre order by ctid) as vals from master_genre group by master_id) v where v.master_id = t.id;
+update masters t set style = v.vals from (select master_id, array_agg(style order by ctid) as vals from master_style group by master_id) v where v.master_id = t.id;
+update releases t set format = v.vals from (select release_id, array_agg(format order by ctid) as vals from release_format group by release_id) v where v.release_id = t.id;
+update releases t set label = v.vals from (select release_id, array_agg(label order by ctid) as vals from release_label group by release_id) v where v.release_id = t.id;
+update releases t set genre = v.vals from (select release_id, array_agg(genre order by ctid) as vals from release_genre group by release_id) v where v.release_id = t.id;
+update releases t set style = v.vals from (select release_id, array_agg(style order by ctid) as vals from release_style group by release_id) v where v.release_id = t.id;
+
+drop table master_format;
+drop table master_label;
+drop table master_genre;
+drop table master_style;
+drop table release_format;
+drop table release_label;
+drop table release_genre;
+drop table release_style;
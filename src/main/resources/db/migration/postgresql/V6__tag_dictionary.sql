@@ -0,0 +1,16 @@
+-- Dictionary of the genres and styles of masters and releases, giving each distinct value a small integer id.
+-- Ids are handed out one at a time so they stay dense; the values already stored are added in name order.
+
+create sequence tags_seq start with 1 increment by 1;
+create table tags (id integer not null, kind varchar(16) not null, name varchar(255) not null, primary key (id));
+alter table tags add constraint uk_tags_kind_name unique (kind, name);
+
+insert into tags (id, kind, name)
+select nextval('tags_seq'), kind, name from (
+    select kind, name from (
+        select 'GENRE' as kind, unnest(genre) as name from masters
+        union select 'GENRE', unnest(genre) from releases
+        union select 'STYLE', unnest(style) from masters
+        union select 'STYLE', unnest(style) from releases
+    ) stored where name is not null order by kind, name
+) sorted;
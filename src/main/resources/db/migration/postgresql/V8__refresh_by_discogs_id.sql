@@ -0,0 +1,6 @@
+-- Refreshes of stored artists are queued by Discogs ID, so the worker refreshes the stored artist instead of
+-- resolving its name on Discogs again. Jobs queued by a search keep a null Discogs ID.
+-- When a refresh of an artist last failed, so the stale artist refresher backs off from it.
+
+alter table ingest_jobs add column discogs_id bigint;
+alter table artists add column refresh_failed_at timestamp(6) with time zone;
@@ -0,0 +1,131 @@
+package com.discogs.client.benchmark;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.model.Release;
+import com.discogs.client.service.ReleaseStatsAccumulator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark of the release aggregation behind artist comparisons.
+ * {@code streamPasses} reproduces the former ComparisonService helpers, which made one stream pass
+ * per metric with boxed years and a boxed genre histogram; {@code singlePass} uses the
+ * ReleaseStatsAccumulator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class ArtistComparisonBenchmark {
+
+    private static final String[] GENRES = {"Rock", "Electronic", "Pop", "Jazz", "Funk / Soul", "Hip Hop",
+            "Classical", "Folk, World, & Country", "Reggae", "Latin", "Blues", "Stage & Screen"};
+
+    @Param({"100", "10000", "100000"})
+    private int releaseCount;
+
+    private List<Release> releases;
+
+    @Setup
+    public void setUp() {
+        releases = syntheticReleases(releaseCount, 42L);
+    }
+
+    @Benchmark
+    public void streamPasses(Blackhole blackhole) {
+        blackhole.consume(calculateActiveYears(releases));
+        blackhole.consume(findFirstReleaseYear(releases));
+        blackhole.consume(findLastReleaseYear(releases));
+        blackhole.consume(findMostCommonGenre(releases));
+        blackhole.consume(findCommonGenres(releases));
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        ReleaseStatsAccumulator accumulator = new ReleaseStatsAccumulator();
+        for (int i = 0, n = releases.size(); i < n; i++) {
+            accumulator.add(releases.get(i));
+        }
+        blackhole.consume(accumulator.mostCommonGenre());
+        blackhole.consume(accumulator.applyTo(new ArtistStats()));
+    }
+
+    /**
+     * Builds releases with realistic years and one to three genres each.
+     *
+     * @param count the number of releases.
+     * @param seed the random seed, so every run uses the same data.
+     * @return the releases.
+     */
+    public static List<Release> syntheticReleases(int count, long seed) {
+        Random random = new Random(seed);
+        List<Release> releases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Release release = new Release();
+            release.setId((long) i);
+            release.setDiscogsId(1_000_000L + i);
+            release.setTitle("Release " + i);
+            release.setYear(random.nextInt(20) == 0 ? "" : String.valueOf(1950 + random.nextInt(75)));
+            List<String> genres = new ArrayList<>(3);
+            for (int g = 0, n = 1 + random.nextInt(3); g < n; g++) {
+                genres.add(GENRES[random.nextInt(GENRES.length)]);
+            }
+            release.setGenre(genres);
+            release.setStyle(List.of());
+            release.setFormat(List.of("Vinyl"));
+            release.setLabel(List.of("Label " + random.nextInt(50)));
+            releases.add(release);
+        }
+        return releases;
+    }
+
+    private static int calculateActiveYears(List<Release> releases) {
+        List<Integer> years = releases.stream()
+                .map(Release::getYear)
+                .filter(year -> !year.isEmpty())
+                .map(Integer::parseInt)
+                .distinct()
+                .toList();
+        if (years.isEmpty()) {
+            return 0;
+        }
+        return years.stream().max(Integer::compareTo).orElse(0) - years.stream().min(Integer::compareTo).orElse(0);
+    }
+
+    private static String findFirstReleaseYear(List<Release> releases) {
+        return releases.stream().map(Release::getYear).filter(year -> !year.isEmpty())
+                .min(String::compareTo).orElse("Unknown");
+    }
+
+    private static String findLastReleaseYear(List<Release> releases) {
+        return releases.stream().map(Release::getYear).filter(year -> !year.isEmpty())
+                .max(String::compareTo).orElse("Unknown");
+    }
+
+    private static String findMostCommonGenre(List<Release> releases) {
+        return releases.stream()
+                .flatMap(release -> release.getGenre().stream())
+                .collect(Collectors.groupingBy(genre -> genre, Collectors.counting()))
+                .entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("Unknown");
+    }
+
+    private static List<String> findCommonGenres(List<Release> releases) {
+        return releases.stream().flatMap(release -> release.getGenre().stream()).distinct().collect(Collectors.toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ArtistComparisonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,196 @@
+package com.discogs.client.benchmark;
+
+import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.Master;
+import com.discogs.client.model.Release;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Synthetic Discogs data and repository stubs shared by the benchmarks.
+ * Data is generated from fixed seeds so every run measures the same input.
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 42L;
+
+    private static final String[] GENRES = {"Rock", "Electronic", "Pop", "Jazz", "Funk / Soul", "Hip Hop",
+            "Classical", "Folk, World, & Country", "Reggae", "Latin", "Blues", "Stage & Screen"};
+    private static final String[] STYLES = {"Alternative Rock", "Grunge", "Punk", "Synth-pop", "House", "Techno",
+            "Hard Bop", "Soul", "Boom Bap", "Ambient"};
+    private static final String[] FORMATS = {"Vinyl", "LP", "Album", "CD", "Cassette", "Single", "Compilation"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds the artist the synthetic masters and releases belong to.
+     *
+     * @return the artist.
+     */
+    static Artist artist() {
+        Artist artist = new Artist();
+        artist.setId(1L);
+        artist.setDiscogsId(125246L);
+        artist.setName("Nirvana");
+        return artist;
+    }
+
+    /**
+     * Builds master releases as Discogs returns them in a search page.
+     *
+     * @param count the number of masters.
+     * @param seed the random seed.
+     * @return the masters.
+     */
+    static List<MasterDTO> masterDTOs(int count, long seed) {
+        Random random = new Random(seed);
+        List<MasterDTO> masters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            masters.add(MasterDTO.builder()
+                    .id(10_000L + i)
+                    .title("Nirvana - Master " + i)
+                    .country(random.nextBoolean() ? "US" : "UK")
+                    .year(String.valueOf(1987 + random.nextInt(35)))
+                    .format(pick(random, FORMATS, 3))
+                    .label(List.of("Label " + random.nextInt(50)))
+                    .genre(pick(random, GENRES, 2))
+                    .style(pick(random, STYLES, 3))
+                    .thumb("https://i.discogs.com/thumb/" + i + ".jpg")
+                    .cover_image("https://i.discogs.com/cover/" + i + ".jpg")
+                    .resource_url("https://api.discogs.com/masters/" + (10_000L + i))
+                    .build());
+        }
+        return masters;
+    }
+
+    /**
+     * Builds releases as Discogs returns them in a search page.
+     *
+     * @param count the number of releases.
+     * @param seed the random seed.
+     * @return the releases.
+     */
+    static List<ReleaseDTO> releaseDTOs(int count, long seed) {
+        Random random = new Random(seed);
+        List<ReleaseDTO> releases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            releases.add(ReleaseDTO.builder()
+                    .id(1_000_000L + i)
+                    .title("Nirvana - Release " + i)
+                    .country(random.nextBoolean() ? "US" : "Europe")
+                    .year(random.nextInt(20) == 0 ? "" : String.valueOf(1950 + random.nextInt(75)))
+                    .format(pick(random, FORMATS, 3))
+                    .label(List.of("Label " + random.nextInt(50), "Label " + random.nextInt(50)))
+                    .genre(pick(random, GENRES, 3))
+                    .style(pick(random, STYLES, 3))
+                    .thumb("https://i.discogs.com/thumb/r" + i + ".jpg")
+                    .cover_image("https://i.discogs.com/cover/r" + i + ".jpg")
+                    .resource_url("https://api.discogs.com/releases/" + (1_000_000L + i))
+                    .master_id(10_000L + random.nextInt(Math.max(count / 4, 1)))
+                    .build());
+        }
+        return releases;
+    }
+
+    /**
+     * Builds stored masters, as loaded from the database.
+     *
+     * @param count the number of masters.
+     * @param seed the random seed.
+     * @return the masters.
+     */
+    static List<Master> masters(int count, long seed) {
+        Artist artist = artist();
+        List<Master> masters = new ArrayList<>(count);
+        long id = 1;
+        for (MasterDTO dto : masterDTOs(count, seed)) {
+            Master master = new Master();
+            master.setId(id++);
+            master.setArtist(artist);
+            master.setDiscogsId(dto.getId());
+            master.setTitle(dto.getTitle());
+            master.setCountry(dto.getCountry());
+            master.setYear(dto.getYear());
+            master.setFormat(new ArrayList<>(dto.getFormat()));
+            master.setLabel(new ArrayList<>(dto.getLabel()));
+            master.setGenre(new ArrayList<>(dto.getGenre()));
+            master.setStyle(new ArrayList<>(dto.getStyle()));
+            master.setThumb(dto.getThumb());
+            master.setCoverImage(dto.getCover_image());
+            master.setResourceUrl(dto.getResource_url());
+            masters.add(master);
+        }
+        return masters;
+    }
+
+    /**
+     * Builds stored releases, as loaded from the database.
+     *
+     * @param count the number of releases.
+     * @param seed the random seed.
+     * @return the releases.
+     */
+    static List<Release> releases(int count, long seed) {
+        Artist artist = artist();
+        List<Release> releases = new ArrayList<>(count);
+        long id = 1;
+        for (ReleaseDTO dto : releaseDTOs(count, seed)) {
+            Release release = new Release();
+            release.setId(id++);
+            release.setArtist(artist);
+            release.setDiscogsId(dto.getId());
+            release.setTitle(dto.getTitle());
+            release.setCountry(dto.getCountry());
+            release.setYear(dto.getYear());
+            release.setFormat(new ArrayList<>(dto.getFormat()));
+            release.setLabel(new ArrayList<>(dto.getLabel()));
+            release.setGenre(new ArrayList<>(dto.getGenre()));
+            release.setStyle(new ArrayList<>(dto.getStyle()));
+            release.setThumb(dto.getThumb());
+            release.setMaster_id(dto.getMaster_id());
+            release.setCoverImage(dto.getCover_image());
+            release.setResourceUrl(dto.getResource_url());
+            releases.add(release);
+        }
+        return releases;
+    }
+
+    /**
+     * Creates a repository stub that answers the named methods and rejects every other call.
+     *
+     * @param type the repository interface.
+     * @param answers the answers by method name, given the call arguments.
+     * @param <T> the repository type.
+     * @return the stub.
+     */
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }));
+    }
+
+    private static List<String> pick(Random random, String[] values, int max) {
+        List<String> picked = new ArrayList<>(max);
+        for (int i = 0, n = 1 + random.nextInt(max); i < n; i++) {
+            picked.add(values[random.nextInt(values.length)]);
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,115 @@
+package com.discogs.client.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and fails when a benchmark got slower.
+ * A benchmark regresses when even the best end of its confidence interval, as reported by JMH, is worse than
+ * the baseline score by more than the tolerance, relative to the baseline, so run-to-run noise does not fail
+ * the check. For average and sample time lower is better, for throughput higher is better. Benchmarks missing
+ * from the baseline are reported but do not fail the check.
+ *
+ * <p>Usage: {@code BenchmarkRegressionCheck <result.json> <baseline.json> <tolerance>}, where the tolerance is
+ * a fraction such as {@code 0.25}. The exit status is 1 if any benchmark regressed.
+ */
+public final class BenchmarkRegressionCheck {
+
+    private BenchmarkRegressionCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BenchmarkRegressionCheck <result.json> <baseline.json> <tolerance>");
+            System.exit(2);
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No benchmark baseline at " + baselineFile + "; copy " + resultFile + " there to create one.");
+            return;
+        }
+        List<String> regressions = compare(read(resultFile), read(baselineFile), tolerance);
+        if (!regressions.isEmpty()) {
+            System.err.println(regressions.size() + " benchmark(s) regressed by more than "
+                    + Math.round(tolerance * 100) + "%:");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares results with the baseline, printing every comparison.
+     *
+     * @param results the scores of this run, by benchmark key.
+     * @param baseline the baseline scores, by benchmark key.
+     * @param tolerance the accepted relative slowdown.
+     * @return a description of every regression.
+     */
+    static List<String> compare(Map<String, Score> results, Map<String, Score> baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        results.forEach((key, score) -> {
+            Score expected = baseline.get(key);
+            if (expected == null) {
+                System.out.printf("%-90s %12.3f %s (new)%n", key, score.value(), score.unit());
+                return;
+            }
+            double change = (score.value() - expected.value()) / expected.value();
+            double best = score.higherIsBetter() ? score.value() + score.error() : score.value() - score.error();
+            double slowdown = (best - expected.value()) / expected.value() * (score.higherIsBetter() ? -1 : 1);
+            System.out.printf("%-90s %12.3f ± %.3f %s (baseline %.3f, %+.1f%%)%n", key, score.value(), score.error(),
+                    score.unit(), expected.value(), change * 100);
+            if (slowdown > tolerance) {
+                regressions.add(String.format("%s: %.3f ± %.3f %s, baseline %.3f", key, score.value(), score.error(),
+                        score.unit(), expected.value()));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Reads the primary scores of a JMH JSON result file, keyed by benchmark, mode and parameters.
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String mode = run.path("mode").asText();
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()).append(' ').append(mode);
+            Map<String, String> params = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            if (!params.isEmpty()) {
+                key.append(' ').append(params);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    /**
+     * The primary score of a benchmark run.
+     *
+     * @param value the score.
+     * @param error the half-width of the score's 99.9% confidence interval, or 0 if JMH could not compute it.
+     * @param unit the unit of the score.
+     * @param higherIsBetter whether a higher score is an improvement.
+     */
+    record Score(double value, double error, String unit, boolean higherIsBetter) {
+    }
+}
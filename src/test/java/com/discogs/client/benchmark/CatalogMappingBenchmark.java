@@ -0,0 +1,89 @@
+package com.discogs.client.benchmark;
+
+import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.Master;
+import com.discogs.client.model.Release;
+import com.discogs.client.service.CatalogPersistenceService;
+import com.discogs.client.service.MasterService;
+import com.discogs.client.service.ReleaseService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the mappings between Discogs DTOs and entities, one page at a time.
+ * {@code mastersToEntities} and {@code releasesToEntities} are the mapping applied to every crawled page while
+ * ingesting an artist; {@code mastersToDTOs} and {@code releasesToDTOs} are the conversions behind the list
+ * endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xms1g", "-Xmx1g"})
+public class CatalogMappingBenchmark {
+
+    @Param({"100"})
+    private int pageSize;
+
+    private CatalogPersistenceService catalogPersistenceService;
+    private MasterService masterService;
+    private ReleaseService releaseService;
+    private Artist artist;
+    private List<MasterDTO> masterPage;
+    private List<ReleaseDTO> releasePage;
+    private List<Master> masters;
+    private List<Release> releases;
+
+    @Setup
+    public void setUp() {
+        catalogPersistenceService = new CatalogPersistenceService(null, null, null, null, null, null);
+        masterService = new MasterService(null);
+        releaseService = new ReleaseService(null, null, null);
+        artist = BenchmarkFixtures.artist();
+        masterPage = BenchmarkFixtures.masterDTOs(pageSize, BenchmarkFixtures.SEED);
+        releasePage = BenchmarkFixtures.releaseDTOs(pageSize, BenchmarkFixtures.SEED);
+        masters = BenchmarkFixtures.masters(pageSize, BenchmarkFixtures.SEED);
+        releases = BenchmarkFixtures.releases(pageSize, BenchmarkFixtures.SEED);
+    }
+
+    @Benchmark
+    public void mastersToEntities(Blackhole blackhole) {
+        for (MasterDTO master : masterPage) {
+            blackhole.consume(catalogPersistenceService.toMaster(master, artist));
+        }
+    }
+
+    @Benchmark
+    public void releasesToEntities(Blackhole blackhole) {
+        for (ReleaseDTO release : releasePage) {
+            blackhole.consume(catalogPersistenceService.toRelease(release, artist));
+        }
+    }
+
+    @Benchmark
+    public void mastersToDTOs(Blackhole blackhole) {
+        for (Master master : masters) {
+            blackhole.consume(masterService.convertToDTO(master));
+        }
+    }
+
+    @Benchmark
+    public void releasesToDTOs(Blackhole blackhole) {
+        for (Release release : releases) {
+            blackhole.consume(releaseService.convertToDTO(release));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CatalogMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
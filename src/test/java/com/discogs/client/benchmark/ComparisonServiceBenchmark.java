@@ -0,0 +1,98 @@
+package com.discogs.client.benchmark;
+
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.model.Release;
+import com.discogs.client.repository.ArtistRepository;
+import com.discogs.client.repository.ArtistStatsRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import com.discogs.client.service.ArtistQueryCounter;
+import com.discogs.client.service.ArtistSimilarityIndex;
+import com.discogs.client.service.ArtistStatsService;
+import com.discogs.client.service.ComparisonService;
+import com.discogs.client.service.ReleaseStatsAccumulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of ComparisonService building the comparison of one artist, against in-memory repositories.
+ * {@code storedStats} is the usual case, where the artist's statistics were maintained while ingesting;
+ * {@code recomputedStats} is the first comparison of an artist without statistics, which aggregates the
+ * year and genres of every release.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xms1g", "-Xmx1g"})
+public class ComparisonServiceBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int releaseCount;
+
+    private ComparisonService withStoredStats;
+    private ComparisonService withoutStats;
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        Artist artist = BenchmarkFixtures.artist();
+        List<Release> releases = BenchmarkFixtures.releases(releaseCount, BenchmarkFixtures.SEED);
+        ReleaseStatsAccumulator accumulator = new ReleaseStatsAccumulator();
+        releases.forEach(accumulator::add);
+        ArtistStats stats = accumulator.applyTo(new ArtistStats());
+        stats.setArtistId(artist.getId());
+        List<Object[]> rows = releases.stream()
+                .map(release -> new Object[]{release.getYear(), release.getGenre(), release.getStyle(), release.getLabel()})
+                .toList();
+
+        ArtistRepository artistRepository = BenchmarkFixtures.stub(ArtistRepository.class,
+                Map.of("findAllByNameIn", args -> List.of(artist)));
+        ReleaseRepository releaseRepository = BenchmarkFixtures.stub(ReleaseRepository.class,
+                Map.of("findStatsRowsByArtistId", args -> rows));
+        ArtistStatsRepository storedStats = BenchmarkFixtures.stub(ArtistStatsRepository.class,
+                Map.of("findAllById", args -> List.of(stats)));
+        ArtistStatsRepository noStats = BenchmarkFixtures.stub(ArtistStatsRepository.class,
+                Map.of("findAllById", args -> List.of(), "save", args -> args[0]));
+
+        withStoredStats = comparisonService(artistRepository,
+                new ArtistStatsService(storedStats, releaseRepository, new ArtistSimilarityIndex(storedStats, releaseRepository)));
+        withoutStats = comparisonService(artistRepository,
+                new ArtistStatsService(noStats, releaseRepository, new ArtistSimilarityIndex(noStats, releaseRepository)));
+        names = List.of(artist.getName());
+    }
+
+    @Benchmark
+    public Object storedStats() {
+        return withStoredStats.compareArtists(names);
+    }
+
+    @Benchmark
+    public Object recomputedStats() {
+        return withoutStats.compareArtists(names);
+    }
+
+    private static ComparisonService comparisonService(ArtistRepository artistRepository,
+                                                       ArtistStatsService artistStatsService) {
+        ComparisonService comparisonService = new ComparisonService();
+        ReflectionTestUtils.setField(comparisonService, "artistRepository", artistRepository);
+        ReflectionTestUtils.setField(comparisonService, "artistStatsService", artistStatsService);
+        ReflectionTestUtils.setField(comparisonService, "artistQueryCounter", new ArtistQueryCounter(artistRepository));
+        ReflectionTestUtils.setField(comparisonService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(comparisonService, "parallelThreshold", Integer.MAX_VALUE);
+        return comparisonService;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ComparisonServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.discogs.client.benchmark;
+
+import com.discogs.client.dto.response.DiscogsReleasesResponse;
+import com.discogs.client.model.Pagination;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of reading a page of Discogs release search results with Jackson, configured like the
+ * RestTemplate message converter: unknown properties are ignored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xms1g", "-Xmx1g"})
+public class DiscogsJsonBenchmark {
+
+    @Param({"50", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private byte[] page;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        DiscogsReleasesResponse response = new DiscogsReleasesResponse(
+                BenchmarkFixtures.releaseDTOs(pageSize, BenchmarkFixtures.SEED),
+                new Pagination(1, 10, pageSize, pageSize * 10,
+                        Map.of("next", "https://api.discogs.com/database/search?page=2")));
+        page = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public DiscogsReleasesResponse readReleasesPage() throws IOException {
+        return objectMapper.readValue(page, DiscogsReleasesResponse.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DiscogsJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
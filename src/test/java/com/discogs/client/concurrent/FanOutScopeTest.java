@@ -0,0 +1,105 @@
+package com.discogs.client.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test class for the FanOutScope.
+ */
+public class FanOutScopeTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that results of all tasks are available after join.
+     */
+    @Test
+    public void testJoinReturnsAllResults() {
+        try (FanOutScope scope = FanOutScope.open(executor, Duration.ofSeconds(5))) {
+            FanOutScope.Subtask<String> first = scope.fork(() -> "first");
+            FanOutScope.Subtask<Integer> second = scope.fork(() -> 2);
+
+            scope.join();
+
+            assertEquals("first", first.get());
+            assertEquals(2, second.get());
+        }
+    }
+
+    /**
+     * Test to verify that a failing task cancels its siblings and its exception is rethrown.
+     */
+    @Test
+    public void testFailureCancelsSiblings() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = FanOutScope.open(executor, Duration.ofSeconds(5))) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, scope::join);
+            assertEquals("boom", e.getMessage());
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test to verify that exceeding the deadline fails with a TimeoutException.
+     */
+    @Test
+    public void testTimeout() {
+        try (FanOutScope scope = FanOutScope.open(executor, Duration.ofMillis(50))) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+
+            CompletionException e = assertThrows(CompletionException.class, scope::join);
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+    }
+
+    /**
+     * Test to verify that a task run on the forking thread after the deadline fails without running.
+     */
+    @Test
+    public void testCallerRunsTaskAfterDeadlineIsNotRun() throws InterruptedException {
+        ThreadPoolExecutor single = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicBoolean ran = new AtomicBoolean();
+        try (FanOutScope scope = FanOutScope.open(single, Duration.ofMillis(50))) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+            Thread.sleep(100);
+            scope.fork(() -> ran.getAndSet(true));
+
+            CompletionException e = assertThrows(CompletionException.class, scope::join);
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        } finally {
+            single.shutdownNow();
+        }
+        assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,86 @@
+package com.discogs.client.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the SingleFlight.
+ */
+public class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final SingleFlight<String> singleFlight = new SingleFlight<>();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that concurrent callers for the same key share one execution and its result.
+     */
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Future<String> first = executor.submit(() -> singleFlight.execute("Nirvana", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "stored";
+        }));
+        started.await();
+
+        // When
+        CompletableFuture<Thread> waiter = new CompletableFuture<>();
+        Future<String> second = executor.submit(() -> {
+            waiter.complete(Thread.currentThread());
+            return singleFlight.execute("Nirvana", () -> {
+                executions.incrementAndGet();
+                return "again";
+            });
+        });
+        Thread waitingThread = waiter.get(5, TimeUnit.SECONDS);
+        while (waitingThread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        assertEquals("stored", first.get(5, TimeUnit.SECONDS));
+        assertEquals("stored", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        assertFalse(singleFlight.isInFlight("Nirvana"));
+    }
+
+    /**
+     * Test to verify that a failure is rethrown and the key can be retried afterwards.
+     */
+    @Test
+    public void testFailureIsRethrownAndKeyReleased() {
+        // When
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("Nirvana", () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        // Then
+        assertEquals("boom", e.getMessage());
+        assertEquals("retried", singleFlight.execute("Nirvana", () -> "retried"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.discogs.client.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.discogs.client.dto.response.KeysetPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test class for the NdjsonExport.
+ */
+public class NdjsonExportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Test to verify that every item is written on its own line, ending with a newline, across pages.
+     */
+    @Test
+    public void testWritesOneItemPerLineAcrossPages() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        NdjsonExport.of(objectMapper, null, (cursor, size) -> cursor == null
+                ? new KeysetPage<>(List.of(1, 2), 2L)
+                : new KeysetPage<>(List.of(3), null)).writeTo(out);
+
+        // Then
+        assertEquals("1\n2\n3\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test to verify that an export without items is an empty body rather than a blank line.
+     */
+    @Test
+    public void testWritesNothingWithoutItems() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        NdjsonExport.of(objectMapper, null, (cursor, size) -> new KeysetPage<Integer>(List.of(), null)).writeTo(out);
+
+        // Then
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.discogs.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for the DiscogsRateLimiter.
+ */
+public class DiscogsRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private DiscogsRateLimiter limiter(int requestsPerMinute, int burst) {
+        return new DiscogsRateLimiter(true, 5000, ThrottlingMode.NORMAL, requestsPerMinute, burst,
+                new SimpleMeterRegistry(), clock::get);
+    }
+
+    /**
+     * Test to verify that requests beyond the burst are spaced at the configured rate.
+     */
+    @Test
+    public void testRequestsBeyondBurstWait() {
+        DiscogsRateLimiter limiter = limiter(60, 2);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.reserve(), TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(TimeUnit.SECONDS.toNanos(2), limiter.reserve(), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Test to verify that a 429 response switches the limiter to cool-down until it elapses.
+     */
+    @Test
+    public void testTooManyRequestsStartsCoolDown() {
+        DiscogsRateLimiter limiter = limiter(60, 5);
+
+        limiter.onResponse(429, new HttpHeaders());
+
+        assertEquals(ThrottlingMode.COOL_DOWN, limiter.getMode());
+        assertEquals(TimeUnit.SECONDS.toNanos(5), limiter.reserve());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertEquals(ThrottlingMode.NORMAL, limiter.getMode());
+    }
+
+    /**
+     * Test to verify that the remaining budget reported by Discogs caps the available permits.
+     */
+    @Test
+    public void testRemainingHeaderCapsTokens() {
+        DiscogsRateLimiter limiter = limiter(60, 5);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(DiscogsRateLimiter.RATELIMIT_HEADER, "60");
+        headers.add(DiscogsRateLimiter.RATELIMIT_USED_HEADER, "59");
+        headers.add(DiscogsRateLimiter.RATELIMIT_REMAINING_HEADER, "1");
+
+        limiter.onResponse(200, headers);
+
+        assertEquals(ThrottlingMode.NORMAL, limiter.getMode());
+        assertEquals(0, limiter.reserve());
+        assertTrue(limiter.reserve() > 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.discogs.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the ResilienceInterceptor.
+ */
+public class ResilienceInterceptorTest {
+
+    private final ExecutorService callExecutor = Executors.newFixedThreadPool(1);
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final ResilienceInterceptor interceptor = new ResilienceInterceptor(CircuitBreakerRegistry.ofDefaults(),
+            bulkheadRegistry,
+            TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                    .timeoutDuration(Duration.ofMillis(100))
+                    .cancelRunningFuture(false)
+                    .build()),
+            callExecutor, new SimpleMeterRegistry());
+
+    @AfterEach
+    public void tearDown() {
+        callExecutor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that a timed out request keeps its bulkhead permit until it finishes, and that the response
+     * arriving after the timeout is closed.
+     */
+    @Test
+    public void testTimedOutRequestHoldsPermitAndClosesLateResponse() throws Exception {
+        // Given
+        CountDownLatch answer = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        ClientHttpResponse lateResponse = mock(ClientHttpResponse.class);
+        doAnswer(invocation -> {
+            finished.countDown();
+            return null;
+        }).when(lateResponse).close();
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> {
+            answer.await();
+            return lateResponse;
+        });
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(ResilienceInterceptor.INSTANCE);
+
+        // When
+        assertThrows(IOException.class, () -> interceptor.intercept(mock(HttpRequest.class), new byte[0], execution));
+
+        // Then
+        assertEquals(0, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        answer.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        verify(lateResponse).close();
+        callExecutor.submit(() -> null).get(5, TimeUnit.SECONDS);
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+}
@@ -0,0 +1,151 @@
+package com.discogs.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.config.CacheConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+/**
+ * Test class for the ResponseCacheInterceptor.
+ */
+public class ResponseCacheInterceptorTest {
+
+    private static final URI URL = URI.create("https://api.discogs.com/artists/1?token=secret");
+
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+    private DiscogsResponseCache cache;
+    private ResponseCacheInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache = new DiscogsResponseCache(new CacheConfig().cacheManager(DataSize.ofMegabytes(1)), new ObjectMapper(),
+                meterRegistry, Duration.ofHours(1), Duration.ZERO, Duration.ofHours(1), false, Path.of("unused"),
+                Duration.ofDays(1));
+        interceptor = new ResponseCacheInterceptor(cache, meterRegistry, Duration.ofDays(1));
+    }
+
+    /**
+     * Test to verify that the token is not part of the cache key and query parameters are sorted.
+     */
+    @Test
+    public void testKeyIgnoresTokenAndParameterOrder() {
+        URI first = URI.create("https://API.discogs.com/database/search?type=master&artist=X&token=a");
+        URI second = URI.create("https://api.discogs.com/database/search?artist=X&token=b&type=master");
+
+        assertEquals(cache.keyFor(first), cache.keyFor(second));
+        assertEquals("https://api.discogs.com/database/search?artist=X&type=master", cache.keyFor(first));
+    }
+
+    /**
+     * Test to verify that a fresh entry is served without calling Discogs.
+     */
+    @Test
+    public void testFreshEntryIsServedFromCache() throws IOException {
+        URI search = URI.create("https://api.discogs.com/database/search?q=X&token=secret");
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.OK, "{\"results\":[]}", "\"v1\""));
+
+        interceptor.intercept(request(search), new byte[0], execution);
+        ClientHttpResponse second = interceptor.intercept(request(search), new byte[0], execution);
+
+        verify(execution, times(1)).execute(any(), any());
+        assertEquals("{\"results\":[]}", body(second));
+    }
+
+    /**
+     * Test to verify that an expired entry is revalidated with its ETag and reused on 304.
+     */
+    @Test
+    public void testExpiredEntryIsRevalidated() throws IOException {
+        when(execution.execute(any(), any()))
+                .thenReturn(response(HttpStatus.OK, "{\"name\":\"X\"}", "\"v1\""))
+                .thenReturn(response(HttpStatus.NOT_MODIFIED, "", "\"v1\""));
+
+        interceptor.intercept(request(URL), new byte[0], execution);
+        ClientHttpResponse revalidated = interceptor.intercept(request(URL), new byte[0], execution);
+
+        ArgumentCaptor<HttpRequest> sent = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(execution, times(2)).execute(sent.capture(), any());
+        assertEquals("\"v1\"", sent.getAllValues().get(1).getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals("{\"name\":\"X\"}", body(revalidated));
+    }
+
+    /**
+     * Test to verify that an expired entry is served when Discogs fails, and that failures without one propagate.
+     */
+    @Test
+    public void testExpiredEntryIsServedWhenDiscogsFails() throws IOException {
+        when(execution.execute(any(), any()))
+                .thenReturn(response(HttpStatus.OK, "{\"name\":\"X\"}", null))
+                .thenReturn(response(HttpStatus.SERVICE_UNAVAILABLE, "", null))
+                .thenThrow(new IOException("connection reset"));
+
+        interceptor.intercept(request(URL), new byte[0], execution);
+        ClientHttpResponse afterServerError = interceptor.intercept(request(URL), new byte[0], execution);
+        ClientHttpResponse afterIoError = interceptor.intercept(request(URL), new byte[0], execution);
+
+        assertEquals(HttpStatus.OK, afterServerError.getStatusCode());
+        assertEquals("{\"name\":\"X\"}", body(afterServerError));
+        assertEquals("{\"name\":\"X\"}", body(afterIoError));
+        URI uncached = URI.create("https://api.discogs.com/artists/2?token=secret");
+        assertThrows(IOException.class, () -> interceptor.intercept(request(uncached), new byte[0], execution));
+    }
+
+    /**
+     * Test to verify that pruning the disk tier removes only the files older than the max age.
+     */
+    @Test
+    public void testPruneDiskRemovesExpiredFiles(@TempDir Path directory) throws IOException {
+        DiscogsResponseCache diskCache = new DiscogsResponseCache(new CacheConfig().cacheManager(DataSize.ofMegabytes(1)),
+                new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ZERO, Duration.ofHours(1),
+                true, directory, Duration.ofDays(1));
+        Path expired = Files.writeString(directory.resolve("expired.json"), "{}");
+        Path recent = Files.writeString(directory.resolve("recent.json"), "{}");
+        Files.setLastModifiedTime(expired, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+
+        diskCache.pruneDisk();
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(recent));
+    }
+
+    private static HttpRequest request(URI uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, uri);
+    }
+
+    private static ClientHttpResponse response(HttpStatus status, String body, String etag) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        response.getHeaders().setETag(etag);
+        return response;
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,231 @@
+package com.discogs.client.load;
+
+import com.discogs.client.dto.internal.AliasDTO;
+import com.discogs.client.dto.internal.ArtistDTO;
+import com.discogs.client.dto.internal.MasterDTO;
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.dto.response.DiscogsArtistResponse;
+import com.discogs.client.dto.response.DiscogsMastersResponse;
+import com.discogs.client.dto.response.DiscogsReleasesResponse;
+import com.discogs.client.model.Pagination;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Local HTTP stand-in for the Discogs endpoints used by DiscogsApiService: {@code /database/search} for artists,
+ * masters and releases, and {@code /artists/{id}}. Every artist name exists, and its catalog is generated from
+ * the name, so repeated runs see the same data. Each response is delayed by the configured latency, and the
+ * configured share of requests is answered with 429 Too Many Requests instead.
+ */
+public class DiscogsStubServer implements AutoCloseable {
+
+    private static final List<String> GENRES = List.of("Rock", "Electronic", "Jazz", "Pop", "Hip Hop", "Folk");
+    private static final List<String> STYLES = List.of("Punk", "House", "Bop", "Synth-pop", "Boom Bap", "Indie");
+    private static final List<String> FORMATS = List.of("Vinyl", "CD", "Cassette", "File");
+    private static final int CATALOG_SIZE = 1_000_000;
+
+    private final Duration latency;
+    private final int pages;
+    private final double tooManyRequestsShare;
+    private final int rateLimit;
+    private final ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final Map<Long, String> artistNames = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+    private final AtomicLong tooManyRequests = new AtomicLong();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+
+    /**
+     * Constructs a new DiscogsStubServer listening on an ephemeral local port; call {@link #start()} to serve.
+     *
+     * @param latency how long every response is delayed.
+     * @param pages the number of pages of masters and of releases each artist has.
+     * @param tooManyRequestsShare the share of requests, between 0 and 1, answered with 429 Too Many Requests.
+     * @param rateLimit the requests per minute reported in the {@code X-Discogs-Ratelimit} header.
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public DiscogsStubServer(Duration latency, int pages, double tooManyRequestsShare, int rateLimit) throws IOException {
+        this.latency = latency;
+        this.pages = Math.max(pages, 1);
+        this.tooManyRequestsShare = tooManyRequestsShare;
+        this.rateLimit = rateLimit;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/database/search", exchange -> handle(exchange, this::search));
+        server.createContext("/artists/", exchange -> handle(exchange, this::artist));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the URL to configure as {@code discogs.api.baseUrl}.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of requests served so far, by endpoint.
+     */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        requests.forEach((endpoint, count) -> counts.put(endpoint, count.get()));
+        return counts;
+    }
+
+    /**
+     * Returns the number of requests answered with 429 Too Many Requests so far.
+     */
+    public long getTooManyRequestsCount() {
+        return tooManyRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, Function<HttpExchange, Response> handler) throws IOException {
+        try (exchange) {
+            Thread.sleep(latency.toMillis());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Discogs-Ratelimit", String.valueOf(rateLimit));
+            if (ThreadLocalRandom.current().nextDouble() < tooManyRequestsShare) {
+                tooManyRequests.incrementAndGet();
+                exchange.getResponseHeaders().add("X-Discogs-Ratelimit-Remaining", "0");
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                write(exchange, 429, "{\"message\":\"You are making requests too quickly.\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            Response response = handler.apply(exchange);
+            requests.computeIfAbsent(response.endpoint(), endpoint -> new AtomicLong()).incrementAndGet();
+            exchange.getResponseHeaders().add("X-Discogs-Ratelimit-Remaining", String.valueOf(rateLimit - 1));
+            write(exchange, response.status(), objectMapper.writeValueAsBytes(response.body()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void write(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Response search(HttpExchange exchange) {
+        Map<String, String> query = query(exchange);
+        String type = query.getOrDefault("type", "");
+        if ("artist".equals(type)) {
+            String name = query.getOrDefault("q", "");
+            ArtistDTO artist = ArtistDTO.builder().id(artistId(name)).name(name).build();
+            return new Response("search_artist", 200, new DiscogsArtistResponse(List.of(artist), pagination(1, 1, 1)));
+        }
+        String name = query.getOrDefault("artist", "");
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int perPage = Integer.parseInt(query.getOrDefault("per_page", "50"));
+        Pagination pagination = pagination(page, perPage, pages * perPage);
+        List<?> results = page > pages ? List.of() : items(artistId(name), name, type, page, perPage);
+        if ("master".equals(type)) {
+            return new Response("search_masters", 200, new DiscogsMastersResponse(cast(results), pagination));
+        }
+        return new Response("search_releases", 200, new DiscogsReleasesResponse(cast(results), pagination));
+    }
+
+    private Response artist(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        String name = artistNames.get(id);
+        if (name == null) {
+            return new Response("artist", 404, Map.of("message", "Artist not found."));
+        }
+        ArtistDTO artist = ArtistDTO.builder()
+                .id(id)
+                .name(name)
+                .profile("Generated by the load test stub.")
+                .aliases(List.of(AliasDTO.builder().id(id + CATALOG_SIZE).name(name + " (alias)").build()))
+                .build();
+        return new Response("artist", 200, artist);
+    }
+
+    /**
+     * Generates one page of an artist's masters or releases; ids are unique across artists and pages.
+     */
+    private List<?> items(long artistId, String name, String type, int page, int perPage) {
+        List<Object> items = new ArrayList<>(perPage);
+        for (int i = 0; i < perPage; i++) {
+            int index = (page - 1) * perPage + i;
+            long id = (artistId * pages * perPage + index) * 2 + ("master".equals(type) ? 0 : 1);
+            String title = name + " - " + type + " " + (index + 1);
+            String year = String.valueOf(1960 + index % 60);
+            List<String> genre = List.of(GENRES.get(index % GENRES.size()), GENRES.get((index + 1) % GENRES.size()));
+            List<String> style = List.of(STYLES.get(index % STYLES.size()));
+            List<String> format = List.of(FORMATS.get(index % FORMATS.size()));
+            List<String> label = List.of("Stub Records " + index % 10);
+            if ("master".equals(type)) {
+                items.add(MasterDTO.builder().id(id).title(title).year(year).genre(genre).style(style)
+                        .format(format).label(label).country("US").build());
+            } else {
+                items.add(ReleaseDTO.builder().id(id).title(title).year(year).genre(genre).style(style)
+                        .format(format).label(label).country("US").build());
+            }
+        }
+        return items;
+    }
+
+    private long artistId(String name) {
+        long id = Math.floorMod(name.toLowerCase().hashCode(), CATALOG_SIZE) + 1L;
+        artistNames.putIfAbsent(id, name);
+        return id;
+    }
+
+    private Pagination pagination(int page, int perPage, int items) {
+        return new Pagination(page, Math.max((items + perPage - 1) / perPage, 1), perPage, items, Map.of());
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<?> items) {
+        return (List<T>) items;
+    }
+
+    private record Response(String endpoint, int status, Object body) {
+    }
+}
@@ -0,0 +1,314 @@
+package com.discogs.client.load;
+
+import com.discogs.client.DiscogsBakcendChallengeApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * End-to-end load test that runs offline: it starts a {@link DiscogsStubServer}, boots the application against
+ * it with an in-memory H2 database, ingests a set of artists and then drives the artist search, comparison and
+ * list endpoints at a fixed request rate, reporting throughput and p50/p99 latency per endpoint.
+ *
+ * <p>Requests are sent on schedule whether or not earlier ones have completed, and latency is measured from the
+ * scheduled start, so a slow server shows up as latency instead of as a lower request rate.
+ *
+ * <p>Settings are read from system properties:
+ * <ul>
+ *     <li>{@code load.rps} - requests per second across all scenarios (default 20).</li>
+ *     <li>{@code load.duration} - how long the load is applied, as an ISO-8601 duration (default PT30S).</li>
+ *     <li>{@code load.artists} - the number of artists ingested before the load starts (default 20).</li>
+ *     <li>{@code load.scenarios} - the scenarios run in rotation, from {@code search}, {@code compare},
+ *     {@code artists}, {@code masters} and {@code releases} (default all).</li>
+ *     <li>{@code stub.latency} - the delay of every stub response (default PT0.05S).</li>
+ *     <li>{@code stub.pages} - pages of masters and of releases per artist (default 3).</li>
+ *     <li>{@code stub.too-many-requests} - share of stub requests answered with 429 (default 0).</li>
+ *     <li>{@code stub.rate-limit} - requests per minute the stub reports to the rate limiter (default 6000).</li>
+ * </ul>
+ * Any application property can be overridden the same way, for example {@code spring.datasource.url} to run
+ * against a local PostgreSQL database.
+ */
+public final class LoadHarness {
+
+    private static final List<String> SCENARIOS = List.of("search", "compare", "artists", "masters", "releases");
+    private static final Duration INGEST_TIMEOUT = Duration.ofMinutes(10);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final List<String> artistNames;
+
+    private LoadHarness(String baseUrl, List<String> artistNames) {
+        this.baseUrl = baseUrl;
+        this.artistNames = artistNames;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rps = Integer.getInteger("load.rps", 20);
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        int artists = Integer.getInteger("load.artists", 20);
+        List<String> scenarios = Arrays.stream(System.getProperty("load.scenarios", String.join(",", SCENARIOS)).split(","))
+                .map(String::trim)
+                .toList();
+        int rateLimit = Integer.getInteger("stub.rate-limit", 6000);
+        // restarting in a separate class loader is decided before the application properties are read
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (DiscogsStubServer stub = new DiscogsStubServer(
+                Duration.parse(System.getProperty("stub.latency", "PT0.05S")),
+                Integer.getInteger("stub.pages", 3),
+                Double.parseDouble(System.getProperty("stub.too-many-requests", "0")),
+                rateLimit)) {
+            stub.start();
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;NON_KEYWORDS=YEAR");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.show-sql", "false");
+            properties.put("discogs.api.baseUrl", stub.getBaseUrl());
+            properties.put("discogs.api.token", "load-test");
+            properties.put("discogs.server.throttling.requests-per-minute", String.valueOf(rateLimit));
+            properties.put("discogs.refresh.enabled", "false");
+            properties.put("logging.level.root", "WARN");
+            properties.put("logging.level.org.springframework", "WARN");
+            properties.put("logging.level.org.hibernate.SQL", "WARN");
+            properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DiscogsBakcendChallengeApplication.class)
+                    .run(commandLine(properties))) {
+                String port = context.getEnvironment().getRequiredProperty("local.server.port");
+                List<String> names = new ArrayList<>();
+                for (int i = 1; i <= artists; i++) {
+                    names.add("Load Artist " + i);
+                }
+                LoadHarness harness = new LoadHarness("http://127.0.0.1:" + port, names);
+
+                System.out.printf("Ingesting %d artists from the stub at %s%n", artists, stub.getBaseUrl());
+                harness.report("ingest", List.of(harness.ingest()));
+
+                System.out.printf("Sending %d requests/s for %s: %s%n", rps, duration, scenarios);
+                harness.report("load", harness.run(scenarios, rps, duration));
+                System.out.println("Stub requests: " + stub.getRequestCounts()
+                        + ", answered with 429: " + stub.getTooManyRequestsCount());
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Turns the defaults into command line arguments, so they take precedence over application.properties,
+     * unless the same property was given as a system property.
+     */
+    private static String[] commandLine(Map<String, String> defaults) {
+        return defaults.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + System.getProperty(property.getKey(), property.getValue()))
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Queues a search for every artist and waits for the ingest jobs to finish.
+     *
+     * @return the time from queueing each search until its job was seen to complete.
+     */
+    private Stats ingest() throws IOException, InterruptedException {
+        Map<String, Long> started = new HashMap<>();
+        for (String name : artistNames) {
+            HttpResponse<String> response = send(get("/artists/search?name=" + encode(name)));
+            started.put(jobId(response.body()), System.nanoTime());
+        }
+        return awaitJobs("ingest", started);
+    }
+
+    /**
+     * Polls ingest jobs until they finish or the ingest timeout elapses.
+     *
+     * @param name the name the results are reported under.
+     * @param jobs the jobs to wait for, with the time each was started.
+     * @return the time from starting each job until it was seen to complete.
+     */
+    private Stats awaitJobs(String name, Map<String, Long> jobs) throws IOException, InterruptedException {
+        Stats stats = new Stats(name);
+        Map<String, Long> started = new HashMap<>(jobs);
+        long deadline = System.nanoTime() + INGEST_TIMEOUT.toNanos();
+        while (!started.isEmpty() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+            for (String jobId : List.copyOf(started.keySet())) {
+                JsonNode job = objectMapper.readTree(send(get("/artists/search/jobs/" + jobId)).body());
+                String status = job.path("status").asText();
+                if ("COMPLETED".equals(status) || "FAILED".equals(status)) {
+                    stats.record(started.remove(jobId), "COMPLETED".equals(status));
+                }
+            }
+        }
+        started.values().forEach(start -> stats.record(start, false));
+        return stats;
+    }
+
+    /**
+     * Sends the scenarios in rotation at the given rate and waits for every response, then for the ingest jobs
+     * queued by the searches.
+     */
+    private List<Stats> run(List<String> scenarios, int rps, Duration duration) throws IOException, InterruptedException {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        Map<String, Supplier<HttpRequest>> requests = new LinkedHashMap<>();
+        for (String scenario : scenarios) {
+            stats.put(scenario, new Stats(scenario));
+            requests.put(scenario, scenario(scenario));
+        }
+        List<String> rotation = List.copyOf(requests.keySet());
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        Map<String, Long> searchJobs = new ConcurrentHashMap<>();
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(rps, 1);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; start + i * interval < end; i++) {
+            long scheduled = start + i * interval;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String scenario = rotation.get((int) (i % rotation.size()));
+            Stats scenarioStats = stats.get(scenario);
+            pending.add(client.sendAsync(requests.get(scenario).get(), HttpResponse.BodyHandlers.ofString())
+                    .handle((response, failure) -> {
+                        boolean success = failure == null && response.statusCode() < 400;
+                        scenarioStats.record(scheduled, success);
+                        if (success && "search".equals(scenario)) {
+                            searchJobs.putIfAbsent(jobId(response.body()), scheduled);
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        List<Stats> results = new ArrayList<>(stats.values());
+        if (!searchJobs.isEmpty()) {
+            results.add(awaitJobs("search job", searchJobs));
+        }
+        return results;
+    }
+
+    private Supplier<HttpRequest> scenario(String scenario) {
+        return switch (scenario) {
+            // half of the names are already stored, the other half are ingested on first search
+            case "search" -> () -> get("/artists/search?name="
+                    + encode("Load Artist " + (1 + ThreadLocalRandom.current().nextInt(artistNames.size() * 2))));
+            case "compare" -> () -> post("/artists/compare", List.of(randomArtist(), randomArtist()));
+            case "artists" -> () -> get("/artists?view=summary&limit=50");
+            case "masters" -> () -> get("/api/masters?limit=50");
+            case "releases" -> () -> get("/api/releases?limit=50");
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected one of " + SCENARIOS);
+        };
+    }
+
+    private String jobId(String body) {
+        try {
+            return objectMapper.readTree(body).path("jobId").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String randomArtist() {
+        return artistNames.get(ThreadLocalRandom.current().nextInt(artistNames.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private void report(String phase, List<Stats> stats) {
+        System.out.printf("%n%-12s %9s %7s %12s %10s %10s %10s%n",
+                phase, "requests", "errors", "throughput/s", "p50 ms", "p99 ms", "max ms");
+        stats.forEach(Stats::print);
+        System.out.println();
+    }
+
+    /**
+     * Latencies and outcomes of the requests of one scenario.
+     */
+    private static final class Stats {
+
+        private final String name;
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final long start = System.nanoTime();
+        private final AtomicLong lastCompletion = new AtomicLong(start);
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long startNanos, boolean success) {
+            long now = System.nanoTime();
+            latencies.add(now - startNanos);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            lastCompletion.accumulateAndGet(now, Math::max);
+        }
+
+        void print() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            double seconds = Math.max(lastCompletion.get() - start, 1) / 1e9;
+            System.out.printf("%-12s %9d %7d %12.1f %10.1f %10.1f %10.1f%n", name, sorted.length, errors.get(),
+                    sorted.length / seconds, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.discogs.client.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.discogs.client.model.Release;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+/**
+ * Test class for the CatalogUpsertRepository.
+ * The upserts use PostgreSQL syntax, so these tests only run when {@code test.postgres.url} names a scratch
+ * PostgreSQL database, for instance {@code -Dtest.postgres.url=jdbc:postgresql://localhost:5432/scratch?user=postgres}.
+ * The database is cleaned and migrated before each test.
+ */
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = ".+")
+public class CatalogUpsertRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CatalogUpsertRepository catalogUpsertRepository;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty("test.postgres.url"));
+        Flyway flyway = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/postgresql")
+                .cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into artists (id, discogs_id, name) values (1, 10, 'Artist')");
+        catalogUpsertRepository = new CatalogUpsertRepository(jdbcTemplate);
+    }
+
+    /**
+     * Test to verify that new releases get ids from the sequence and are returned with them.
+     */
+    @Test
+    public void testUpsertInsertsNewReleasesWithSequenceIds() {
+        List<Release> written = catalogUpsertRepository.upsertReleases(1L,
+                List.of(release(100L, "First", List.of("Rock")), release(101L, "Second", List.of("Jazz"))));
+
+        assertEquals(2, written.size());
+        assertNotEquals(written.get(0).getId(), written.get(1).getId());
+        assertEquals(written.get(0).getId(), jdbcTemplate.queryForObject(
+                "select id from releases where discogs_id = 100", Long.class));
+        assertEquals("Jazz", jdbcTemplate.queryForObject(
+                "select genre[1] from releases where discogs_id = 101", String.class));
+    }
+
+    /**
+     * Test to verify that unchanged rows are left untouched and changed rows are updated in place.
+     */
+    @Test
+    public void testUpsertUpdatesOnlyChangedReleases() {
+        Long id = catalogUpsertRepository.upsertReleases(1L, List.of(release(100L, "First", List.of("Rock"))))
+                .get(0).getId();
+
+        assertTrue(catalogUpsertRepository.upsertReleases(1L, List.of(release(100L, "First", List.of("Rock")))).isEmpty());
+        List<Release> changed = catalogUpsertRepository.upsertReleases(1L,
+                List.of(release(100L, "First", List.of("Rock", "Pop"))));
+
+        assertEquals(1, changed.size());
+        assertEquals(id, changed.get(0).getId());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from releases", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select cardinality(genre) from releases where discogs_id = 100", Integer.class));
+    }
+
+    private static Release release(Long discogsId, String title, List<String> genres) {
+        return Release.builder().discogsId(discogsId).title(title).genre(genres).style(List.of()).format(List.of())
+                .label(List.of()).build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.repository.ArtistStatsRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test class for the ArtistSimilarityIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ArtistSimilarityIndexTest {
+
+    private static final Object[] ROW = {"1991", List.of("Rock"), List.of("Grunge"), List.of("Sub Pop")};
+
+    @Mock
+    private ArtistStatsRepository artistStatsRepository;
+
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    @InjectMocks
+    private ArtistSimilarityIndex artistSimilarityIndex;
+
+    /**
+     * Test to verify that a build indexes the statistics with signatures and leaves the others to the backfill
+     * without writing anything.
+     */
+    @Test
+    public void testBuildSkipsStatisticsWithoutSignatures() {
+        // Given
+        ArtistStats signed = new ReleaseStatsAccumulator().addRow(ROW).applyTo(ArtistStats.builder().artistId(1L).build());
+        when(artistStatsRepository.findByArtistIdGreaterThanOrderByArtistIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(signed, ArtistStats.builder().artistId(2L).releaseCount(1).build()));
+
+        // When
+        artistSimilarityIndex.build();
+
+        // Then
+        assertEquals(Set.of(1L), artistSimilarityIndex.findCandidates(ArtistSimilarityIndex.signature(signed)));
+        verify(artistStatsRepository, never()).save(any());
+        verifyNoInteractions(releaseRepository);
+    }
+
+    /**
+     * Test to verify that the backfill computes and indexes the missing signatures once, and that later runs
+     * return right away.
+     */
+    @Test
+    public void testBackfillComputesMissingSignaturesOnce() {
+        // Given
+        ArtistStats unsigned = ArtistStats.builder().artistId(2L).releaseCount(1).build();
+        when(artistStatsRepository.findWithoutSignatures(any(Limit.class))).thenReturn(List.of(unsigned));
+        when(releaseRepository.findStatsRowsByArtistId(2L)).thenReturn(List.<Object[]>of(ROW));
+        when(artistStatsRepository.save(any(ArtistStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        artistSimilarityIndex.backfillSignatures();
+        artistSimilarityIndex.backfillSignatures();
+
+        // Then
+        assertTrue(ArtistSimilarityIndex.hasSignatures(unsigned));
+        assertEquals(Set.of(2L), artistSimilarityIndex.findCandidates(ArtistSimilarityIndex.signature(unsigned)));
+        verify(artistStatsRepository, times(1)).findWithoutSignatures(any(Limit.class));
+    }
+}
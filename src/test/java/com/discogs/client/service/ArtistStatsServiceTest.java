@@ -0,0 +1,82 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.model.Release;
+import com.discogs.client.repository.ArtistStatsRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class ArtistStatsServiceTest {
+
+    @Mock
+    private ArtistStatsRepository artistStatsRepository;
+
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    @Mock
+    private ArtistSimilarityIndex artistSimilarityIndex;
+
+    @InjectMocks
+    private ArtistStatsService artistStatsService;
+
+    @Test
+    public void testRecordReleasesUpdatesExistingStats() {
+        int[] rock = MinHash.empty();
+        MinHash.add(rock, "Rock");
+        ArtistStats existing = ArtistStats.builder().artistId(1L).releaseCount(1).minYear(1990).maxYear(1990)
+                .genreCounts(Map.of("Rock", 1)).genreSignature(rock).styleSignature(MinHash.empty())
+                .labelSignature(MinHash.empty()).build();
+        when(artistStatsRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(artistStatsRepository.save(any(ArtistStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        artistStatsService.recordReleases(1L, List.of(
+                release("1985", List.of("Rock", "Pop")),
+                release("", List.of("Rock")),
+                release("2001", List.of())));
+
+        assertEquals(4, existing.getReleaseCount());
+        assertEquals(1985, existing.getMinYear());
+        assertEquals(2001, existing.getMaxYear());
+        assertEquals(Map.of("Rock", 3, "Pop", 1), existing.getGenreCounts());
+        assertEquals(2, MinHash.cardinality(existing.getGenreSignature()), 1);
+    }
+
+    @Test
+    public void testRecomputeFromStoredReleases() {
+        when(releaseRepository.findStatsRowsByArtistId(1L)).thenReturn(List.of(
+                new Object[]{"1999", List.of("Jazz", "Funk"), List.of("Bop"), List.of("Blue Note")},
+                new Object[]{"1970", List.of("Jazz"), List.of(), List.of("Blue Note", "Impulse!")},
+                new Object[]{"unknown", null, null, null}));
+        when(artistStatsRepository.save(any(ArtistStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ArtistStats stats = artistStatsService.recompute(1L);
+
+        assertEquals(3, stats.getReleaseCount());
+        assertEquals(1970, stats.getMinYear());
+        assertEquals(1999, stats.getMaxYear());
+        assertEquals(Map.of("Jazz", 2, "Funk", 1), stats.getGenreCounts());
+        assertEquals(2, MinHash.cardinality(stats.getLabelSignature()), 1);
+        verify(artistSimilarityIndex).put(stats);
+    }
+
+    private static Release release(String year, List<String> genres) {
+        Release release = new Release();
+        release.setYear(year);
+        release.setGenre(genres);
+        return release;
+    }
+}
@@ -0,0 +1,110 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.dto.response.BatchIngestResponse;
+import com.discogs.client.dto.response.BatchIngestResponse.Status;
+import com.discogs.client.exception.DiscogsApiException;
+import com.discogs.client.exception.InvalidInputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the BatchIngestService.
+ */
+public class BatchIngestServiceTest {
+
+    private final SearchService searchService = mock(SearchService.class);
+    private ExecutorService executor;
+    private BatchIngestService batchIngestService;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        batchIngestService = new BatchIngestService(searchService, executor, 10, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that duplicate names are ingested once and each artist reports its own outcome.
+     */
+    @Test
+    public void testSubmitReportsPerArtistStatus() throws Exception {
+        // Given
+        doThrow(new DiscogsApiException("Artist: Nobody not found", HttpStatus.NOT_FOUND))
+                .when(searchService).searchAndSaveArtist("Nobody");
+
+        // When
+        BatchIngestResponse submitted = batchIngestService.submit(List.of("Nirvana", " nirvana ", "Nobody"));
+        BatchIngestResponse finished = awaitCompletion(submitted.getJobId());
+
+        // Then
+        assertEquals(2, submitted.getTotal());
+        assertEquals(Status.COMPLETED, finished.getStatus());
+        assertEquals(1, finished.getCompleted());
+        assertEquals(1, finished.getFailed());
+        assertEquals("Artist: Nobody not found", finished.getArtists().get(1).getError());
+        verify(searchService, times(1)).searchAndSaveArtist("Nirvana");
+    }
+
+    /**
+     * Test to verify that a name already being ingested by another batch is not fetched again.
+     */
+    @Test
+    public void testSubmitJoinsInFlightIngest() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(searchService).searchAndSaveArtist("Nirvana");
+        String first = batchIngestService.submit(List.of("Nirvana")).getJobId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        String second = batchIngestService.submit(List.of("NIRVANA")).getJobId();
+        release.countDown();
+
+        // Then
+        assertEquals(Status.COMPLETED, awaitCompletion(first).getStatus());
+        assertEquals(1, awaitCompletion(second).getCompleted());
+        verify(searchService, times(1)).searchAndSaveArtist(anyString());
+    }
+
+    /**
+     * Test to verify that empty and oversized batches are rejected.
+     */
+    @Test
+    public void testSubmitRejectsInvalidBatches() {
+        assertThrows(InvalidInputException.class, () -> batchIngestService.submit(List.of()));
+        assertThrows(InvalidInputException.class, () -> batchIngestService.submit(List.of("A", " ")));
+        assertThrows(InvalidInputException.class, () -> batchIngestService.submit(
+                List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11")));
+    }
+
+    private BatchIngestResponse awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BatchIngestResponse job = batchIngestService.getJob(jobId).orElseThrow();
+        while (job.getCompletedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = batchIngestService.getJob(jobId).orElseThrow();
+        }
+        return job;
+    }
+}
@@ -0,0 +1,112 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.Release;
+import com.discogs.client.repository.ArtistRepository;
+import com.discogs.client.repository.CatalogUpsertRepository;
+import com.discogs.client.repository.MasterRepository;
+import com.discogs.client.repository.ReleaseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for the CatalogRefreshService.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CatalogRefreshServiceTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private MasterRepository masterRepository;
+
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    @Mock
+    private CatalogUpsertRepository catalogUpsertRepository;
+
+    @Mock
+    private CatalogPersistenceService catalogPersistenceService;
+
+    @Mock
+    private TagIndex tagIndex;
+
+    @InjectMocks
+    private CatalogRefreshService catalogRefreshService;
+
+    /**
+     * Test to verify that only new and changed releases of a page are written and indexed.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRefreshReleasesWritesOnlyNewAndChangedRows() {
+        Artist artist = Artist.builder().id(1L).name("Artist").build();
+        when(artistRepository.getReferenceById(1L)).thenReturn(artist);
+        when(catalogPersistenceService.toRelease(any(ReleaseDTO.class), eq(artist))).thenAnswer(invocation -> {
+            ReleaseDTO dto = invocation.getArgument(0);
+            return release(null, dto.getId(), dto.getTitle(), dto.getGenre());
+        });
+        when(releaseRepository.findByArtistIdAndDiscogsIdIn(eq(1L), anyCollection())).thenReturn(List.of(
+                release(10L, 100L, "Unchanged", new ArrayList<>(List.of("Rock"))),
+                release(11L, 101L, "Old title", new ArrayList<>(List.of("Rock")))));
+        when(catalogUpsertRepository.upsertReleases(eq(1L), anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        Set<Long> seen = new HashSet<>();
+
+        int written = catalogRefreshService.refreshReleases(1L, List.of(
+                dto(100L, "Unchanged", List.of("Rock")),
+                dto(101L, "New title", List.of("Rock")),
+                dto(102L, "New release", List.of("Jazz"))), seen);
+
+        ArgumentCaptor<List<Release>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(catalogUpsertRepository).upsertReleases(eq(1L), upserted.capture());
+        assertEquals(Set.of(101L, 102L), upserted.getValue().stream().map(Release::getDiscogsId).collect(Collectors.toSet()));
+        assertEquals(2, written);
+        assertEquals(Set.of(100L, 101L, 102L), seen);
+        verify(tagIndex).indexReleases(1L, upserted.getValue());
+    }
+
+    /**
+     * Test to verify that releases not seen by a crawl are deleted and removed from the tag index.
+     */
+    @Test
+    public void testRemoveReleasesNotInDeletesUnseenRows() {
+        Release removed = release(11L, 101L, "Removed", List.of());
+        when(releaseRepository.findDiscogsIdsByArtistId(1L)).thenReturn(List.of(100L, 101L));
+        when(releaseRepository.findByArtistIdAndDiscogsIdIn(1L, List.of(101L))).thenReturn(List.of(removed));
+
+        assertEquals(1, catalogRefreshService.removeReleasesNotIn(1L, Set.of(100L)));
+        assertEquals(0, catalogRefreshService.removeMastersNotIn(1L, Set.of()));
+
+        verify(releaseRepository).deleteAll(List.of(removed));
+        verify(tagIndex).removeReleases(1L, List.of(11L));
+        verify(masterRepository, never()).deleteAll(any());
+    }
+
+    private static Release release(Long id, Long discogsId, String title, List<String> genres) {
+        return Release.builder().id(id).discogsId(discogsId).title(title).genre(genres).style(List.of()).build();
+    }
+
+    private static ReleaseDTO dto(Long discogsId, String title, List<String> genres) {
+        return ReleaseDTO.builder().id(discogsId).title(title).genre(genres).style(List.of()).build();
+    }
+}
@@ -0,0 +1,252 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.dto.response.ArtistComparisonResponse;
+import com.discogs.client.exception.ResourceNotFoundException;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.repository.ArtistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+public class ComparisonServiceTest {
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private ArtistStatsService artistStatsService;
+
+    @Mock
+    private ArtistQueryCounter artistQueryCounter;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ComparisonService comparisonService;
+
+    private ExecutorService comparisonExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        comparisonExecutor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(comparisonService, "comparisonExecutor", comparisonExecutor);
+        ReflectionTestUtils.setField(comparisonService, "parallelThreshold", 8);
+        ReflectionTestUtils.setField(comparisonService, "comparisonTimeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        comparisonExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testCompareArtistsLoadsArtistsAndStatsInBulk() {
+        Artist first = Artist.builder().id(1L).name("First").build();
+        Artist second = Artist.builder().id(2L).name("Second").build();
+        when(artistRepository.findAllByNameIn(anyCollection())).thenReturn(List.of(second, first));
+        when(artistStatsService.findAllByArtistId(anyCollection())).thenReturn(List.of(
+                ArtistStats.builder().artistId(1L).releaseCount(3).genreCounts(Map.of("Rock", 3)).build()));
+        when(artistStatsService.recompute(2L)).thenReturn(
+                ArtistStats.builder().artistId(2L).releaseCount(0).genreCounts(Map.of()).build());
+
+        List<ArtistComparisonResponse> comparison = comparisonService.compareArtists(List.of("First", "Second"));
+
+        assertEquals(List.of("First", "Second"), comparison.stream().map(ArtistComparisonResponse::getArtistName).toList());
+        assertEquals(3, comparison.get(0).getNumberOfReleases());
+        assertEquals("Rock", comparison.get(0).getMostCommonGenre());
+        verify(artistRepository, times(1)).findAllByNameIn(anyCollection());
+        verify(artistRepository, never()).findByName(any());
+        verify(artistStatsService, never()).recompute(1L);
+    }
+
+    @Test
+    public void testCompareArtistsInParallelKeepsTheOrderOfTheNames() {
+        ReflectionTestUtils.setField(comparisonService, "parallelThreshold", 2);
+        Artist first = Artist.builder().id(1L).name("First").build();
+        Artist second = Artist.builder().id(2L).name("Second").build();
+        when(artistRepository.findAllByNameIn(anyCollection())).thenReturn(List.of(first, second));
+        when(artistStatsService.findAllByArtistId(anyCollection())).thenReturn(List.of(
+                ArtistStats.builder().artistId(1L).releaseCount(1).genreCounts(Map.of()).build(),
+                ArtistStats.builder().artistId(2L).releaseCount(2).genreCounts(Map.of()).build()));
+
+        List<ArtistComparisonResponse> comparison = comparisonService.compareArtists(List.of("Second", "First", "Second"));
+
+        assertEquals(List.of("Second", "First", "Second"),
+                comparison.stream().map(ArtistComparisonResponse::getArtistName).toList());
+        assertEquals(List.of(2, 1, 2), comparison.stream().map(ArtistComparisonResponse::getNumberOfReleases).toList());
+    }
+
+    @Test
+    public void testCompareArtistsReportsAllMissingArtists() {
+        when(artistRepository.findAllByNameIn(anyCollection()))
+                .thenReturn(List.of(Artist.builder().id(1L).name("First").build()));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> comparisonService.compareArtists(List.of("Missing", "First", "Unknown", "Missing")));
+
+        assertEquals("Artists not found: Missing, Unknown", exception.getMessage());
+        verifyNoInteractions(artistStatsService, artistQueryCounter);
+    }
+
+    @Test
+    public void testTimedOutComparisonSkipsQueuedArtists() throws Exception {
+        useSingleWorker(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        givenArtistsWithoutStats(3);
+        when(artistStatsService.recompute(1L)).thenAnswer(invocation -> {
+            release.await();
+            return stats(1L);
+        });
+
+        CompletableFuture<List<ArtistComparisonResponse>> comparison =
+                comparisonService.compareArtistsAsync(List.of("A1", "A2", "A3"));
+
+        CompletionException exception = assertThrows(CompletionException.class, comparison::join);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals("The comparison of 3 artists did not complete within PT0.1S", exception.getCause().getMessage());
+        release.countDown();
+        comparisonExecutor.submit(() -> null).get(5, TimeUnit.SECONDS);
+        verify(artistStatsService, never()).recompute(2L);
+        verify(artistStatsService, never()).recompute(3L);
+        assertEquals(1, comparisons("timeout"));
+    }
+
+    @Test
+    public void testFailedComparisonSkipsQueuedArtists() throws Exception {
+        useSingleWorker(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        givenArtistsWithoutStats(3);
+        when(artistStatsService.recompute(1L)).thenAnswer(invocation -> {
+            release.await();
+            throw new IllegalStateException("Recompute failed");
+        });
+
+        CompletableFuture<List<ArtistComparisonResponse>> comparison =
+                comparisonService.compareArtistsAsync(List.of("A1", "A2", "A3"));
+        release.countDown();
+
+        CompletionException exception = assertThrows(CompletionException.class, comparison::join);
+        assertEquals("Recompute failed", exception.getCause().getMessage());
+        comparisonExecutor.submit(() -> null).get(5, TimeUnit.SECONDS);
+        verify(artistStatsService, never()).recompute(2L);
+        verify(artistStatsService, never()).recompute(3L);
+        assertEquals(1, comparisons("failure"));
+    }
+
+    @Test
+    public void testCancelledComparisonSkipsQueuedArtists() throws Exception {
+        useSingleWorker(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        givenArtistsWithoutStats(3);
+        when(artistStatsService.recompute(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return stats(1L);
+        });
+
+        CompletableFuture<List<ArtistComparisonResponse>> comparison =
+                comparisonService.compareArtistsAsync(List.of("A1", "A2", "A3"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        comparison.cancel(false);
+        release.countDown();
+
+        assertThrows(CancellationException.class, comparison::join);
+        comparisonExecutor.submit(() -> null).get(5, TimeUnit.SECONDS);
+        verify(artistStatsService, never()).recompute(2L);
+        verify(artistStatsService, never()).recompute(3L);
+        assertEquals(1, comparisons("cancelled"));
+    }
+
+    @Test
+    public void testSaturatedExecutorStopsComparingOnTheCallingThreadAfterTheTimeout() throws Exception {
+        comparisonExecutor.shutdownNow();
+        comparisonExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ReflectionTestUtils.setField(comparisonService, "comparisonExecutor", comparisonExecutor);
+        ReflectionTestUtils.setField(comparisonService, "parallelThreshold", 2);
+        ReflectionTestUtils.setField(comparisonService, "comparisonTimeout", Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        givenArtistsWithoutStats(3);
+        when(artistStatsService.recompute(1L)).thenAnswer(invocation -> {
+            release.await();
+            return stats(1L);
+        });
+        when(artistStatsService.recompute(2L)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return stats(2L);
+        });
+
+        CompletableFuture<List<ArtistComparisonResponse>> comparison =
+                comparisonService.compareArtistsAsync(List.of("A1", "A2", "A3"));
+        release.countDown();
+
+        CompletionException exception = assertThrows(CompletionException.class, comparison::join);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        verify(artistStatsService, never()).recompute(3L);
+        assertEquals(1, comparisons("timeout"));
+    }
+
+    private void useSingleWorker(Duration timeout) {
+        comparisonExecutor.shutdownNow();
+        comparisonExecutor = Executors.newFixedThreadPool(1);
+        ReflectionTestUtils.setField(comparisonService, "comparisonExecutor", comparisonExecutor);
+        ReflectionTestUtils.setField(comparisonService, "parallelThreshold", 2);
+        ReflectionTestUtils.setField(comparisonService, "comparisonTimeout", timeout);
+    }
+
+    private void givenArtistsWithoutStats(int count) {
+        List<Artist> artists = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            artists.add(Artist.builder().id(id).name("A" + id).build());
+        }
+        when(artistRepository.findAllByNameIn(anyCollection())).thenReturn(artists);
+        when(artistStatsService.findAllByArtistId(anyCollection())).thenReturn(List.of());
+    }
+
+    private static ArtistStats stats(long artistId) {
+        return ArtistStats.builder().artistId(artistId).releaseCount(0).genreCounts(Map.of()).build();
+    }
+
+    private long comparisons(String outcome) throws InterruptedException {
+        // The timer is stopped by a completion callback, which may still be running when join returns.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Timer timer;
+        while ((timer = meterRegistry.find("discogs.comparison").tag("outcome", outcome).timer()) == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,82 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.dto.response.DiscogsReleasesResponse;
+import com.discogs.client.model.Pagination;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test class for the DiscogsCatalogCrawler.
+ */
+public class DiscogsCatalogCrawlerTest {
+
+    private final DiscogsApiService discogsApiService = mock(DiscogsApiService.class);
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that every page is read and handed to the consumer in order.
+     */
+    @Test
+    public void testCrawlReleasesWalksEveryPage() {
+        // Given
+        for (int page = 1; page <= 3; page++) {
+            when(discogsApiService.getArtistReleasesPage("Artist", page, 2)).thenReturn(releasesPage(page, 3));
+        }
+        DiscogsCatalogCrawler crawler = new DiscogsCatalogCrawler(discogsApiService, executor, 2, true);
+        List<String> titles = new ArrayList<>();
+
+        // When
+        int pages = crawler.crawlReleases("Artist", page -> page.forEach(release -> titles.add(release.getTitle())));
+
+        // Then
+        assertEquals(3, pages);
+        assertEquals(List.of("1-a", "1-b", "2-a", "2-b", "3-a", "3-b"), titles);
+    }
+
+    /**
+     * Test to verify that a response without pagination is treated as a single page.
+     */
+    @Test
+    public void testCrawlReleasesWithoutPagination() {
+        // Given
+        when(discogsApiService.getArtistReleasesPage("Artist", 1, 2))
+                .thenReturn(new DiscogsReleasesResponse(List.of(release("only")), null));
+        DiscogsCatalogCrawler crawler = new DiscogsCatalogCrawler(discogsApiService, executor, 2, false);
+
+        // When
+        int pages = crawler.crawlReleases("Artist", page -> { });
+
+        // Then
+        assertEquals(1, pages);
+        verify(discogsApiService, times(1)).getArtistReleasesPage(anyString(), anyInt(), anyInt());
+    }
+
+    private static DiscogsReleasesResponse releasesPage(int page, int pages) {
+        Pagination pagination = Pagination.builder().page(page).pages(pages).per_page(2).items(pages * 2).build();
+        return new DiscogsReleasesResponse(List.of(release(page + "-a"), release(page + "-b")), pagination);
+    }
+
+    private static ReleaseDTO release(String title) {
+        return ReleaseDTO.builder().title(title).build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.dto.response.IngestJobResponse;
+import com.discogs.client.exception.DiscogsApiException;
+import com.discogs.client.model.IngestJob;
+import com.discogs.client.repository.IngestJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Test class for the IngestJobService.
+ */
+public class IngestJobServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final IngestJobRepository ingestJobRepository = mock(IngestJobRepository.class);
+    private final IngestJobService ingestJobService = new IngestJobService(ingestJobRepository, 3,
+            Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofMinutes(30), Duration.ofDays(7),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    /**
+     * Test to verify that queueing an artist that already has an active job returns that job.
+     */
+    @Test
+    public void testEnqueueReturnsActiveJob() {
+        // Given
+        IngestJob active = job(IngestJob.Status.RUNNING, 1);
+        when(ingestJobRepository.findFirstByArtistKeyAndRefreshAndStatusIn(eq("nirvana"), eq(false), any()))
+                .thenReturn(Optional.of(active));
+
+        // When
+        IngestJobResponse response = ingestJobService.enqueue(" NIRVANA ", false);
+
+        // Then
+        assertEquals(active.getId().toString(), response.getJobId());
+        verify(ingestJobRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Test to verify that claimed jobs are marked running under the worker's lease.
+     */
+    @Test
+    public void testClaimMarksJobsRunning() {
+        // Given
+        IngestJob pending = job(IngestJob.Status.PENDING, 0);
+        when(ingestJobRepository.findDueForUpdate(NOW, 2)).thenReturn(List.of(pending));
+
+        // When
+        List<IngestJob> claimed = ingestJobService.claim("worker-1", 2);
+
+        // Then
+        assertEquals(List.of(pending), claimed);
+        assertEquals(IngestJob.Status.RUNNING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("worker-1", pending.getLockedBy());
+        assertEquals(NOW, pending.getLockedAt());
+    }
+
+    /**
+     * Test to verify that transient failures are retried with backoff and permanent ones fail the job.
+     */
+    @Test
+    public void testFailRetriesWithBackoffUnlessPermanent() {
+        // Given
+        IngestJob transientFailure = job(IngestJob.Status.RUNNING, 2);
+        IngestJob notFound = job(IngestJob.Status.RUNNING, 1);
+        IngestJob exhausted = job(IngestJob.Status.RUNNING, 3);
+        for (IngestJob job : List.of(transientFailure, notFound, exhausted)) {
+            when(ingestJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        }
+
+        // When
+        ingestJobService.fail(copy(transientFailure), new DiscogsApiException("Too many requests", HttpStatus.TOO_MANY_REQUESTS));
+        ingestJobService.fail(copy(notFound), new DiscogsApiException("Artist: Nobody not found", HttpStatus.NOT_FOUND));
+        ingestJobService.fail(copy(exhausted), new IllegalStateException("boom"));
+
+        // Then
+        assertEquals(IngestJob.Status.PENDING, transientFailure.getStatus());
+        Duration delay = Duration.between(NOW, transientFailure.getNextAttemptAt());
+        assertTrue(delay.compareTo(Duration.ofSeconds(30)) >= 0 && delay.compareTo(Duration.ofSeconds(60)) <= 0, delay::toString);
+        assertNull(transientFailure.getLockedBy());
+        assertEquals(IngestJob.Status.FAILED, notFound.getStatus());
+        assertEquals("Artist: Nobody not found", notFound.getLastError());
+        assertEquals(IngestJob.Status.FAILED, exhausted.getStatus());
+    }
+
+    /**
+     * Test to verify that a worker whose lease was taken over cannot complete the job.
+     */
+    @Test
+    public void testCompleteIgnoresLostLease() {
+        // Given
+        IngestJob claimed = job(IngestJob.Status.RUNNING, 1);
+        IngestJob current = copy(claimed);
+        current.setLockedBy("worker-2");
+        when(ingestJobRepository.findById(claimed.getId())).thenReturn(Optional.of(current));
+
+        // When
+        ingestJobService.complete(claimed);
+
+        // Then
+        assertEquals(IngestJob.Status.RUNNING, current.getStatus());
+        assertNull(current.getCompletedAt());
+    }
+
+    private static IngestJob job(IngestJob.Status status, int attempts) {
+        return IngestJob.builder()
+                .id(UUID.randomUUID())
+                .artistName("Nirvana")
+                .artistKey("nirvana")
+                .status(status)
+                .attempts(attempts)
+                .lockedBy(status == IngestJob.Status.RUNNING ? "worker-1" : null)
+                .lockedAt(status == IngestJob.Status.RUNNING ? NOW : null)
+                .nextAttemptAt(NOW)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    private static IngestJob copy(IngestJob job) {
+        return IngestJob.builder()
+                .id(job.getId())
+                .artistName(job.getArtistName())
+                .artistKey(job.getArtistKey())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .lockedBy(job.getLockedBy())
+                .lockedAt(job.getLockedAt())
+                .nextAttemptAt(job.getNextAttemptAt())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.discogs.client.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the MinHash.
+ */
+class MinHashTest {
+
+    /**
+     * Test that the Jaccard similarity and the cardinality of overlapping sets are estimated within a few
+     * standard errors, and that the signature of a union is that of the combined set.
+     */
+    @Test
+    void testEstimatesOverlappingSets() {
+        int[] a = signature(0, 600);
+        int[] b = signature(300, 900);
+
+        assertEquals(300.0 / 900, MinHash.jaccard(a, b), 0.15);
+        assertEquals(900, MinHash.cardinality(MinHash.union(a, b)), 300);
+        assertArrayEquals(signature(0, 900), MinHash.union(a, b));
+        assertEquals(1.0, MinHash.jaccard(a, signature(0, 600)));
+    }
+
+    /**
+     * Test that empty sets have no band keys and are not similar to anything, and that identical sets share
+     * every band key.
+     */
+    @Test
+    void testEmptyAndIdenticalSets() {
+        int[] empty = MinHash.empty();
+
+        assertTrue(MinHash.isEmpty(empty));
+        assertEquals(0, MinHash.jaccard(empty, MinHash.empty()));
+        assertEquals(0, MinHash.cardinality(empty));
+        assertEquals(0, MinHash.bandKeys(empty).length);
+        assertArrayEquals(MinHash.bandKeys(signature(0, 10)), MinHash.bandKeys(signature(0, 10)));
+    }
+
+    private static int[] signature(int from, int to) {
+        int[] signature = MinHash.empty();
+        IntStream.range(from, to).forEach(i -> MinHash.add(signature, "Label " + i));
+        return signature;
+    }
+}
@@ -1,11 +1,18 @@
 package com.discogs.client.service;
 
+import com.discogs.client.dto.internal.ReleaseDTO;
+import com.discogs.client.dto.response.KeysetPage;
+import com.discogs.client.model.Artist;
 import com.discogs.client.model.Release;
 import com.discogs.client.repository.ReleaseRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -40,4 +47,36 @@ public class ReleaseServiceTest {
         // Then
         assertThat(savedRelease.getTitle()).isEqualTo("Test Release");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that a full page carries the id of its last release as the next cursor.
+     */
+    @Test
+    public void testGetReleasesReturnsNextCursor() {
+        // Given
+        when(releaseRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(2)))
+                .thenReturn(List.of(release(11L), release(14L)));
+        when(releaseRepository.findByIdGreaterThanOrderByIdAsc(14L, Limit.of(2)))
+                .thenReturn(List.of(release(15L)));
+
+        // When
+        KeysetPage<ReleaseDTO> first = releaseService.getReleases(10L, 2);
+        KeysetPage<ReleaseDTO> last = releaseService.getReleases(first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getItems()).hasSize(2);
+        assertThat(first.getNextCursor()).isEqualTo(14L);
+        assertThat(last.getItems()).hasSize(1);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    private static Release release(Long id) {
+        Artist artist = new Artist();
+        artist.setId(1L);
+        Release release = new Release();
+        release.setId(id);
+        release.setTitle("Release " + id);
+        release.setArtist(artist);
+        return release;
+    }
+}
@@ -0,0 +1,57 @@
+package com.discogs.client.service;
+
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.model.Release;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ReleaseStatsAccumulator.
+ */
+class ReleaseStatsAccumulatorTest {
+
+    /**
+     * Test that years, release count and a genre histogram larger than the initial slot arrays are accumulated.
+     */
+    @Test
+    void testAccumulatesReleases() {
+        ReleaseStatsAccumulator accumulator = new ReleaseStatsAccumulator()
+                .seed(ArtistStats.builder().artistId(1L).releaseCount(2).minYear(1980).maxYear(1985)
+                        .genreCounts(Map.of("Rock", 2)).build());
+        for (int i = 0; i < 12; i++) {
+            accumulator.add(release(String.valueOf(1990 + i), List.of("Genre " + i, "Rock")));
+        }
+        accumulator.add(release("", List.of()));
+
+        ArtistStats stats = accumulator.applyTo(ArtistStats.builder().artistId(1L).build());
+
+        assertEquals(15, stats.getReleaseCount());
+        assertEquals(1980, stats.getMinYear());
+        assertEquals(2001, stats.getMaxYear());
+        assertEquals(13, stats.getGenreCounts().size());
+        assertEquals(14, stats.getGenreCounts().get("Rock"));
+        assertEquals("Rock", accumulator.mostCommonGenre());
+    }
+
+    /**
+     * Test that only plain non-negative integers are parsed as years.
+     */
+    @Test
+    void testParseYear() {
+        assertEquals(1999, ReleaseStatsAccumulator.parseYear(" 1999 "));
+        assertEquals(ReleaseStatsAccumulator.NO_YEAR, ReleaseStatsAccumulator.parseYear(""));
+        assertEquals(ReleaseStatsAccumulator.NO_YEAR, ReleaseStatsAccumulator.parseYear(null));
+        assertEquals(ReleaseStatsAccumulator.NO_YEAR, ReleaseStatsAccumulator.parseYear("19x9"));
+    }
+
+    private static Release release(String year, List<String> genres) {
+        Release release = new Release();
+        release.setYear(year);
+        release.setGenre(genres);
+        return release;
+    }
+}
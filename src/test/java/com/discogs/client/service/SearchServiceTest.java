@@ -0,0 +1,108 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.exception.DiscogsApiException;
+import com.discogs.client.model.Artist;
+import com.discogs.client.repository.AdvisoryLockRepository;
+import com.discogs.client.repository.ArtistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Test class for the SearchService.
+ */
+public class SearchServiceTest {
+
+    private final DiscogsApiService discogsApiService = mock(DiscogsApiService.class);
+    private final ArtistRepository artistRepository = mock(ArtistRepository.class);
+    private final CatalogPersistenceService catalogPersistenceService = mock(CatalogPersistenceService.class);
+    private ExecutorService executor;
+    private SearchService searchService;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        searchService = new SearchService(discogsApiService, mock(DiscogsCatalogCrawler.class),
+                catalogPersistenceService, mock(CatalogRefreshService.class),
+                mock(ArtistStatsService.class), artistRepository, mock(AdvisoryLockRepository.class),
+                executor, Duration.ofSeconds(5), false, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that concurrent searches for the same name share one lookup and its failure.
+     */
+    @Test
+    public void testConcurrentSearchesForSameNameAreCoalesced() throws Exception {
+        // Given
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(discogsApiService.getArtistIdByName(anyString())).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            release.await();
+            return null;
+        });
+        Future<?> first = executor.submit(() -> searchService.searchAndSaveArtist("Nirvana"));
+        lookupStarted.await();
+
+        // When
+        CompletableFuture<Thread> waiter = new CompletableFuture<>();
+        Future<?> second = executor.submit(() -> {
+            waiter.complete(Thread.currentThread());
+            searchService.searchAndSaveArtist("  NIRVANA ");
+        });
+        Thread waitingThread = waiter.get(5, TimeUnit.SECONDS);
+        while (waitingThread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        for (Future<?> search : new Future<?>[]{first, second}) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> search.get(5, TimeUnit.SECONDS));
+            assertEquals(HttpStatus.NOT_FOUND, ((DiscogsApiException) e.getCause()).getHttpStatus());
+        }
+        verify(discogsApiService, times(1)).getArtistIdByName(anyString());
+    }
+
+    /**
+     * Test to verify that a refresh by Discogs ID does not resolve the name again and records a failure.
+     */
+    @Test
+    public void testRefreshStoredArtistRecordsFailure() {
+        // Given
+        when(artistRepository.findByDiscogsId(10L))
+                .thenReturn(Optional.of(Artist.builder().id(1L).discogsId(10L).name("Nirvana").build()));
+        when(discogsApiService.getArtistDetailsById(10L)).thenThrow(
+                new DiscogsApiException("Discogs unavailable", HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When
+        assertThrows(RuntimeException.class, () -> searchService.refreshStoredArtist(10L));
+
+        // Then
+        verify(discogsApiService, never()).getArtistIdByName(anyString());
+        verify(catalogPersistenceService).markRefreshFailed(1L);
+        verify(catalogPersistenceService, never()).markFetched(any());
+    }
+
+    /**
+     * Test to verify how artist names are normalized for coalescing.
+     */
+    @Test
+    public void testNormalizeName() {
+        assertEquals("the beatles", SearchService.normalizeName("  The   Beatles "));
+    }
+}
@@ -0,0 +1,116 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.http.DiscogsRateLimiter;
+import com.discogs.client.model.Artist;
+import com.discogs.client.model.ArtistStats;
+import com.discogs.client.repository.AdvisoryLockRepository;
+import com.discogs.client.repository.ArtistRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Test class for the StaleArtistRefresher.
+ */
+public class StaleArtistRefresherTest {
+
+    private final ArtistRepository artistRepository = mock(ArtistRepository.class);
+    private final ArtistStatsService artistStatsService = mock(ArtistStatsService.class);
+    private final IngestJobService ingestJobService = mock(IngestJobService.class);
+    private final DiscogsRateLimiter rateLimiter = mock(DiscogsRateLimiter.class);
+    private final StaleArtistRefresher refresher = new StaleArtistRefresher(artistRepository, artistStatsService,
+            ingestJobService, rateLimiter, mock(AdvisoryLockRepository.class), true, Duration.ofMinutes(1),
+            Duration.ofDays(7), 0.5, 100, 100, false);
+
+    /**
+     * Test to verify that stale artists are queued in priority order until the run's budget is spent,
+     * and that the unspent budget carries over to the next run.
+     */
+    @Test
+    public void testQueuesWithinBudgetAndCarriesCreditOver() {
+        // Given
+        Artist popular = artist(1L, "Nirvana");
+        Artist large = artist(2L, "The Beatles");
+        Artist small = artist(3L, "Hole");
+        when(artistRepository.findStale(any(), any())).thenReturn(List.of(popular, large, small));
+        when(rateLimiter.getRequestsPerMinute()).thenReturn(20.0);
+        when(artistStatsService.findByArtistId(1L)).thenReturn(Optional.of(stats(150)));
+        when(artistStatsService.findByArtistId(2L)).thenReturn(Optional.of(stats(350)));
+        when(artistStatsService.findByArtistId(3L)).thenReturn(Optional.empty());
+
+        // When
+        int firstRun = refresher.queueRefreshes();
+        int secondRun = refresher.queueRefreshes();
+
+        // Then
+        assertEquals(1, firstRun);
+        assertEquals(1, secondRun);
+        verify(ingestJobService, times(2)).enqueueRefresh(10L, "Nirvana");
+        verify(ingestJobService, never()).enqueueRefresh(30L, "Hole");
+        verify(ingestJobService, never()).enqueueRefresh(20L, "The Beatles");
+    }
+
+    /**
+     * Test to verify that artists with a refresh already queued are skipped without spending budget.
+     */
+    @Test
+    public void testSkipsArtistsWithActiveRefresh() {
+        // Given
+        Artist queued = artist(1L, "Nirvana");
+        Artist stale = artist(2L, "Hole");
+        when(artistRepository.findStale(any(), any())).thenReturn(List.of(queued, stale));
+        when(rateLimiter.getRequestsPerMinute()).thenReturn(6.0);
+        when(ingestJobService.hasActiveJob("Nirvana", true)).thenReturn(true);
+        when(artistStatsService.findByArtistId(2L)).thenReturn(Optional.empty());
+
+        // When
+        int queuedCount = refresher.queueRefreshes();
+
+        // Then
+        assertEquals(1, queuedCount);
+        verify(ingestJobService, never()).enqueueRefresh(10L, "Nirvana");
+        verify(ingestJobService).enqueueRefresh(20L, "Hole");
+    }
+
+    /**
+     * Test to verify that unspent credit is capped at a few runs' budget, and that an artist costing more than the
+     * cap is still queued once the credit is full, with the overdraft repaid by the following runs.
+     */
+    @Test
+    public void testCapsCreditAndQueuesArtistLargerThanTheCap() {
+        // Given
+        Artist huge = artist(1L, "Sun Ra");
+        when(artistRepository.findStale(any(), any())).thenReturn(List.of(huge));
+        when(rateLimiter.getRequestsPerMinute()).thenReturn(20.0);
+        when(artistStatsService.findByArtistId(1L)).thenReturn(Optional.of(stats(5000)));
+
+        // When
+        int[] queued = new int[6];
+        for (int run = 0; run < queued.length; run++) {
+            queued[run] = refresher.queueRefreshes();
+        }
+
+        // Then
+        assertArrayEquals(new int[] {0, 0, 0, 1, 0, 0}, queued);
+        verify(ingestJobService, times(1)).enqueueRefresh(10L, "Sun Ra");
+    }
+
+    private static Artist artist(Long id, String name) {
+        Artist artist = new Artist();
+        artist.setId(id);
+        artist.setName(name);
+        artist.setDiscogsId(id * 10);
+        return artist;
+    }
+
+    private static ArtistStats stats(int releaseCount) {
+        ArtistStats stats = new ArtistStats();
+        stats.setReleaseCount(releaseCount);
+        return stats;
+    }
+}
@@ -0,0 +1,152 @@
+package com.discogs.client.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.discogs.client.model.Release;
+import com.discogs.client.model.Tag;
+import com.discogs.client.repository.ReleaseRepository;
+import com.discogs.client.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the TagIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TagIndexTest {
+
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    private TagIndex tagIndex;
+
+    private final List<Tag> storedTags = new ArrayList<>();
+
+    private TagDictionary tagDictionary;
+
+    @BeforeEach
+    public void setUp() {
+        when(tagRepository.findAll()).thenAnswer(invocation -> List.copyOf(storedTags));
+        tagDictionary = new TagDictionary(tagRepository);
+        tagIndex = new TagIndex(releaseRepository, tagDictionary);
+    }
+
+    @Test
+    public void testBuildIntersectsArtistGenreAndStyle() {
+        // Given
+        storeTags(Tag.Kind.GENRE, "Rock", "Pop", "Jazz");
+        storeTags(Tag.Kind.STYLE, "Punk", "Indie");
+        when(releaseRepository.findTagRowsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new Object[]{1L, 10L, List.of("Rock"), List.of("Punk")},
+                new Object[]{2L, 10L, List.of("Rock", "Pop"), List.of("Indie")},
+                new Object[]{3L, 10L, List.of("Jazz"), List.of()},
+                new Object[]{4L, 20L, List.of("Rock"), null}));
+
+        // When
+        tagIndex.build();
+
+        // Then
+        assertArrayEquals(new long[]{1L, 2L}, tagIndex.findReleaseIds(10L, "Rock", null));
+        assertArrayEquals(new long[]{2L}, tagIndex.findReleaseIds(10L, "Rock", "Indie"));
+        assertArrayEquals(new long[0], tagIndex.findReleaseIds(10L, "Folk", null));
+        assertEquals(List.of(10L, 20L), tagIndex.findArtistIds(Tag.Kind.GENRE, "Rock", 0L, 10));
+        assertEquals(List.of(20L), tagIndex.findArtistIds(Tag.Kind.GENRE, "Rock", 10L, 10));
+        assertEquals(List.of(10L), tagIndex.findArtistIds(Tag.Kind.GENRE, "Jazz", 0L, 10));
+    }
+
+    @Test
+    public void testReindexedReleaseLeavesItsOldGenres() {
+        // Given
+        storeTags(Tag.Kind.GENRE, "Jazz", "Rock");
+        tagIndex.indexReleases(10L, List.of(release(1L, List.of("Jazz")), release(2L, List.of("Rock"))));
+
+        // When
+        tagIndex.indexReleases(10L, List.of(release(1L, List.of("Rock"))));
+        tagIndex.removeReleases(10L, List.of(2L));
+
+        // Then
+        assertArrayEquals(new long[]{1L}, tagIndex.findReleaseIds(10L, "Rock", null));
+        assertEquals(List.of(), tagIndex.findArtistIds(Tag.Kind.GENRE, "Jazz", 0L, 10));
+        assertEquals(List.of(10L), tagIndex.findArtistIds(Tag.Kind.GENRE, "Rock", 0L, 10));
+    }
+
+    /**
+     * Test to verify that a rebuild replaces the index with the stored releases, keeping the changes reported
+     * while it was read.
+     */
+    @Test
+    public void testRebuildReadsStoredReleasesAndKeepsConcurrentChanges() {
+        // Given
+        storeTags(Tag.Kind.GENRE, "Jazz", "Rock");
+        tagIndex.indexReleases(10L, List.of(release(1L, List.of("Jazz"))));
+        when(releaseRepository.findTagRowsAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            tagIndex.indexReleases(30L, List.of(release(3L, List.of("Rock"))));
+            return List.<Object[]>of(new Object[]{2L, 20L, List.of("Rock"), List.of()});
+        });
+
+        // When
+        tagIndex.build();
+
+        // Then
+        assertEquals(List.of(), tagIndex.findArtistIds(Tag.Kind.GENRE, "Jazz", 0L, 10));
+        assertEquals(List.of(20L, 30L), tagIndex.findArtistIds(Tag.Kind.GENRE, "Rock", 0L, 10));
+    }
+
+    /**
+     * Test to verify that reindexing an artist inside a transaction resolves a tag another instance stored by
+     * reading the dictionary again, without adding any tag.
+     */
+    @Test
+    public void testReindexInTransactionReadsTagsStoredByAnotherInstance() {
+        // Given
+        storeTags(Tag.Kind.GENRE, "Rock");
+        assertNotNull(tagDictionary.find(Tag.Kind.GENRE, "Rock"));
+        storeTags(Tag.Kind.GENRE, "Jazz");
+        when(releaseRepository.findTagRowsByArtistId(10L))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, List.of("Jazz", "Rock"), List.of()}));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        try {
+            tagIndex.reindexArtist(10L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertArrayEquals(new long[]{1L}, tagIndex.findReleaseIds(10L, "Jazz", null));
+        assertArrayEquals(new long[]{1L}, tagIndex.findReleaseIds(10L, "Rock", null));
+        verify(tagRepository, never()).saveAndFlush(any(Tag.class));
+    }
+
+    private void storeTags(Tag.Kind kind, String... names) {
+        for (String name : names) {
+            storedTags.add(Tag.builder().id(storedTags.size() + 1).kind(kind).name(name).build());
+        }
+    }
+
+    private static Release release(Long id, List<String> genres) {
+        Release release = new Release();
+        release.setId(id);
+        release.setGenre(genres);
+        return release;
+    }
+}